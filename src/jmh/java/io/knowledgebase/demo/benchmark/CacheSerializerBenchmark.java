@@ -0,0 +1,63 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.config.RedisConfig;
+import io.knowledgebase.demo.config.serializer.FaqPreviewRedisSerializer;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private RedisSerializationContext.SerializationPair<Object> pair;
+    private FaqPreviewDto preview;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        pair = "json".equals(format)
+                ? new RedisConfig(null).cacheConfiguration().getValueSerializationPair()
+                : RedisSerializationContext.SerializationPair.fromSerializer(new FaqPreviewRedisSerializer());
+        preview = FaqPreviewDto.builder()
+                .id(48_213L)
+                .question("How do I request VPN access to the corporate network from home?")
+                .keywords(List.of("vpn", "доступ", "remote", "network", "security"))
+                .active(true)
+                .build();
+        encoded = ByteUtils.getBytes(pair.write(preview));
+    }
+
+    @Benchmark
+    public ByteBuffer serialize() {
+        return pair.write(preview);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return pair.read(ByteBuffer.wrap(encoded));
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordNormalizerBenchmark {
+
+    private static final String[] RAW_TERMS = {
+            "Java", "Spring-Boot", "  Docker  ", "Kubernetes!", "spr*ing*", "ОТПУСК", "пароль,", "VPN-доступ",
+            "ﬁle", "Ｒｅｄｉｓ", "jwt.token", "Ёлка"
+    };
+
+    @Param({"clean", "raw"})
+    private String input;
+
+    private KeywordNormalizer keywordNormalizer;
+    private String[] terms;
+    private String query;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        keywordNormalizer = new KeywordNormalizer();
+        terms = "clean".equals(input)
+                ? new SyntheticCorpus(1 << 10, 42).queries(1 << 10, 0, 3)
+                : RAW_TERMS;
+        query = String.join(" ", terms).substring(0, 64);
+    }
+
+    @Benchmark
+    public String normalize() {
+        String term = terms[cursor];
+        cursor = (cursor + 1) % terms.length;
+        return keywordNormalizer.normalize(term);
+    }
+
+    @Benchmark
+    public List<String> tokenize() {
+        return keywordNormalizer.tokenize(query);
+    }
+
+}
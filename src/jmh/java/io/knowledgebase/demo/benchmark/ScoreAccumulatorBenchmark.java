@@ -0,0 +1,92 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.knowledgebase.demo.service.trie.posting.ScoreAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreAccumulatorBenchmark {
+
+    private static final int TOP_K = 50;
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    @Param({"3"})
+    private int terms;
+
+    @Param({"1000", "100000"})
+    private int hitsPerTerm;
+
+    private List<PostingList> searchResults;
+    private ScoreAccumulator accumulator;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        searchResults = new ArrayList<>(terms);
+        for (int term = 0; term < terms; ++term) {
+            PostingList postings = new PostingList();
+            while (postings.cardinality() < hitsPerTerm) {
+                postings.add(random.nextInt(hitsPerTerm * 2));
+            }
+            searchResults.add(postings);
+        }
+        accumulator = new ScoreAccumulator();
+    }
+
+    @Benchmark
+    public long[] boxedCollector() {
+        Map<Long, Integer> weights = searchResults.stream()
+                .flatMap(postingList -> postingList.stream().boxed())
+                .collect(Collectors.groupingBy(id -> id, Collectors.summingInt(id -> 1)));
+        PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(TOP_K, RANKING.reversed());
+        for (Map.Entry<Long, Integer> entry : weights.entrySet()) {
+            if (heap.size() < TOP_K) {
+                heap.offer(entry);
+            } else if (RANKING.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+        long[] ranked = new long[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; --i) {
+            ranked[i] = heap.poll().getKey();
+        }
+        return ranked;
+    }
+
+    @Benchmark
+    public long[] primitiveAccumulator() {
+        try {
+            searchResults.forEach(accumulator::addAll);
+            return accumulator.topK(TOP_K);
+        } finally {
+            accumulator.clear();
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.config.props.IndexReplicationProps;
+import io.knowledgebase.demo.config.props.SearchExecutorProps;
+import io.knowledgebase.demo.config.props.SearchResultCacheProps;
+import io.knowledgebase.demo.document.FaqDoc;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.service.TrieRedisSearchService;
+import io.knowledgebase.demo.service.cache.FaqDocCacheService;
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.knowledgebase.demo.service.cache.impl.SearchResultCacheServiceImpl;
+import io.knowledgebase.demo.service.impl.TrieRedisSearchServiceImpl;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.impl.ActiveFaqFilterImpl;
+import io.knowledgebase.demo.service.trie.impl.CostBasedSearchPlanner;
+import io.knowledgebase.demo.service.trie.impl.IndexReplicatorImpl;
+import io.knowledgebase.demo.service.trie.replication.InMemoryIndexChangeBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SearchPipelineBenchmark {
+
+    private static final int QUERIES = 1 << 10;
+    private static final int LIMIT = 50;
+
+    @Param({"hash", "radix"})
+    private String engine;
+
+    @Param({"10000", "100000", "1000000"})
+    private int keywords;
+
+    @Param({"false", "true"})
+    private boolean resultCache;
+
+    private TrieRedisSearchService trieRedisSearchService;
+    private String[] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCorpus corpus = new SyntheticCorpus(keywords, 42);
+        SearchResultCacheProps searchResultCacheProps = new SearchResultCacheProps();
+        searchResultCacheProps.setEnabled(resultCache);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TrieService trieService = corpus.populate(corpus.newTrie(engine));
+        ActiveFaqFilter activeFaqFilter = new ActiveFaqFilterImpl(null, meterRegistry);
+        SearchResultCacheService searchResultCacheService =
+                new SearchResultCacheServiceImpl(searchResultCacheProps, meterRegistry);
+        trieRedisSearchService = new TrieRedisSearchServiceImpl(
+                trieService,
+                new InMemoryFaqDocCache(corpus),
+                null,
+                new KeywordNormalizer(),
+                searchResultCacheService,
+                activeFaqFilter,
+                new CostBasedSearchPlanner(activeFaqFilter, new SearchExecutorProps(), meterRegistry),
+                new IndexReplicatorImpl(new InMemoryIndexChangeBus(), trieService, activeFaqFilter,
+                        searchResultCacheService, new IndexReplicationProps(), meterRegistry)
+        );
+        String[] words = corpus.queries(QUERIES * 2, 0, 5);
+        String[] prefixes = corpus.queries(QUERIES, 3, 9);
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; ++i) {
+            queries[i] = words[2 * i] + " " + prefixes[i] + " " + words[2 * i + 1];
+        }
+    }
+
+    @Benchmark
+    public List<FaqPreviewDto> search() {
+        return trieRedisSearchService.search(queries[cursor++ & (QUERIES - 1)], LIMIT, 0);
+    }
+
+    private static final class InMemoryFaqDocCache implements FaqDocCacheService {
+
+        private final Map<Long, FaqPreviewDto> previews = new HashMap<>();
+
+        private InMemoryFaqDocCache(SyntheticCorpus corpus) {
+            for (int i = 0; i < corpus.size(); ++i) {
+                long id = corpus.documentId(i);
+                String keyword = corpus.keyword(i);
+                previews.computeIfAbsent(id, key -> FaqPreviewDto.builder()
+                        .id(key)
+                        .question("Question " + key)
+                        .keywords(List.of(keyword))
+                        .active(true)
+                        .build());
+            }
+        }
+
+        @Override
+        public FaqPreviewDto readFaqDocument(Long id) {
+            return previews.get(id);
+        }
+
+        @Override
+        public Optional<FaqPreviewDto> findFaqDocument(Long id) {
+            return Optional.ofNullable(previews.get(id));
+        }
+
+        @Override
+        public Map<Long, FaqPreviewDto> readFaqDocuments(Collection<Long> ids) {
+            Map<Long, FaqPreviewDto> result = new HashMap<>(ids.size() * 2);
+            for (Long id : ids) {
+                FaqPreviewDto preview = previews.get(id);
+                if (preview != null) {
+                    result.put(id, preview);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void evictFaqDocument(Long id) {
+            previews.remove(id);
+        }
+
+        @Override
+        public FaqPreviewDto cacheFaqDocument(FaqDoc faqDoc) {
+            return previews.get(faqDoc.getId());
+        }
+
+        @Override
+        public void cacheFaqDocuments(Collection<FaqDoc> faqDocs) {
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.TrieServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+final class SyntheticCorpus {
+
+    static final int KEYWORDS_PER_DOCUMENT = 5;
+
+    private static final String[] SYLLABLES = {
+            "ja", "va", "spr", "ing", "bo", "ot", "dat", "ab", "ase", "red", "is", "mon", "go", "post", "gre",
+            "ka", "fka", "dock", "er", "ku", "be", "net", "es", "jw", "tok", "en", "auth", "cach", "ind", "ex",
+            "при", "вет", "фа", "йл", "доступ", "отп", "уск", "зар", "пла", "та", "офис", "пар", "оль", "vpn"
+    };
+
+    private final String[] keywords;
+
+    SyntheticCorpus(int size, long seed) {
+        Random random = new Random(seed);
+        Set<String> unique = new LinkedHashSet<>(size * 2);
+        while (unique.size() < size) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(4);
+            for (int i = 0; i < syllables; ++i) {
+                word.append(SYLLABLES[skewed(random, SYLLABLES.length)]);
+            }
+            unique.add(word.toString());
+        }
+        this.keywords = unique.toArray(String[]::new);
+    }
+
+    int size() {
+        return keywords.length;
+    }
+
+    String keyword(int index) {
+        return keywords[index];
+    }
+
+    long documentId(int index) {
+        return index / KEYWORDS_PER_DOCUMENT;
+    }
+
+    String[] queries(int count, int prefixLength, long seed) {
+        Random random = new Random(seed);
+        String[] queries = new String[count];
+        for (int i = 0; i < count; ++i) {
+            String keyword = keywords[random.nextInt(keywords.length)];
+            queries[i] = prefixLength > 0 ? keyword.substring(0, Math.min(prefixLength, keyword.length())) : keyword;
+        }
+        return queries;
+    }
+
+    TrieService newTrie(String engine) {
+        KeywordNormalizer keywordNormalizer = new KeywordNormalizer();
+        return switch (engine) {
+            case "hash" -> new TrieServiceImpl(null, keywordNormalizer, new SimpleMeterRegistry());
+            case "radix" -> new RadixTrieServiceImpl(null, keywordNormalizer, new SimpleMeterRegistry());
+            default -> throw new IllegalArgumentException("Unknown trie engine: " + engine);
+        };
+    }
+
+    TrieService populate(TrieService trieService) {
+        for (int i = 0; i < keywords.length; ++i) {
+            trieService.insert(keywords[i], documentId(i));
+        }
+        return trieService;
+    }
+
+    private static int skewed(Random random, int bound) {
+        double u = random.nextDouble();
+        return (int) (bound * u * u);
+    }
+
+}
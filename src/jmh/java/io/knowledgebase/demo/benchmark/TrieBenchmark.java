@@ -0,0 +1,97 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TrieBenchmark {
+
+    private static final int PROBES = 1 << 12;
+    private static final long PROBE_ID_BASE = 1L << 40;
+
+    @Param({"hash", "radix"})
+    private String engine;
+
+    @Param({"10000", "100000", "1000000"})
+    private int keywords;
+
+    private SyntheticCorpus corpus;
+    private TrieService trieService;
+    private String[] prefixQueries;
+    private String[] wordQueries;
+    private String[] probeWords;
+    private int cursor;
+    private long inserted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        corpus = new SyntheticCorpus(keywords, 42);
+        trieService = corpus.populate(corpus.newTrie(engine));
+        prefixQueries = corpus.queries(PROBES, 2, 7);
+        wordQueries = corpus.queries(PROBES, 0, 11);
+        probeWords = new SyntheticCorpus(PROBES, 13).queries(PROBES, 0, 17);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeInserted() {
+        for (long i = 0; i < inserted; ++i) {
+            trieService.remove(probeWords[(int) (i & (PROBES - 1))], PROBE_ID_BASE + i);
+        }
+        inserted = 0;
+    }
+
+    @Benchmark
+    public PostingList searchPrefix() {
+        return trieService.search(prefixQueries[next()]);
+    }
+
+    @Benchmark
+    public PostingList searchWord() {
+        return trieService.search(wordQueries[next()]);
+    }
+
+    @Benchmark
+    public void insert() {
+        long i = inserted++;
+        trieService.insert(probeWords[(int) (i & (PROBES - 1))], PROBE_ID_BASE + i);
+    }
+
+    @Benchmark
+    public void insertThenRemove() {
+        String word = probeWords[next()];
+        trieService.insert(word, PROBE_ID_BASE - 1);
+        trieService.remove(word, PROBE_ID_BASE - 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void cleanupOrphanedNodes() {
+        trieService.cleanupOrphanedNodes();
+    }
+
+    private int next() {
+        return cursor++ & (PROBES - 1);
+    }
+
+}
@@ -0,0 +1,99 @@
+package io.knowledgebase.demo.benchmark;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.TrieServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TrieBuildBenchmark {
+
+    @Param({"hash", "radix"})
+    private String engine;
+
+    @Param({"100000", "1000000"})
+    private int keywords;
+
+    private FaqDocRepository faqDocRepository;
+    private List<FaqDocKeywords> documents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCorpus corpus = new SyntheticCorpus(keywords, 42);
+        documents = new ArrayList<>();
+        for (int i = 0; i < corpus.size(); i += SyntheticCorpus.KEYWORDS_PER_DOCUMENT) {
+            List<String> words = new ArrayList<>(SyntheticCorpus.KEYWORDS_PER_DOCUMENT);
+            for (int k = i; k < Math.min(i + SyntheticCorpus.KEYWORDS_PER_DOCUMENT, corpus.size()); ++k) {
+                words.add(corpus.keyword(k));
+            }
+            documents.add(new Document(corpus.documentId(i), words));
+        }
+        faqDocRepository = mock(FaqDocRepository.class);
+        when(faqDocRepository.streamAllBy(FaqDocKeywords.class)).thenAnswer(invocation -> documents.stream());
+    }
+
+    @Benchmark
+    public TrieService streamingBuild() {
+        TrieService trieService = newTrie();
+        trieService.init();
+        return trieService;
+    }
+
+    @Benchmark
+    public TrieService sequentialInserts() {
+        TrieService trieService = newTrie();
+        for (FaqDocKeywords document : documents) {
+            document.getKeywords().forEach(keyword -> trieService.insert(keyword, document.getId()));
+        }
+        return trieService;
+    }
+
+    private TrieService newTrie() {
+        KeywordNormalizer keywordNormalizer = new KeywordNormalizer();
+        return "hash".equals(engine)
+                ? new TrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry())
+                : new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry());
+    }
+
+    private record Document(Long id, List<String> keywords) implements FaqDocKeywords {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public List<String> getKeywords() {
+            return keywords;
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.knowledgebase.demo.config;
 
+import io.knowledgebase.demo.service.trie.replication.IndexChangeBus;
+import io.knowledgebase.demo.service.trie.replication.InMemoryIndexChangeBus;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -15,4 +17,9 @@ public class NoCacheConfig {
     public CacheManager cacheManager() {
         return new NoOpCacheManager();
     }
+
+    @Bean
+    public IndexChangeBus indexChangeBus() {
+        return new InMemoryIndexChangeBus();
+    }
 }
@@ -5,55 +5,87 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.knowledgebase.demo.config.props.IndexReplicationProps;
+import io.knowledgebase.demo.config.props.NearCacheProps;
 import io.knowledgebase.demo.config.props.RedisProps;
+import io.knowledgebase.demo.config.serializer.FaqPreviewRedisSerializer;
+import io.knowledgebase.demo.enums.CacheValueFormat;
+import io.knowledgebase.demo.service.cache.CacheNamespaceService;
+import io.knowledgebase.demo.service.cache.FaqDocCacheService;
+import io.knowledgebase.demo.service.cache.near.CacheInvalidationBus;
+import io.knowledgebase.demo.service.cache.near.TwoLevelCacheManager;
+import io.knowledgebase.demo.service.trie.replication.RedisIndexChangeBus;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.log4j.Log4j2;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
 
-@Log4j2
 @Configuration
 @EnableCaching
 @RequiredArgsConstructor
 @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true")
 public class RedisConfig {
 
-    private final RedisConnectionFactory redisConnectionFactory;
-
     private final RedisProps redisProps;
 
-    @EventListener(ApplicationReadyEvent.class)
-    public void flushCache(ApplicationReadyEvent event) {
-        if (redisProps.isFlushOnStartup()) {
-            try {
-                log.info("Clearing Redis cache on application startup...");
-                redisConnectionFactory.getConnection().serverCommands().flushAll();
-                log.info("Redis cache cleared successfully");
-            } catch (Exception e) {
-                log.error("Failed to clear Redis cache on startup", e);
-            }
-        } else {
-            log.info("Redis cache flush on startup is disabled");
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     NearCacheProps nearCacheProps,
+                                     CacheNamespaceService cacheNamespaceService,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     MeterRegistry meterRegistry) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(cacheConfiguration().computePrefixWith(cacheNamespaceService::prefixFor))
+                .withCacheConfiguration(
+                        FaqDocCacheService.FAQ_DOCS_CACHE,
+                        faqDocsCacheConfiguration().computePrefixWith(cacheNamespaceService::prefixFor)
+                )
+                .build();
+        if (!nearCacheProps.isEnabled()) {
+            return redisCacheManager;
         }
+        redisCacheManager.initializeCaches();
+        return new TwoLevelCacheManager(redisCacheManager, nearCacheProps, cacheInvalidationBus, meterRegistry);
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(cacheConfiguration())
-                .build();
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationBus(stringRedisTemplate);
+    }
+
+    @Bean
+    public RedisIndexChangeBus indexChangeBus(StringRedisTemplate stringRedisTemplate,
+                                              IndexReplicationProps indexReplicationProps) {
+        return new RedisIndexChangeBus(stringRedisTemplate, indexReplicationProps);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            CacheInvalidationBus cacheInvalidationBus,
+                                                                            CacheNamespaceService cacheNamespaceService,
+                                                                            RedisIndexChangeBus indexChangeBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        container.addMessageListener(indexChangeBus, new ChannelTopic(RedisIndexChangeBus.CHANNEL));
+        container.addMessageListener(
+                (message, pattern) -> cacheNamespaceService.refresh(),
+                new ChannelTopic(CacheNamespaceService.CHANNEL)
+        );
+        return container;
     }
 
     @Bean
@@ -74,4 +106,15 @@ public class RedisConfig {
                                 .fromSerializer(new GenericJackson2JsonRedisSerializer(redisMapper))
                 );
     }
+
+    private RedisCacheConfiguration faqDocsCacheConfiguration() {
+        if (redisProps.getFaqDocsFormat() == CacheValueFormat.JSON) {
+            return cacheConfiguration();
+        }
+        return cacheConfiguration()
+                .disableCachingNullValues()
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(new FaqPreviewRedisSerializer())
+                );
+    }
 }
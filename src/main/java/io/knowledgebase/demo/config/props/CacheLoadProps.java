@@ -0,0 +1,20 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.load")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheLoadProps {
+    boolean earlyRefreshEnabled = true;
+    double earlyRefreshBeta = 1.0;
+    Duration negativeTtl = Duration.ofSeconds(30);
+    int negativeMaximumSize = 10_000;
+}
@@ -0,0 +1,19 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.namespace")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheNamespaceProps {
+    String schema = "1";
+    String generationKey = "faq-service:cache:generation";
+    Duration refreshInterval = Duration.ofMinutes(1);
+}
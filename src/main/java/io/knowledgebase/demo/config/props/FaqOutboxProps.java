@@ -0,0 +1,23 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "scheduler.faq-outbox")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FaqOutboxProps {
+    int batchSize = 100;
+    int maxBatchesPerRun = 50;
+    int maxAttempts = 10;
+    Duration initialBackoff = Duration.ofSeconds(1);
+    Duration maxBackoff = Duration.ofMinutes(5);
+    Duration claimTimeout = Duration.ofMinutes(5);
+    Duration retention = Duration.ofDays(7);
+}
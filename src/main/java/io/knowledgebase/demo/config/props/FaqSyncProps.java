@@ -0,0 +1,24 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "scheduler.faq-sync")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FaqSyncProps {
+    int chunkSize = 500;
+    int concurrency = 4;
+    int maxAttempts = 5;
+    Duration initialBackoff = Duration.ofMillis(200);
+    Duration maxBackoff = Duration.ofSeconds(10);
+    int partitions = 16;
+    Duration leaseDuration = Duration.ofSeconds(30);
+    Duration heartbeatInterval = Duration.ofSeconds(10);
+}
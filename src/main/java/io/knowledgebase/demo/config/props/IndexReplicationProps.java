@@ -0,0 +1,23 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.replication")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IndexReplicationProps {
+    String sequenceKey = "faq-service:trie:sequence";
+    String streamKey = "faq-service:trie:changes";
+    long streamMaxLength = 100_000;
+    Duration gapTimeout = Duration.ofSeconds(5);
+    Duration checkInterval = Duration.ofSeconds(1);
+    int maxPendingEvents = 10_000;
+    int maxTrackedVersions = 100_000;
+}
@@ -0,0 +1,19 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.near")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NearCacheProps {
+    boolean enabled = true;
+    int maximumSize = 10_000;
+    Duration expireAfterWrite = Duration.ofMinutes(1);
+}
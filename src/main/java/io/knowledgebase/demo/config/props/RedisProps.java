@@ -1,5 +1,6 @@
 package io.knowledgebase.demo.config.props;
 
+import io.knowledgebase.demo.enums.CacheValueFormat;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -11,5 +12,5 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "spring.data.redis")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class RedisProps {
-    boolean flushOnStartup = false;
+    CacheValueFormat faqDocsFormat = CacheValueFormat.BINARY;
 }
@@ -0,0 +1,18 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.executor")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SearchExecutorProps {
+    int threads = Runtime.getRuntime().availableProcessors();
+    int queueCapacity = 256;
+    long parallelMinPostings = 65_536;
+    long wildcardInitialEstimate = 4_096;
+}
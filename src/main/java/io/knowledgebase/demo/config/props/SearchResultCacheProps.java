@@ -0,0 +1,20 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.result-cache")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SearchResultCacheProps {
+    boolean enabled = true;
+    DataSize maxSize = DataSize.ofMegabytes(16);
+    Duration expireAfterWrite = Duration.ofMinutes(5);
+}
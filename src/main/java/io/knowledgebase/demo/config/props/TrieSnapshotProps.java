@@ -0,0 +1,20 @@
+package io.knowledgebase.demo.config.props;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.trie.snapshot")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TrieSnapshotProps {
+    boolean enabled = false;
+    String path = "data/trie.snapshot";
+    Duration interval = Duration.ofMinutes(30);
+    Duration catchUpOverlap = Duration.ofMinutes(1);
+}
@@ -0,0 +1,192 @@
+package io.knowledgebase.demo.config.serializer;
+
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Log4j2
+public class FaqPreviewRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xFA;
+    static final byte VERSION = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_QUESTION = 1 << 1;
+    private static final int HAS_KEYWORDS = 1 << 2;
+    private static final int HAS_ACTIVE = 1 << 3;
+    private static final int ACTIVE = 1 << 4;
+
+    @Override
+    public byte[] serialize(Object value) {
+
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof FaqPreviewDto preview)) {
+            throw new SerializationException("Cannot serialize " + value.getClass().getName() + " as an FAQ preview");
+        }
+
+        int flags = 0;
+        if (preview.getId() != null) {
+            flags |= HAS_ID;
+        }
+        if (preview.getQuestion() != null) {
+            flags |= HAS_QUESTION;
+        }
+        if (preview.getKeywords() != null) {
+            flags |= HAS_KEYWORDS;
+        }
+        if (preview.getActive() != null) {
+            flags |= HAS_ACTIVE | (preview.getActive() ? ACTIVE : 0);
+        }
+
+        Output out = new Output(64);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(flags);
+        if (preview.getId() != null) {
+            long id = preview.getId();
+            out.writeVarLong((id << 1) ^ (id >> 63));
+        }
+        if (preview.getQuestion() != null) {
+            out.writeString(preview.getQuestion());
+        }
+        if (preview.getKeywords() != null) {
+            out.writeVarLong(preview.getKeywords().size());
+            for (String keyword : preview.getKeywords()) {
+                out.writeString(keyword);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < 3 || bytes[0] != MAGIC || bytes[1] != VERSION) {
+            log.debug("Ignoring cached FAQ preview in an unknown format ({} bytes)", bytes.length);
+            return null;
+        }
+
+        try {
+            Input in = new Input(bytes, 2);
+            int flags = in.readByte();
+            FaqPreviewDto preview = new FaqPreviewDto();
+            if ((flags & HAS_ID) != 0) {
+                long zigzag = in.readVarLong();
+                preview.setId((zigzag >>> 1) ^ -(zigzag & 1));
+            }
+            if ((flags & HAS_QUESTION) != 0) {
+                preview.setQuestion(in.readString());
+            }
+            if ((flags & HAS_KEYWORDS) != 0) {
+                int count = Math.toIntExact(in.readVarLong());
+                List<String> keywords = new ArrayList<>(Math.min(count, bytes.length));
+                for (int i = 0; i < count; ++i) {
+                    keywords.add(in.readString());
+                }
+                preview.setKeywords(keywords);
+            }
+            if ((flags & HAS_ACTIVE) != 0) {
+                preview.setActive((flags & ACTIVE) != 0);
+            }
+            if (in.position != bytes.length) {
+                throw new SerializationException("Trailing bytes after cached FAQ preview");
+            }
+            return preview;
+        } catch (ArrayIndexOutOfBoundsException | ArithmeticException e) {
+            throw new SerializationException("Corrupted cached FAQ preview", e);
+        }
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        private Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, buffer, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private int readByte() {
+            return bytes[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cached FAQ preview");
+        }
+
+        private String readString() {
+            int length = Math.toIntExact(readVarLong());
+            if (length > bytes.length - position) {
+                throw new SerializationException("Truncated string in cached FAQ preview");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+    }
+
+}
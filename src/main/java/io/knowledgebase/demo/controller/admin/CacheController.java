@@ -0,0 +1,34 @@
+package io.knowledgebase.demo.controller.admin;
+
+import io.knowledgebase.demo.dto.cache.CacheNamespaceDto;
+import io.knowledgebase.demo.service.cache.CacheNamespaceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/cache")
+@ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true")
+public class CacheController {
+
+    private final CacheNamespaceService cacheNamespaceService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/namespace")
+    public ResponseEntity<CacheNamespaceDto> getNamespace() {
+        return ResponseEntity.ok(cacheNamespaceService.current());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/namespace/roll")
+    public ResponseEntity<CacheNamespaceDto> rollNamespace() {
+        return ResponseEntity.ok(cacheNamespaceService.roll());
+    }
+
+}
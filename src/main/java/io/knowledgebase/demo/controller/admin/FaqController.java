@@ -79,8 +79,11 @@ public class FaqController {
 
     // @PreAuthorize("hasAnyRole('ADMIN', 'EXPERT', 'USER')")
     @GetMapping("/search")
-    public ResponseEntity<List<FaqPreviewDto>> searchFaqDocs(@RequestParam(name = "query") String query) {
-        return ResponseEntity.ok(faqService.searchFaqDocs(query));
+    public ResponseEntity<List<FaqPreviewDto>> searchFaqDocs(
+            @RequestParam(name = "query") String query,
+            @RequestParam(name = "limit", defaultValue = "50") int limit,
+            @RequestParam(name = "offset", defaultValue = "0") int offset) {
+        return ResponseEntity.ok(faqService.searchFaqDocs(query, limit, offset));
     }
 
 }
@@ -43,4 +43,7 @@ public class FaqDoc {
     @LastModifiedDate
     @Field("updated_at")
     private LocalDateTime updatedAt;
+
+    @Field("synced_at")
+    private LocalDateTime syncedAt;
 }
@@ -0,0 +1,16 @@
+package io.knowledgebase.demo.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheNamespaceDto {
+    private String schema;
+    private Long generation;
+    private String namespace;
+}
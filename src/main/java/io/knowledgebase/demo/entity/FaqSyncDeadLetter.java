@@ -0,0 +1,40 @@
+package io.knowledgebase.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "faq_sync_dead_letter")
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaqSyncDeadLetter {
+    @Id
+    @Column(name = "faq_id", nullable = false)
+    private Long faqId;
+
+    @Column(name = "faq_updated_at")
+    private LocalDateTime faqUpdatedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
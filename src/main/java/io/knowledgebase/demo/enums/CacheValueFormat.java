@@ -0,0 +1,6 @@
+package io.knowledgebase.demo.enums;
+
+public enum CacheValueFormat {
+    JSON,
+    BINARY
+}
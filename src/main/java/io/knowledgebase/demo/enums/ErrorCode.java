@@ -20,6 +20,7 @@ public enum ErrorCode {
     FAQ_ALREADY_EXISTS("FAQ with question '%s' and answer '%s' already exists", 409),
     FAQ_DOC_NOT_FOUND_BY_ID_ERROR("FaqDoc not found with id: %s", 404),
     FAQ_DOES_NOT_EXIST_IN_POSTGRE_SQL("FAQ with id %s doesn't exist in PostgreSQL", 404),
+    FAQ_INVALID_SEARCH_PAGE("Invalid search page: limit must be between 1 and %s, offset must not be negative (limit=%s, offset=%s)", 400),
 
     VALIDATION_FAILED_ERROR_CODE("validation failed", 400),
     INVALID_REQUEST_PARAM_ERROR_CODE("invalid request param", 400);
@@ -10,6 +10,7 @@ import org.springframework.http.HttpStatus;
 
 import static io.knowledgebase.demo.enums.ErrorCode.FAQ_DOC_NOT_FOUND_BY_ID_ERROR;
 import static io.knowledgebase.demo.enums.ErrorCode.FAQ_DOES_NOT_EXIST_IN_POSTGRE_SQL;
+import static io.knowledgebase.demo.enums.ErrorCode.FAQ_INVALID_SEARCH_PAGE;
 import static io.knowledgebase.demo.enums.ErrorType.VALIDATION_ERROR;
 import static io.knowledgebase.demo.enums.ServiceName.ADMIN_SERVICE;
 
@@ -42,4 +43,14 @@ public class FaqDocException extends ApplicationException {
         );
     }
 
+    public static FaqDocException invalidSearchPage(int maxLimit, int limit, int offset) {
+        return new FaqDocException(
+                String.format(FAQ_INVALID_SEARCH_PAGE.getMessage(), maxLimit, limit, offset),
+                FAQ_INVALID_SEARCH_PAGE.getCode(),
+                VALIDATION_ERROR,
+                ADMIN_SERVICE,
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
 }
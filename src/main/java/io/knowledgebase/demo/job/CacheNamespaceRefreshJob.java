@@ -0,0 +1,24 @@
+package io.knowledgebase.demo.job;
+
+import io.knowledgebase.demo.service.cache.CacheNamespaceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true")
+public class CacheNamespaceRefreshJob {
+
+    private final CacheNamespaceService cacheNamespaceService;
+
+    @Scheduled(
+            initialDelayString = "${cache.namespace.refresh-interval}",
+            fixedDelayString = "${cache.namespace.refresh-interval}"
+    )
+    public void refreshCacheNamespaceJob() {
+        cacheNamespaceService.refresh();
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.knowledgebase.demo.job;
+
+import io.knowledgebase.demo.service.FaqOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "scheduler.faq-outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class FaqOutboxRelayJob {
+
+    private final FaqOutboxService faqOutboxService;
+
+    @Scheduled(fixedDelayString = "${scheduler.faq-outbox.interval}")
+    public void relayOutboxJob() {
+        try {
+            faqOutboxService.relayPending();
+        } catch (Exception e) {
+            log.error("FAQ outbox relay job failed", e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${scheduler.faq-outbox.purge-interval}",
+            fixedDelayString = "${scheduler.faq-outbox.purge-interval}"
+    )
+    public void purgeOutboxJob() {
+        try {
+            int purged = faqOutboxService.purgeProcessed();
+            log.debug("Purged {} processed FAQ outbox entries", purged);
+        } catch (Exception e) {
+            log.error("FAQ outbox purge job failed", e);
+        }
+    }
+
+}
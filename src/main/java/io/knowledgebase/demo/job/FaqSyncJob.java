@@ -1,9 +1,9 @@
 package io.knowledgebase.demo.job;
 
 import io.knowledgebase.demo.service.FaqSyncService;
+import io.knowledgebase.demo.service.PartitionLeaseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -15,13 +15,9 @@ import org.springframework.stereotype.Component;
 public class FaqSyncJob {
 
     private final FaqSyncService faqSyncService;
+    private final PartitionLeaseService partitionLeaseService;
 
     @Scheduled(cron = "${scheduler.faq-sync.cron}")
-    @SchedulerLock(
-            name = "faqSyncJob",
-            lockAtLeastFor = "${scheduler.faq-sync.lockAtLeastFor}",
-            lockAtMostFor = "${scheduler.faq-sync.lockAtMostFor}"
-    )
     public void syncFaqsJob() {
         try {
             faqSyncService.syncAllUnsyncedFaqs();
@@ -30,4 +26,13 @@ public class FaqSyncJob {
         }
     }
 
+    @Scheduled(fixedDelayString = "${scheduler.faq-sync.heartbeat-interval}")
+    public void renewPartitionLeasesJob() {
+        try {
+            partitionLeaseService.rebalance();
+        } catch (Exception e) {
+            log.error("FAQ sync partition lease renewal failed", e);
+        }
+    }
+
 }
@@ -0,0 +1,28 @@
+package io.knowledgebase.demo.job;
+
+import io.knowledgebase.demo.service.trie.IndexReplicator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class IndexReplicationJob {
+
+    private final IndexReplicator indexReplicator;
+
+    @Scheduled(
+            initialDelayString = "${search.replication.check-interval}",
+            fixedDelayString = "${search.replication.check-interval}"
+    )
+    public void catchUpStalledReplicationJob() {
+        try {
+            indexReplicator.catchUpIfStalled();
+        } catch (Exception e) {
+            log.error("Trie replication catch-up job failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.knowledgebase.demo.job;
+
+import io.knowledgebase.demo.service.TrieRedisSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class TrieOrphanCleanupJob {
+
+    private final TrieRedisSearchService trieRedisSearchService;
+
+    @Scheduled(
+            initialDelayString = "${search.trie.orphan-cleanup-interval}",
+            fixedDelayString = "${search.trie.orphan-cleanup-interval}"
+    )
+    public void unindexMissingFaqDocsJob() {
+        try {
+            trieRedisSearchService.unindexMissingFaqDocs();
+        } catch (Exception e) {
+            log.error("Trie orphan cleanup job failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package io.knowledgebase.demo.job;
+
+import io.knowledgebase.demo.service.trie.TriePersistenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "search.trie.snapshot.enabled", havingValue = "true")
+public class TrieSnapshotJob {
+
+    private final TriePersistenceService triePersistenceService;
+
+    @Scheduled(
+            initialDelayString = "${search.trie.snapshot.interval}",
+            fixedDelayString = "${search.trie.snapshot.interval}"
+    )
+    public void snapshotTrieJob() {
+        try {
+            triePersistenceService.persist();
+        } catch (Exception e) {
+            log.error("Trie snapshot job failed", e);
+        }
+    }
+
+}
@@ -3,13 +3,14 @@ package io.knowledgebase.demo.normalizer;
 import org.springframework.stereotype.Component;
 
 import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.regex.Pattern;
 
 @Component
 public class KeywordNormalizer {
 
-    private static final Pattern NON_LETTER_PATTERN = Pattern.compile("[^\\p{L}*]");
+    private static final char WILDCARD = '*';
 
     public String normalize(String term) {
 
@@ -17,24 +18,126 @@ public class KeywordNormalizer {
             return "";
         }
 
-        String normalized = Normalizer.normalize(term, Normalizer.Form.NFKC);
+        return normalize(term, 0, term.length());
+    }
 
-        normalized = NON_LETTER_PATTERN.matcher(normalized).replaceAll("");
+    public List<String> tokenize(String query) {
 
-        if (normalized.endsWith("*")) {
-            normalized = normalized.substring(0, normalized.length() - 1).replace("*", "") + "*";
-        } else {
-            normalized = normalized.replace("*", "");
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
         }
 
-        normalized = normalized.toLowerCase(Locale.ROOT);
-
-        return normalized;
+        int length = query.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && isSeparator(query.charAt(start))) {
+                ++start;
+            }
+            int end = start;
+            while (end < length && !isSeparator(query.charAt(end))) {
+                ++end;
+            }
+            if (end > start) {
+                String term = normalize(query, start, end);
+                if (isValid(term)) {
+                    terms.add(term);
+                }
+            }
+            start = end;
+        }
 
+        return terms;
     }
 
     public boolean isValid(String term) {
         return term != null && !term.trim().isEmpty();
     }
 
+    private String normalize(String source, int start, int end) {
+
+        boolean ascii = true;
+        for (int i = start; i < end && ascii; ++i) {
+            ascii = source.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return normalizeAscii(source, start, end);
+        }
+
+        String term = source.substring(start, end);
+        if (!Normalizer.isNormalized(term, Normalizer.Form.NFKC)) {
+            term = Normalizer.normalize(term, Normalizer.Form.NFKC);
+        }
+        if (isCanonical(term)) {
+            return term;
+        }
+
+        StringBuilder letters = new StringBuilder(term.length());
+        boolean wildcard = false;
+        for (int i = 0; i < term.length(); ) {
+            int codePoint = term.codePointAt(i);
+            if (Character.isLetter(codePoint)) {
+                letters.appendCodePoint(codePoint);
+                wildcard = false;
+            } else if (codePoint == WILDCARD) {
+                wildcard = true;
+            }
+            i += Character.charCount(codePoint);
+        }
+        String normalized = letters.toString().toLowerCase(Locale.ROOT);
+
+        return wildcard ? normalized + WILDCARD : normalized;
+    }
+
+    private static String normalizeAscii(String source, int start, int end) {
+
+        boolean normalized = true;
+        for (int i = start; i < end && normalized; ++i) {
+            char c = source.charAt(i);
+            normalized = c >= 'a' && c <= 'z' || c == WILDCARD && i == end - 1;
+        }
+        if (normalized) {
+            return start == 0 && end == source.length() ? source : source.substring(start, end);
+        }
+
+        char[] letters = new char[end - start + 1];
+        int count = 0;
+        boolean wildcard = false;
+        for (int i = start; i < end; ++i) {
+            char c = source.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                letters[count++] = c;
+                wildcard = false;
+            } else if (c >= 'A' && c <= 'Z') {
+                letters[count++] = (char) (c + ('a' - 'A'));
+                wildcard = false;
+            } else if (c == WILDCARD) {
+                wildcard = true;
+            }
+        }
+        if (wildcard) {
+            letters[count++] = WILDCARD;
+        }
+
+        return new String(letters, 0, count);
+    }
+
+    private static boolean isCanonical(String term) {
+        int length = term.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = term.codePointAt(i);
+            i += Character.charCount(codePoint);
+            boolean canonical = Character.isLetter(codePoint) && Character.toLowerCase(codePoint) == codePoint
+                    || codePoint == WILDCARD && i == length;
+            if (!canonical) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
 }
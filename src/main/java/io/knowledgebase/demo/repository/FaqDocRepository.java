@@ -1,8 +1,26 @@
 package io.knowledgebase.demo.repository;
 
 import io.knowledgebase.demo.document.FaqDoc;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface FaqDocRepository extends MongoRepository<FaqDoc, Long> {}
+public interface FaqDocRepository extends MongoRepository<FaqDoc, Long> {
+
+    @Meta(cursorBatchSize = 1024)
+    <T> Stream<T> streamAllBy(Class<T> type);
+
+    @Meta(cursorBatchSize = 1024)
+    <T> Stream<T> streamByActive(Boolean active, Class<T> type);
+
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+
+    <T> List<T> findBySyncedAtGreaterThanEqual(LocalDateTime since, Class<T> type);
+
+}
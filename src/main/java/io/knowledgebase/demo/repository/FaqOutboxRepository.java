@@ -0,0 +1,67 @@
+package io.knowledgebase.demo.repository;
+
+import io.knowledgebase.demo.entity.FaqOutbox;
+import io.knowledgebase.demo.enums.OutboxOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FaqOutboxRepository extends JpaRepository<FaqOutbox, Long> {
+
+    @Query(value = """
+            SELECT * FROM faq_outbox o
+            WHERE o.processed_at IS NULL
+              AND o.parked_at IS NULL
+              AND (o.next_attempt_at IS NULL OR o.next_attempt_at <= :now)
+              AND NOT EXISTS (
+                  SELECT 1 FROM faq_outbox earlier
+                  WHERE earlier.faq_id = o.faq_id
+                    AND earlier.processed_at IS NULL
+                    AND earlier.parked_at IS NULL
+                    AND earlier.id < o.id
+              )
+            ORDER BY o.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<FaqOutbox> lockPendingBatch(@Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE FaqOutbox o SET o.nextAttemptAt = :claimedUntil WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Query("""
+            SELECT DISTINCT o.faqId FROM FaqOutbox o
+            WHERE o.operation = :operation
+              AND (o.processedAt IS NULL OR o.processedAt >= :since)
+            """)
+    List<Long> findFaqIdsSince(@Param("operation") OutboxOperation operation, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE FaqOutbox o SET o.processedAt = :processedAt WHERE o.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("""
+            UPDATE FaqOutbox o
+            SET o.attempts = o.attempts + 1,
+                o.lastError = :lastError,
+                o.nextAttemptAt = :nextAttemptAt,
+                o.parkedAt = :parkedAt
+            WHERE o.id = :id
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("lastError") String lastError,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("parkedAt") LocalDateTime parkedAt);
+
+    @Modifying
+    @Query("DELETE FROM FaqOutbox o WHERE o.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+
+}
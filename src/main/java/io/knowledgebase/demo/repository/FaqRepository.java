@@ -1,17 +1,21 @@
 package io.knowledgebase.demo.repository;
 
 import io.knowledgebase.demo.entity.Faq;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface FaqRepository extends JpaRepository<Faq, Long>, JpaSpecificationExecutor<Faq> {
 
@@ -27,6 +31,58 @@ public interface FaqRepository extends JpaRepository<Faq, Long>, JpaSpecificatio
 
     Faq getFaqByQuestionIgnoreCaseAndAnswerIgnoreCase(String question, String answer);
 
-    List<Faq> findByInMongoFalse();
+    @Query("""
+            SELECT f FROM Faq f JOIN FETCH f.createdBy
+            WHERE f.inMongo = false
+              AND f.id > :afterId
+              AND MOD(f.id, :partitions) = :partition
+              AND NOT EXISTS (
+                  SELECT 1 FROM FaqSyncDeadLetter d
+                  WHERE d.faqId = f.id
+                    AND d.faqUpdatedAt = f.updatedAt
+              )
+              AND NOT EXISTS (
+                  SELECT 1 FROM FaqOutbox o
+                  WHERE o.faqId = f.id
+                    AND o.processedAt IS NULL
+                    AND o.parkedAt IS NULL
+              )
+            ORDER BY f.id
+            """)
+    List<Faq> findUnsyncedAfter(@Param("afterId") Long afterId,
+                                @Param("partitions") int partitions,
+                                @Param("partition") int partition,
+                                Limit limit);
+
+    @Query("""
+            SELECT MIN(f.updatedAt) FROM Faq f
+            WHERE f.inMongo = false
+              AND NOT EXISTS (
+                  SELECT 1 FROM FaqSyncDeadLetter d
+                  WHERE d.faqId = f.id
+                    AND d.faqUpdatedAt = f.updatedAt
+              )
+              AND NOT EXISTS (
+                  SELECT 1 FROM FaqOutbox o
+                  WHERE o.faqId = f.id
+                    AND o.processedAt IS NULL
+                    AND o.parkedAt IS NULL
+              )
+            """)
+    Optional<LocalDateTime> findOldestUnsyncedUpdatedAt();
+
+    @Modifying
+    @Query("UPDATE Faq f SET f.inMongo = true WHERE f.id = :id AND (f.updatedAt = :updatedAt OR :updatedAt IS NULL)")
+    int markInMongo(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query(value = """
+            UPDATE faq f SET in_mongo = true
+            FROM unnest(CAST(:ids AS BIGINT[]), CAST(:versions AS TIMESTAMP[])) AS synced(id, updated_at)
+            WHERE f.id = ANY(CAST(:ids AS BIGINT[]))
+              AND f.id = synced.id
+              AND f.updated_at IS NOT DISTINCT FROM synced.updated_at
+            """, nativeQuery = true)
+    int markAllInMongo(@Param("ids") Long[] ids, @Param("versions") LocalDateTime[] versions);
 
 }
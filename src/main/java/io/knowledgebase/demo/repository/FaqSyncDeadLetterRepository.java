@@ -0,0 +1,7 @@
+package io.knowledgebase.demo.repository;
+
+import io.knowledgebase.demo.entity.FaqSyncDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FaqSyncDeadLetterRepository extends JpaRepository<FaqSyncDeadLetter, Long> {
+}
@@ -0,0 +1,7 @@
+package io.knowledgebase.demo.repository.projection;
+
+public interface FaqDocId {
+
+    Long getId();
+
+}
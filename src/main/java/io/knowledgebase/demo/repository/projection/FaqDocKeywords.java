@@ -0,0 +1,11 @@
+package io.knowledgebase.demo.repository.projection;
+
+import java.util.List;
+
+public interface FaqDocKeywords {
+
+    Long getId();
+
+    List<String> getKeywords();
+
+}
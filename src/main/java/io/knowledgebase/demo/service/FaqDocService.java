@@ -1,20 +1,19 @@
 package io.knowledgebase.demo.service;
 
 import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
-import io.knowledgebase.demo.dto.faq.FaqUpdateDto;
 import io.knowledgebase.demo.entity.Faq;
 
 import java.util.List;
 
 public interface FaqDocService {
 
-    List<FaqPreviewDto> searchFaqDocs(String query);
+    List<FaqPreviewDto> searchFaqDocs(String query, int limit, int offset);
 
-    Faq moveFaqToMongo(Faq faq);
+    void moveFaqToMongo(Faq faq);
 
-    void createFaqDoc(Faq faq);
+    void syncFaqDoc(Faq faq);
 
-    void updateFaqDoc(FaqUpdateDto faqUpdateDto, Long id);
+    List<Long> syncFaqDocs(List<Faq> faqs);
 
     void deleteFaqDoc(Long id);
 
@@ -0,0 +1,13 @@
+package io.knowledgebase.demo.service;
+
+import io.knowledgebase.demo.enums.OutboxOperation;
+
+public interface FaqOutboxService {
+
+    void record(Long faqId, OutboxOperation operation);
+
+    int relayPending();
+
+    int purgeProcessed();
+
+}
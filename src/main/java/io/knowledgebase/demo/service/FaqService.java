@@ -23,6 +23,6 @@ public interface FaqService {
 
     List<FaqResponseDto> searchFaqByKeyWord(String key);
 
-    List<FaqPreviewDto> searchFaqDocs(String query);
+    List<FaqPreviewDto> searchFaqDocs(String query, int limit, int offset);
 
 }
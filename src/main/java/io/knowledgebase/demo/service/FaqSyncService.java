@@ -1,15 +1,7 @@
 package io.knowledgebase.demo.service;
 
-import io.knowledgebase.demo.entity.Faq;
-
-import java.util.List;
-
 public interface FaqSyncService {
 
-    void syncFaqToMongo(Faq faq);
-
-    List<Faq> findUnsyncedFaqs();
-
-    void syncAllUnsyncedFaqs();
+    int syncAllUnsyncedFaqs();
 
 }
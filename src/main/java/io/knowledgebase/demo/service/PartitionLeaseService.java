@@ -0,0 +1,19 @@
+package io.knowledgebase.demo.service;
+
+import java.util.Set;
+
+public interface PartitionLeaseService {
+
+    int partitionCount();
+
+    Set<Integer> rebalance();
+
+    Set<Integer> ownedPartitions();
+
+    boolean holds(int partition);
+
+    boolean renew(int partition);
+
+    void releaseAll();
+
+}
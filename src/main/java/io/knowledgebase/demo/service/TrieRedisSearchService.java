@@ -3,16 +3,19 @@ package io.knowledgebase.demo.service;
 import io.knowledgebase.demo.document.FaqDoc;
 import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TrieRedisSearchService {
 
-    List<FaqPreviewDto> search(String query);
+    List<FaqPreviewDto> search(String query, int limit, int offset);
 
     void indexFaqDoc(FaqDoc faqDoc);
 
     void unindexFaqDoc(FaqDoc faqDoc);
 
-    void sanitizeTrie();
+    void reindexFaqDocs(Collection<FaqDoc> previous, Collection<FaqDoc> current);
+
+    int unindexMissingFaqDocs();
 
 }
@@ -0,0 +1,17 @@
+package io.knowledgebase.demo.service.cache;
+
+import io.knowledgebase.demo.dto.cache.CacheNamespaceDto;
+
+public interface CacheNamespaceService {
+
+    String CHANNEL = "faq-service:cache-namespace";
+
+    String prefixFor(String cacheName);
+
+    CacheNamespaceDto current();
+
+    CacheNamespaceDto roll();
+
+    void refresh();
+
+}
@@ -3,12 +3,24 @@ package io.knowledgebase.demo.service.cache;
 import io.knowledgebase.demo.document.FaqDoc;
 import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
 public interface FaqDocCacheService {
 
+    String FAQ_DOCS_CACHE = "faqDocs";
+
     FaqPreviewDto readFaqDocument(Long id);
 
+    Optional<FaqPreviewDto> findFaqDocument(Long id);
+
+    Map<Long, FaqPreviewDto> readFaqDocuments(Collection<Long> ids);
+
     void evictFaqDocument(Long id);
 
     FaqPreviewDto cacheFaqDocument(FaqDoc faqDoc);
 
+    void cacheFaqDocuments(Collection<FaqDoc> faqDocs);
+
 }
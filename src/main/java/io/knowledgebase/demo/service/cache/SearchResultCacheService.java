@@ -0,0 +1,20 @@
+package io.knowledgebase.demo.service.cache;
+
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+
+import java.util.List;
+
+public interface SearchResultCacheService {
+
+    long generation();
+
+    List<FaqPreviewDto> get(Key key);
+
+    void put(Key key, long generation, List<FaqPreviewDto> result);
+
+    void invalidate();
+
+    record Key(List<String> terms, int limit, int offset) {
+    }
+
+}
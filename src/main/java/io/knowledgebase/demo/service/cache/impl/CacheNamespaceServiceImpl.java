@@ -0,0 +1,131 @@
+package io.knowledgebase.demo.service.cache.impl;
+
+import io.knowledgebase.demo.config.props.CacheNamespaceProps;
+import io.knowledgebase.demo.dto.cache.CacheNamespaceDto;
+import io.knowledgebase.demo.service.cache.CacheNamespaceService;
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.knowledgebase.demo.service.cache.near.TwoLevelCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+@Log4j2
+@Service
+@ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true")
+public class CacheNamespaceServiceImpl implements CacheNamespaceService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheNamespaceProps cacheNamespaceProps;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final SearchResultCacheService searchResultCacheService;
+
+    private volatile long generation;
+    private volatile String namespace;
+
+    public CacheNamespaceServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                     CacheNamespaceProps cacheNamespaceProps,
+                                     ObjectProvider<CacheManager> cacheManagerProvider,
+                                     SearchResultCacheService searchResultCacheService) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheNamespaceProps = cacheNamespaceProps;
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.searchResultCacheService = searchResultCacheService;
+        this.namespace = namespace(0);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            apply(readGeneration());
+        } catch (Exception e) {
+            log.warn("Failed to read cache generation on startup", e);
+        }
+        log.info("Using cache namespace {}", namespace);
+    }
+
+    @Override
+    public String prefixFor(String cacheName) {
+        return namespace + "::" + cacheName + "::";
+    }
+
+    @Override
+    public CacheNamespaceDto current() {
+        return CacheNamespaceDto.builder()
+                .schema(cacheNamespaceProps.getSchema())
+                .generation(generation)
+                .namespace(namespace)
+                .build();
+    }
+
+    @Override
+    public CacheNamespaceDto roll() {
+        String key = cacheNamespaceProps.getGenerationKey();
+        long next = increment(key, 1);
+        if (next <= generation) {
+            next = increment(key, generation - next + 1);
+        }
+        if (apply(next)) {
+            clearLocalTiers();
+        }
+        stringRedisTemplate.convertAndSend(CHANNEL, Long.toString(next));
+        log.info("Rolled cache namespace to {}", namespace);
+        return current();
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            if (apply(readGeneration())) {
+                clearLocalTiers();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read cache generation, staying on namespace {}", namespace, e);
+        }
+    }
+
+    private long increment(String key, long delta) {
+        Long value = stringRedisTemplate.opsForValue().increment(key, delta);
+        if (value == null) {
+            throw new IllegalStateException("Redis returned no value for INCRBY " + key);
+        }
+        return value;
+    }
+
+    private long readGeneration() {
+        String value = stringRedisTemplate.opsForValue().get(cacheNamespaceProps.getGenerationKey());
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private synchronized boolean apply(long observed) {
+        if (observed <= generation) {
+            return false;
+        }
+        generation = observed;
+        namespace = namespace(observed);
+        log.info("Cache namespace switched to {}", namespace);
+        return true;
+    }
+
+    private void clearLocalTiers() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        if (cacheManager != null) {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache instanceof TwoLevelCache twoLevelCache) {
+                    twoLevelCache.clearLocal();
+                }
+            }
+        }
+        searchResultCacheService.invalidate();
+    }
+
+    private String namespace(long generation) {
+        return "v" + cacheNamespaceProps.getSchema() + ":g" + generation;
+    }
+
+}
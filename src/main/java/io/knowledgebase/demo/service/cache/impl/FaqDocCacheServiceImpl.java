@@ -1,45 +1,316 @@
 package io.knowledgebase.demo.service.cache.impl;
 
+import io.knowledgebase.demo.config.props.CacheLoadProps;
 import io.knowledgebase.demo.document.FaqDoc;
 import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
 import io.knowledgebase.demo.exception.FaqDocException;
 import io.knowledgebase.demo.mapper.FaqDocMapper;
 import io.knowledgebase.demo.repository.FaqDocRepository;
 import io.knowledgebase.demo.service.cache.FaqDocCacheService;
-import lombok.RequiredArgsConstructor;
+import io.knowledgebase.demo.service.cache.load.EarlyRefresh;
+import io.knowledgebase.demo.service.cache.load.NegativeCache;
+import io.knowledgebase.demo.service.cache.load.SingleFlight;
+import io.knowledgebase.demo.service.cache.near.TwoLevelCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class FaqDocCacheServiceImpl implements FaqDocCacheService {
 
     private final FaqDocRepository faqDocRepository;
     private final FaqDocMapper faqDocMapper;
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final SingleFlight<Long, FaqPreviewDto> singleFlight;
+    private final EarlyRefresh earlyRefresh;
+    private final Counter earlyRefreshes;
+    private final NegativeCache<Long> absentIds;
+    private final Counter negativeHits;
+
+    public FaqDocCacheServiceImpl(FaqDocRepository faqDocRepository,
+                                  FaqDocMapper faqDocMapper,
+                                  CacheManager cacheManager,
+                                  RedisConnectionFactory redisConnectionFactory,
+                                  CacheLoadProps cacheLoadProps,
+                                  MeterRegistry meterRegistry) {
+        this.faqDocRepository = faqDocRepository;
+        this.faqDocMapper = faqDocMapper;
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.singleFlight = new SingleFlight<>(FAQ_DOCS_CACHE, meterRegistry);
+        this.earlyRefresh = new EarlyRefresh(cacheLoadProps.isEarlyRefreshEnabled(), cacheLoadProps.getEarlyRefreshBeta());
+        this.earlyRefreshes = Counter.builder("cache.early.refreshes")
+                .description("Cached entries reloaded ahead of their expiry")
+                .tag("cache", FAQ_DOCS_CACHE)
+                .register(meterRegistry);
+        this.absentIds = new NegativeCache<>(
+                cacheLoadProps.getNegativeMaximumSize(), cacheLoadProps.getNegativeTtl().toNanos(), System::nanoTime
+        );
+        this.negativeHits = Counter.builder("cache.negative.hits")
+                .description("Lookups answered by the short-lived cache of ids missing from the document store")
+                .tag("cache", FAQ_DOCS_CACHE)
+                .register(meterRegistry);
+        Gauge.builder("cache.negative.size", absentIds, NegativeCache::size)
+                .description("Ids currently remembered as missing from the document store")
+                .tag("cache", FAQ_DOCS_CACHE)
+                .register(meterRegistry);
+    }
 
     @Override
-    @Cacheable(value = "faqDocs", key = "#id.toString()")
     public FaqPreviewDto readFaqDocument(Long id) {
-        return faqDocMapper.toResponseDto(
-                faqDocRepository.findById(id).orElseThrow(() -> FaqDocException.faqDocNotFound(id))
-        );
+        return findFaqDocument(id).orElseThrow(() -> FaqDocException.faqDocNotFound(id));
+    }
+
+    @Override
+    public Optional<FaqPreviewDto> findFaqDocument(Long id) {
+        return Optional.ofNullable(readFaqDocuments(List.of(id)).get(id));
+    }
+
+    @Override
+    public Map<Long, FaqPreviewDto> readFaqDocuments(Collection<Long> ids) {
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (!absentIds.isEmpty()) {
+            int requested = distinctIds.size();
+            distinctIds.removeIf(absentIds::contains);
+            negativeHits.increment(requested - distinctIds.size());
+        }
+        Map<Long, FaqPreviewDto> result = new HashMap<>(distinctIds.size() * 2);
+        if (distinctIds.isEmpty()) {
+            return result;
+        }
+
+        Cache cache = cacheManager.getCache(FAQ_DOCS_CACHE);
+        TwoLevelCache twoLevelCache = cache instanceof TwoLevelCache twoLevel ? twoLevel : null;
+        List<Long> remoteIds = distinctIds;
+        if (twoLevelCache != null) {
+            remoteIds = getLocal(twoLevelCache, distinctIds, result);
+            cache = twoLevelCache.getRemote();
+        }
+
+        List<Long> misses;
+        List<Long> refreshes = new ArrayList<>();
+        if (remoteIds.isEmpty()) {
+            misses = remoteIds;
+        } else if (cache instanceof RedisCache redisCache) {
+            misses = multiGet(redisCache, remoteIds, result, refreshes);
+        } else {
+            misses = getEach(cache, remoteIds, result);
+        }
+
+        if (twoLevelCache != null) {
+            twoLevelCache.recordRemote(remoteIds.size() - misses.size(), misses.size());
+            for (Long id : remoteIds) {
+                FaqPreviewDto preview = result.get(id);
+                if (preview != null) {
+                    twoLevelCache.putLocal(id, preview);
+                }
+            }
+        }
+
+        if (!misses.isEmpty() || !refreshes.isEmpty()) {
+            Cache target = cache;
+            Map<Long, FaqPreviewDto> loaded = singleFlight.load(misses, refreshes, owned -> load(target, owned));
+            result.putAll(loaded);
+            if (twoLevelCache != null) {
+                loaded.forEach(twoLevelCache::putLocal);
+            }
+            for (Long id : refreshes) {
+                if (!loaded.containsKey(id) && absentIds.contains(id)) {
+                    result.remove(id);
+                    if (twoLevelCache != null) {
+                        twoLevelCache.evictLocal(id);
+                    }
+                }
+            }
+        }
+
+        log.debug("Bulk read of {} FAQ docs: {} cache misses, {} found", distinctIds.size(), misses.size(), result.size());
+
+        return result;
     }
 
     @Override
-    @CacheEvict(value = "faqDocs", key = "#id.toString()")
+    @CacheEvict(value = FAQ_DOCS_CACHE, key = "#id.toString()")
     public void evictFaqDocument(Long id) {
         log.debug("Evicting FAQ doc from cache with ID: {}", id);
+        absentIds.remove(id);
     }
 
     @Override
-    @CachePut(value = "faqDocs", key = "#faqDoc.id.toString()")
+    @CachePut(value = FAQ_DOCS_CACHE, key = "#faqDoc.id.toString()")
     public FaqPreviewDto cacheFaqDocument(FaqDoc faqDoc) {
         log.debug("Caching FAQ doc with ID: {}", faqDoc.getId());
+        absentIds.remove(faqDoc.getId());
         return faqDocMapper.toResponseDto(faqDoc);
     }
 
+    @Override
+    public void cacheFaqDocuments(Collection<FaqDoc> faqDocs) {
+
+        if (faqDocs.isEmpty()) {
+            return;
+        }
+        Map<Long, FaqPreviewDto> previews = new HashMap<>(faqDocs.size() * 2);
+        for (FaqDoc faqDoc : faqDocs) {
+            previews.put(faqDoc.getId(), faqDocMapper.toResponseDto(faqDoc));
+            absentIds.remove(faqDoc.getId());
+        }
+
+        Cache cache = cacheManager.getCache(FAQ_DOCS_CACHE);
+        TwoLevelCache twoLevelCache = cache instanceof TwoLevelCache twoLevel ? twoLevel : null;
+        if (twoLevelCache != null) {
+            cache = twoLevelCache.getRemote();
+        }
+        if (cache instanceof RedisCache redisCache) {
+            multiPut(redisCache, previews);
+        } else if (cache != null) {
+            Cache target = cache;
+            previews.forEach((id, preview) -> target.put(id.toString(), preview));
+        }
+        if (twoLevelCache != null) {
+            twoLevelCache.putAllLocal(previews);
+        }
+
+        log.debug("Cached {} FAQ docs in one batch", previews.size());
+    }
+
+    private Map<Long, FaqPreviewDto> load(Cache cache, List<Long> ids) {
+        long start = System.nanoTime();
+        Map<Long, FaqPreviewDto> loaded = new HashMap<>(ids.size() * 2);
+        faqDocRepository.findAllById(ids)
+                .forEach(faqDoc -> loaded.put(faqDoc.getId(), faqDocMapper.toResponseDto(faqDoc)));
+        earlyRefresh.recordLoad(System.nanoTime() - start);
+        for (Long id : ids) {
+            if (!loaded.containsKey(id)) {
+                absentIds.add(id);
+                if (cache != null) {
+                    cache.evict(id.toString());
+                }
+            }
+        }
+        if (cache instanceof RedisCache redisCache) {
+            multiPut(redisCache, loaded);
+        } else if (cache != null) {
+            loaded.forEach((id, preview) -> cache.put(id.toString(), preview));
+        }
+        return loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> multiGet(RedisCache cache, List<Long> ids, Map<Long, FaqPreviewDto> result, List<Long> refreshes) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        byte[][] keys = new byte[ids.size()][];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = cacheKey(cache, ids.get(i));
+        }
+        List<Object> replies;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.stringCommands().mGet(keys);
+            if (earlyRefresh.isEnabled()) {
+                for (byte[] key : keys) {
+                    connection.keyCommands().pTtl(key);
+                }
+            }
+            replies = connection.closePipeline();
+        }
+        List<byte[]> values = replies != null && !replies.isEmpty() ? (List<byte[]>) replies.get(0) : null;
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < keys.length; ++i) {
+            byte[] value = values != null ? values.get(i) : null;
+            Object preview = value != null ? config.getValueSerializationPair().read(ByteBuffer.wrap(value)) : null;
+            if (!(preview instanceof FaqPreviewDto faqPreview)) {
+                misses.add(ids.get(i));
+                continue;
+            }
+            result.put(ids.get(i), faqPreview);
+            if (replies.size() > i + 1 && replies.get(i + 1) instanceof Long ttl && earlyRefresh.shouldRefresh(ttl)) {
+                refreshes.add(ids.get(i));
+                earlyRefreshes.increment();
+            }
+        }
+        return misses;
+    }
+
+    private void multiPut(RedisCache cache, Map<Long, FaqPreviewDto> previews) {
+        if (previews.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            previews.forEach((id, preview) -> {
+                byte[] value = ByteUtils.getBytes(config.getValueSerializationPair().write(preview));
+                Duration ttl = config.getTtlFunction().getTimeToLive(id.toString(), preview);
+                if (ttl.isZero() || ttl.isNegative()) {
+                    connection.stringCommands().set(cacheKey(cache, id), value);
+                } else {
+                    connection.stringCommands().set(cacheKey(cache, id), value,
+                            Expiration.from(ttl), RedisStringCommands.SetOption.upsert());
+                }
+            });
+            connection.closePipeline();
+        }
+    }
+
+    private static List<Long> getLocal(TwoLevelCache cache, List<Long> ids, Map<Long, FaqPreviewDto> result) {
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (cache.getLocal(id) instanceof FaqPreviewDto preview) {
+                result.put(id, preview);
+            } else {
+                misses.add(id);
+            }
+        }
+        return misses;
+    }
+
+    private List<Long> getEach(Cache cache, List<Long> ids, Map<Long, FaqPreviewDto> result) {
+        if (cache == null) {
+            return ids;
+        }
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            FaqPreviewDto preview = cache.get(id.toString(), FaqPreviewDto.class);
+            if (preview != null) {
+                result.put(id, preview);
+            } else {
+                misses.add(id);
+            }
+        }
+        return misses;
+    }
+
+    private static byte[] cacheKey(RedisCache cache, Long id) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String key = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + id : id.toString();
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(key));
+    }
+
 }
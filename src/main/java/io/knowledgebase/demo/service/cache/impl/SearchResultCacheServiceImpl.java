@@ -0,0 +1,179 @@
+package io.knowledgebase.demo.service.cache.impl;
+
+import io.knowledgebase.demo.config.props.SearchResultCacheProps;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Log4j2
+@Service
+public class SearchResultCacheServiceImpl implements SearchResultCacheService {
+
+    private static final int ENTRY_OVERHEAD = 128;
+    private static final int PREVIEW_OVERHEAD = 96;
+    private static final int STRING_OVERHEAD = 40;
+
+    private final boolean enabled;
+    private final long maxWeight;
+    private final long expireAfterWriteNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+    private long weight;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public SearchResultCacheServiceImpl(SearchResultCacheProps searchResultCacheProps, MeterRegistry meterRegistry) {
+        this.enabled = searchResultCacheProps.isEnabled();
+        this.maxWeight = searchResultCacheProps.getMaxSize().toBytes();
+        this.expireAfterWriteNanos = searchResultCacheProps.getExpireAfterWrite().toNanos();
+        this.hits = Counter.builder("search.result.cache.requests")
+                .description("Trie search result cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("search.result.cache.requests")
+                .description("Trie search result cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("search.result.cache.evictions")
+                .description("Search results evicted to stay within the size bound")
+                .register(meterRegistry);
+        Gauge.builder("search.result.cache.hit.ratio", this, cache -> cache.hitRatio())
+                .description("Share of trie search lookups answered from the result cache")
+                .register(meterRegistry);
+        Gauge.builder("search.result.cache.weight", this, cache -> cache.weight())
+                .description("Estimated heap footprint of cached search results")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public List<FaqPreviewDto> get(Key key) {
+
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && !isFresh(entry)) {
+                remove(key, entry);
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    @Override
+    public void put(Key key, long observedGeneration, List<FaqPreviewDto> result) {
+
+        if (!enabled || observedGeneration != generation.get()) {
+            return;
+        }
+        long entryWeight = weigh(key, result);
+        if (entryWeight > maxWeight) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, new Entry(result, observedGeneration, System.nanoTime(), entryWeight));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entryWeight;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        long current = generation.incrementAndGet();
+        log.trace("Search result cache moved to generation {}", current);
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry.generation == generation.get() && System.nanoTime() - entry.createdAt < expireAfterWriteNanos;
+    }
+
+    private void remove(Key key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long weigh(Key key, List<FaqPreviewDto> result) {
+        long total = ENTRY_OVERHEAD + weigh(key.terms());
+        for (FaqPreviewDto preview : result) {
+            total += PREVIEW_OVERHEAD + weigh(preview.getQuestion()) + weigh(preview.getKeywords());
+        }
+        return total;
+    }
+
+    private static long weigh(List<String> values) {
+        long total = 0;
+        if (values != null) {
+            for (String value : values) {
+                total += weigh(value);
+            }
+        }
+        return total;
+    }
+
+    private static long weigh(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + 2L * value.length();
+    }
+
+    private record Entry(List<FaqPreviewDto> result, long generation, long createdAt, long weight) {
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.knowledgebase.demo.service.cache.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class EarlyRefresh {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final double beta;
+    private volatile double loadNanos;
+
+    public EarlyRefresh(boolean enabled, double beta) {
+        this.enabled = enabled;
+        this.beta = beta;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void recordLoad(long nanos) {
+        double current = loadNanos;
+        loadNanos = current == 0 ? nanos : current + SMOOTHING * (nanos - current);
+    }
+
+    public boolean shouldRefresh(long ttlMillis) {
+        return shouldRefresh(ttlMillis, 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    boolean shouldRefresh(long ttlMillis, double random) {
+        if (!enabled || ttlMillis < 0) {
+            return false;
+        }
+        return -loadNanos * beta * Math.log(random) >= TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+}
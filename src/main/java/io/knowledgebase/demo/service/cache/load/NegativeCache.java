@@ -0,0 +1,58 @@
+package io.knowledgebase.demo.service.cache.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+public class NegativeCache<K> {
+
+    private final Map<K, Long> expiries = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    public NegativeCache(int maximumSize, long ttlNanos, LongSupplier ticker) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+        this.ticker = ticker;
+    }
+
+    public boolean isEmpty() {
+        return expiries.isEmpty();
+    }
+
+    public boolean contains(K key) {
+        Long expiresAt = expiries.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (ticker.getAsLong() - expiresAt >= 0) {
+            expiries.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void add(K key) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = ticker.getAsLong();
+        if (expiries.size() >= maximumSize && !expiries.containsKey(key)) {
+            expiries.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (expiries.size() >= maximumSize) {
+                return;
+            }
+        }
+        expiries.put(key, now + ttlNanos);
+    }
+
+    public void remove(K key) {
+        expiries.remove(key);
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.knowledgebase.demo.service.cache.load;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter ownedLoads;
+    private final Counter sharedLoads;
+
+    public SingleFlight(String cacheName, MeterRegistry meterRegistry) {
+        this.ownedLoads = loadCounter(meterRegistry, cacheName, "owned");
+        this.sharedLoads = loadCounter(meterRegistry, cacheName, "shared");
+    }
+
+    public Map<K, V> load(Collection<K> keys, Collection<K> optionalKeys, Function<List<K>, Map<K, V>> loader) {
+
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> shared = new HashMap<>();
+        claim(keys, owned, shared);
+        claim(optionalKeys, owned, new HashMap<>());
+
+        Map<K, V> result = new HashMap<>((owned.size() + shared.size()) * 2);
+        if (!owned.isEmpty()) {
+            ownedLoads.increment(owned.size());
+            try {
+                Map<K, V> loaded = loader.apply(new ArrayList<>(owned.keySet()));
+                owned.forEach((key, future) -> future.complete(loaded.get(key)));
+                result.putAll(loaded);
+            } catch (Throwable e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        sharedLoads.increment(shared.size());
+        shared.forEach((key, future) -> {
+            V value = join(future);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+
+        return result;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private void claim(Collection<K> keys, Map<K, CompletableFuture<V>> owned, Map<K, CompletableFuture<V>> shared) {
+        for (K key : keys) {
+            if (owned.containsKey(key) || shared.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                owned.put(key, future);
+            } else {
+                shared.put(key, existing);
+            }
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter loadCounter(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("cache.loads")
+                .description("Cache loads by whether the caller ran the load or joined one already in flight")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.knowledgebase.demo.service.cache.near;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "faq-service:cache-invalidation";
+
+    private static final String SEPARATOR = "\n";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    public void publishEvictAll(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        StringJoiner payload = new StringJoiner(SEPARATOR);
+        payload.add(nodeId).add(cacheName);
+        keys.forEach(key -> payload.add(String.valueOf(key)));
+        publish(payload.toString());
+    }
+
+    public void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 2) {
+            cache.clearLocal();
+        } else {
+            for (String key : parts[2].split(SEPARATOR)) {
+                cache.evictLocal(key);
+            }
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation on {}", CHANNEL, e);
+        }
+    }
+
+}
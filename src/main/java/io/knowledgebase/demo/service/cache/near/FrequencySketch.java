@@ -0,0 +1,70 @@
+package io.knowledgebase.demo.service.cache.near;
+
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(maximumSize, 8) - 1) << 1;
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * Math.max(maximumSize, 8);
+    }
+
+    int frequency(Object element) {
+        int hash = element.hashCode();
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; ++i) {
+            long h = rehash(hash, i);
+            frequency = Math.min(frequency, (int) (table[index(h)] >>> offset(h)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    void increment(Object element) {
+        int hash = element.hashCode();
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; ++i) {
+            long h = rehash(hash, i);
+            int index = index(h);
+            int offset = offset(h);
+            if (((table[index] >>> offset) & MAX_COUNT) < MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; ++i) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static long rehash(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return h ^ (h >>> 29);
+    }
+
+    private int index(long h) {
+        return (int) h & mask;
+    }
+
+    private static int offset(long h) {
+        return ((int) (h >>> 40) & 15) << 2;
+    }
+
+}
@@ -0,0 +1,190 @@
+package io.knowledgebase.demo.service.cache.near;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+public final class NearCache<K, V> {
+
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final int mainCapacity;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final Runnable onEviction;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<V>> index = new HashMap<>();
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    public NearCache(int maximumSize, long expireAfterWriteNanos, LongSupplier ticker, Runnable onEviction) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Near cache size must be positive: " + maximumSize);
+        }
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = mainCapacity * 4 / 5;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.ticker = ticker;
+        this.onEviction = onEviction;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            sketch.increment(key);
+            Node<V> node = index.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (ticker.getAsLong() - node.writtenAt >= expireAfterWriteNanos) {
+                unlink(key, node);
+                return null;
+            }
+            onHit(key, node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            Node<V> node = index.get(key);
+            if (node != null) {
+                node.value = value;
+                node.writtenAt = ticker.getAsLong();
+                onHit(key, node);
+                return;
+            }
+            sketch.increment(key);
+            node = new Node<>(value, ticker.getAsLong());
+            index.put(key, node);
+            window.put(key, node);
+            if (window.size() > windowCapacity) {
+                admit(evictEldest(window));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            Node<V> node = index.get(key);
+            if (node != null) {
+                unlink(key, node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onHit(K key, Node<V> node) {
+        switch (node.segment) {
+            case WINDOW -> moveToEnd(window, key, node);
+            case PROTECTED -> moveToEnd(protectedSegment, key, node);
+            case PROBATION -> {
+                probation.remove(key);
+                node.segment = Segment.PROTECTED;
+                protectedSegment.put(key, node);
+                if (protectedSegment.size() > protectedCapacity) {
+                    Map.Entry<K, Node<V>> demoted = evictEldest(protectedSegment);
+                    demoted.getValue().segment = Segment.PROBATION;
+                    probation.put(demoted.getKey(), demoted.getValue());
+                }
+            }
+        }
+    }
+
+    private void admit(Map.Entry<K, Node<V>> candidate) {
+        K key = candidate.getKey();
+        Node<V> node = candidate.getValue();
+        node.segment = Segment.PROBATION;
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(key, node);
+            return;
+        }
+        LinkedHashMap<K, Node<V>> victims = probation.isEmpty() ? protectedSegment : probation;
+        K victim = victims.isEmpty() ? null : victims.keySet().iterator().next();
+        if (victim != null && sketch.frequency(key) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            index.remove(victim);
+            probation.put(key, node);
+        } else {
+            index.remove(key);
+        }
+        onEviction.run();
+    }
+
+    private void unlink(K key, Node<V> node) {
+        index.remove(key);
+        switch (node.segment) {
+            case WINDOW -> window.remove(key);
+            case PROBATION -> probation.remove(key);
+            case PROTECTED -> protectedSegment.remove(key);
+        }
+    }
+
+    private static <K, V> void moveToEnd(LinkedHashMap<K, Node<V>> segment, K key, Node<V> node) {
+        segment.remove(key);
+        segment.put(key, node);
+    }
+
+    private static <K, V> Map.Entry<K, Node<V>> evictEldest(LinkedHashMap<K, Node<V>> segment) {
+        Iterator<Map.Entry<K, Node<V>>> iterator = segment.entrySet().iterator();
+        Map.Entry<K, Node<V>> eldest = iterator.next();
+        Map.Entry<K, Node<V>> result = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return result;
+    }
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<V> {
+
+        private V value;
+        private long writtenAt;
+        private Segment segment = Segment.WINDOW;
+
+        private Node(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+
+    }
+
+}
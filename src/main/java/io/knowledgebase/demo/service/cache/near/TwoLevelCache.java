@@ -0,0 +1,190 @@
+package io.knowledgebase.demo.service.cache.near;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+public class TwoLevelCache implements Cache {
+
+    private final Cache remote;
+    private final NearCache<String, Object> local;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(Cache remote, int maximumSize, long expireAfterWriteNanos,
+                         CacheInvalidationBus cacheInvalidationBus, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.localHits = tierCounter(meterRegistry, "l1", "hit");
+        this.localMisses = tierCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = tierCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = tierCounter(meterRegistry, "l2", "miss");
+        Counter localEvictions = Counter.builder("cache.tier.evictions")
+                .description("Entries rejected or evicted by the near cache admission policy")
+                .tag("cache", remote.getName())
+                .tag("tier", "l1")
+                .register(meterRegistry);
+        this.local = new NearCache<>(maximumSize, expireAfterWriteNanos, System::nanoTime, localEvictions::increment);
+        Gauge.builder("cache.tier.size", local, NearCache::size)
+                .description("Entries held by the near cache")
+                .tag("cache", remote.getName())
+                .tag("tier", "l1")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            putLocal(key, wrapper.get());
+        } else {
+            remoteMisses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return (T) value;
+        }
+        boolean[] loaded = {false};
+        T result = remote.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? remoteMisses : remoteHits).increment();
+        if (result != null) {
+            putLocal(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            putLocal(key, value);
+        } else {
+            evictLocal(key);
+        }
+        cacheInvalidationBus.publishEvict(getName(), key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        evictLocal(key);
+        cacheInvalidationBus.publishEvict(getName(), key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(key);
+        cacheInvalidationBus.publishEvict(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        evictLocal(key);
+        cacheInvalidationBus.publishEvict(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        cacheInvalidationBus.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clearLocal();
+        cacheInvalidationBus.publishClear(getName());
+        return invalidated;
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    public Object getLocal(Object key) {
+        Object value = local.get(String.valueOf(key));
+        (value != null ? localHits : localMisses).increment();
+        return value;
+    }
+
+    public void putLocal(Object key, Object value) {
+        local.put(String.valueOf(key), value);
+    }
+
+    public void putAllLocal(Map<?, ?> entries) {
+        entries.forEach(this::putLocal);
+        cacheInvalidationBus.publishEvictAll(getName(), entries.keySet());
+    }
+
+    public void evictLocal(Object key) {
+        local.invalidate(String.valueOf(key));
+    }
+
+    public void clearLocal() {
+        local.clear();
+    }
+
+    public void recordRemote(int hits, int misses) {
+        remoteHits.increment(hits);
+        remoteMisses.increment(misses);
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("Cache lookups per tier")
+                .tag("cache", remote.getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,58 @@
+package io.knowledgebase.demo.service.cache.near;
+
+import io.knowledgebase.demo.config.props.NearCacheProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final NearCacheProps nearCacheProps;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote,
+                                NearCacheProps nearCacheProps,
+                                CacheInvalidationBus cacheInvalidationBus,
+                                MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.nearCacheProps = nearCacheProps;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> {
+            TwoLevelCache created = new TwoLevelCache(
+                    remoteCache,
+                    nearCacheProps.getMaximumSize(),
+                    nearCacheProps.getExpireAfterWrite().toNanos(),
+                    cacheInvalidationBus,
+                    meterRegistry
+            );
+            cacheInvalidationBus.register(created);
+            return created;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+}
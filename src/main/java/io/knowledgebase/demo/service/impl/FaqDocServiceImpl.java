@@ -1,10 +1,9 @@
 package io.knowledgebase.demo.service.impl;
 
+import com.mongodb.bulk.BulkWriteError;
 import io.knowledgebase.demo.document.FaqDoc;
 import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
-import io.knowledgebase.demo.dto.faq.FaqUpdateDto;
 import io.knowledgebase.demo.entity.Faq;
-import io.knowledgebase.demo.exception.FaqDocException;
 import io.knowledgebase.demo.mapper.FaqDocMapper;
 import io.knowledgebase.demo.repository.FaqDocRepository;
 import io.knowledgebase.demo.repository.FaqRepository;
@@ -12,26 +11,44 @@ import io.knowledgebase.demo.service.FaqDocService;
 import io.knowledgebase.demo.service.TrieRedisSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class FaqDocServiceImpl implements FaqDocService {
 
+    private static final int DUPLICATE_KEY = 11000;
+
     private final TrieRedisSearchService trieRedisSearchService;
     private final FaqDocRepository faqDocRepository;
     private final FaqRepository faqRepository;
     private final FaqDocMapper faqDocMapper;
+    private final MongoTemplate mongoTemplate;
 
     @Override
-    public List<FaqPreviewDto> searchFaqDocs(String query) {
+    public List<FaqPreviewDto> searchFaqDocs(String query, int limit, int offset) {
 
-        log.debug("Search FAQ docs for query: '{}'", query);
+        log.debug("Search FAQ docs for query: '{}' (limit={}, offset={})", query, limit, offset);
 
-        List<FaqPreviewDto> results = trieRedisSearchService.search(query);
+        List<FaqPreviewDto> results = trieRedisSearchService.search(query, limit, offset);
 
         log.debug("Found {} results for query: '{}'", results.size(), query);
 
@@ -39,42 +56,81 @@ public class FaqDocServiceImpl implements FaqDocService {
     }
 
     @Override
-    public Faq moveFaqToMongo(Faq faq) {
-        createFaqDoc(faq);
-        faq.setInMongo(true);
-        return faqRepository.save(faq);
+    public void moveFaqToMongo(Faq faq) {
+        syncFaqDoc(faq);
+        faqRepository.markInMongo(faq.getId(), faq.getUpdatedAt());
     }
 
     @Override
-    public void createFaqDoc(Faq faq) {
-
-        FaqDoc faqDoc = faqDocMapper.fromFaqToFaqDoc(faq);
+    public void syncFaqDoc(Faq faq) {
 
-        faqDocRepository.save(faqDoc);
+        log.debug("Syncing FAQ doc with ID: {}", faq.getId());
 
+        FaqDoc faqDoc = faqDocMapper.fromFaqToFaqDoc(faq);
+        faqDoc.setSyncedAt(LocalDateTime.now());
+        Optional<FaqDoc> previous = faqDocRepository.findById(faq.getId());
+        try {
+            mongoTemplate.findAndReplace(versionGuard(faqDoc), faqDoc, FindAndReplaceOptions.options().upsert());
+        } catch (DuplicateKeyException e) {
+            log.debug("FAQ doc with ID: {} already holds a newer version than {}", faq.getId(), faq.getUpdatedAt());
+            return;
+        }
+
+        previous.ifPresent(trieRedisSearchService::unindexFaqDoc);
         trieRedisSearchService.indexFaqDoc(faqDoc);
 
         log.debug("Successfully saved and indexed FAQ doc with ID: {}", faq.getId());
     }
 
     @Override
-    public void updateFaqDoc(FaqUpdateDto faqUpdateDto, Long id) {
-
-        log.info("Updating FAQ doc with ID: {}", id);
-
-        FaqDoc faqDoc = faqDocRepository.findById(id).orElseThrow(() -> FaqDocException.faqDocNotFound(id));
-
-        trieRedisSearchService.unindexFaqDoc(faqDoc);
-
-        faqDocMapper.updateFromDto(faqUpdateDto, faqDoc);
-
-        FaqDoc newFaqDoc = faqDocRepository.save(faqDoc);
-
-        trieRedisSearchService.indexFaqDoc(newFaqDoc);
-
-        trieRedisSearchService.sanitizeTrie();
-
-        log.info("Successfully updated and indexed FAQ doc with ID: {}", id);
+    public List<Long> syncFaqDocs(List<Faq> faqs) {
+
+        if (faqs.isEmpty()) {
+            return List.of();
+        }
+
+        List<FaqDoc> faqDocs = faqs.stream().map(faqDocMapper::fromFaqToFaqDoc).toList();
+        LocalDateTime syncedAt = LocalDateTime.now();
+        faqDocs.forEach(faqDoc -> faqDoc.setSyncedAt(syncedAt));
+        Map<Long, FaqDoc> previous = new HashMap<>(faqDocs.size() * 2);
+        faqDocRepository.findAllById(faqDocs.stream().map(FaqDoc::getId).toList())
+                .forEach(faqDoc -> previous.put(faqDoc.getId(), faqDoc));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaqDoc.class);
+        for (FaqDoc faqDoc : faqDocs) {
+            bulk.replaceOne(versionGuard(faqDoc), faqDoc, FindAndReplaceOptions.options().upsert());
+        }
+
+        Set<Integer> failed = Set.of();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            failed = e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+            long stale = e.getErrors().stream().filter(error -> error.getCode() == DUPLICATE_KEY).count();
+            if (stale < failed.size()) {
+                log.warn("Bulk write rejected {} of {} FAQ docs: {}", failed.size() - stale, faqDocs.size(),
+                        e.getMessage());
+            }
+            if (stale > 0) {
+                log.debug("Skipped {} FAQ docs already holding a newer version", stale);
+            }
+        }
+
+        List<FaqDoc> written = new ArrayList<>(faqDocs.size() - failed.size());
+        for (int i = 0; i < faqDocs.size(); ++i) {
+            if (!failed.contains(i)) {
+                written.add(faqDocs.get(i));
+            }
+        }
+        List<FaqDoc> replaced = written.stream()
+                .map(faqDoc -> previous.get(faqDoc.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+        trieRedisSearchService.reindexFaqDocs(replaced, written);
+
+        log.debug("Bulk synced {} of {} FAQ docs", written.size(), faqDocs.size());
+
+        return written.stream().map(FaqDoc::getId).toList();
     }
 
     @Override
@@ -82,15 +138,24 @@ public class FaqDocServiceImpl implements FaqDocService {
 
         log.info("Deleting FAQ doc with ID: {}", id);
 
-        FaqDoc faqDoc = faqDocRepository.findById(id).orElseThrow(() -> FaqDocException.faqDocNotFound(id));
-
-        trieRedisSearchService.unindexFaqDoc(faqDoc);
-
-        trieRedisSearchService.sanitizeTrie();
-
-        faqDocRepository.delete(faqDoc);
+        faqDocRepository.findById(id).ifPresentOrElse(faqDoc -> {
+            trieRedisSearchService.unindexFaqDoc(faqDoc);
+            faqDocRepository.delete(faqDoc);
+            log.info("Successfully deleted FAQ doc with ID: {}", id);
+        }, () -> log.debug("FAQ doc with ID: {} is already absent", id));
+    }
 
-        log.info("Successfully deleted FAQ doc with ID: {}", id);
+    // A newer document fails the filter, and the upsert then collides with its _id, so a stale
+    // write surfaces as a duplicate key error instead of replacing the newer version.
+    private static Query versionGuard(FaqDoc faqDoc) {
+        Criteria criteria = Criteria.where("_id").is(faqDoc.getId());
+        if (faqDoc.getUpdatedAt() != null) {
+            criteria.orOperator(
+                    Criteria.where("updatedAt").lte(faqDoc.getUpdatedAt()),
+                    Criteria.where("updatedAt").exists(false)
+            );
+        }
+        return Query.query(criteria);
     }
 
 }
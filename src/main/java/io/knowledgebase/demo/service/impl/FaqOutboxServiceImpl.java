@@ -0,0 +1,183 @@
+package io.knowledgebase.demo.service.impl;
+
+import io.knowledgebase.demo.config.props.FaqOutboxProps;
+import io.knowledgebase.demo.entity.Faq;
+import io.knowledgebase.demo.entity.FaqOutbox;
+import io.knowledgebase.demo.enums.OutboxOperation;
+import io.knowledgebase.demo.repository.FaqOutboxRepository;
+import io.knowledgebase.demo.repository.FaqRepository;
+import io.knowledgebase.demo.service.FaqDocService;
+import io.knowledgebase.demo.service.FaqOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+public class FaqOutboxServiceImpl implements FaqOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final FaqOutboxRepository faqOutboxRepository;
+    private final FaqRepository faqRepository;
+    private final FaqDocService faqDocService;
+    private final TransactionTemplate transactionTemplate;
+    private final FaqOutboxProps faqOutboxProps;
+    private final Counter relayedEntries;
+    private final Counter failedEntries;
+    private final Counter parkedEntries;
+    private final Timer batchTimer;
+
+    public FaqOutboxServiceImpl(FaqOutboxRepository faqOutboxRepository,
+                                FaqRepository faqRepository,
+                                FaqDocService faqDocService,
+                                TransactionTemplate transactionTemplate,
+                                FaqOutboxProps faqOutboxProps,
+                                MeterRegistry meterRegistry) {
+        this.faqOutboxRepository = faqOutboxRepository;
+        this.faqRepository = faqRepository;
+        this.faqDocService = faqDocService;
+        this.transactionTemplate = transactionTemplate;
+        this.faqOutboxProps = faqOutboxProps;
+        this.relayedEntries = relayCounter(meterRegistry, "success");
+        this.failedEntries = relayCounter(meterRegistry, "failure");
+        this.parkedEntries = relayCounter(meterRegistry, "parked");
+        this.batchTimer = Timer.builder("faq.outbox.batch")
+                .description("Time spent relaying one batch of FAQ outbox entries to MongoDB")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long faqId, OutboxOperation operation) {
+        faqOutboxRepository.save(FaqOutbox.builder().faqId(faqId).operation(operation).build());
+    }
+
+    @Override
+    public int relayPending() {
+        int relayed = 0;
+        for (int i = 0; i < faqOutboxProps.getMaxBatchesPerRun(); ++i) {
+            int batch = batchTimer.record(this::relayBatch);
+            relayed += batch;
+            if (batch < faqOutboxProps.getBatchSize()) {
+                break;
+            }
+        }
+        if (relayed > 0) {
+            log.info("Relayed {} FAQ outbox entries", relayed);
+        }
+        return relayed;
+    }
+
+    @Override
+    public int purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minus(faqOutboxProps.getRetention());
+        Integer purged = transactionTemplate.execute(status -> faqOutboxRepository.deleteProcessedBefore(before));
+        return purged == null ? 0 : purged;
+    }
+
+    // Claims the batch in a short transaction by pushing next_attempt_at past the claim timeout, so the row
+    // locks are released before any MongoDB, Redis or trie work starts.
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<FaqOutbox> batch = transactionTemplate.execute(status -> {
+            List<FaqOutbox> locked = faqOutboxRepository.lockPendingBatch(faqOutboxProps.getBatchSize(), now);
+            if (!locked.isEmpty()) {
+                faqOutboxRepository.claim(locked.stream().map(FaqOutbox::getId).toList(),
+                        now.plus(faqOutboxProps.getClaimTimeout()));
+            }
+            return locked;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Faq> faqs = faqRepository.findAllById(batch.stream().map(FaqOutbox::getFaqId).toList())
+                .stream()
+                .collect(Collectors.toMap(Faq::getId, Function.identity()));
+
+        for (FaqOutbox entry : batch) {
+            relayEntry(entry, faqs.get(entry.getFaqId()));
+        }
+        return batch.size();
+    }
+
+    private void relayEntry(FaqOutbox entry, Faq faq) {
+        try {
+            transactionTemplate.execute(status -> {
+                relay(entry, faq);
+                return faqOutboxRepository.markProcessed(List.of(entry.getId()), LocalDateTime.now());
+            });
+            relayedEntries.increment();
+        } catch (Exception e) {
+            markFailed(entry, e);
+        }
+    }
+
+    private void relay(FaqOutbox entry, Faq faq) {
+        if (faq == null) {
+            faqDocService.deleteFaqDoc(entry.getFaqId());
+        } else {
+            faqDocService.moveFaqToMongo(faq);
+        }
+    }
+
+    private void markFailed(FaqOutbox entry, Exception e) {
+        int attempts = entry.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        boolean park = attempts >= faqOutboxProps.getMaxAttempts();
+        LocalDateTime nextAttemptAt = park ? null : now.plus(backoff(attempts));
+        try {
+            transactionTemplate.execute(status -> faqOutboxRepository.markFailed(entry.getId(), errorMessage(e),
+                    nextAttemptAt, park ? now : null));
+        } catch (Exception markError) {
+            log.error("Failed to record the failure of outbox entry {}, it is retried after the claim expires",
+                    entry.getId(), markError);
+        }
+        if (park) {
+            log.error("Parked outbox entry {} for FAQ ID: {} after {} attempts", entry.getId(), entry.getFaqId(),
+                    attempts, e);
+            parkedEntries.increment();
+        } else {
+            log.warn("Failed to relay outbox entry {} for FAQ ID: {}, retrying at {}", entry.getId(),
+                    entry.getFaqId(), nextAttemptAt, e);
+            failedEntries.increment();
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        long initial = faqOutboxProps.getInitialBackoff().toMillis();
+        long max = faqOutboxProps.getMaxBackoff().toMillis();
+        long exponential = Math.min(max, initial << Math.min(attempt - 1, 20));
+        if (exponential <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1));
+    }
+
+    private static String errorMessage(Exception e) {
+        String message = e.getClass().getName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static Counter relayCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("faq.outbox.relayed")
+                .description("FAQ outbox entries relayed to MongoDB and the search index")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
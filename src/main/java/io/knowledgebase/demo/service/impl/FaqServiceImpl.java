@@ -7,10 +7,12 @@ import io.knowledgebase.demo.dto.faq.FaqResponseDto;
 import io.knowledgebase.demo.dto.faq.FaqUpdateDto;
 import io.knowledgebase.demo.entity.Faq;
 import io.knowledgebase.demo.entity.User;
+import io.knowledgebase.demo.enums.OutboxOperation;
 import io.knowledgebase.demo.exception.FaqException;
 import io.knowledgebase.demo.mapper.FaqMapper;
 import io.knowledgebase.demo.repository.FaqRepository;
 import io.knowledgebase.demo.service.FaqDocService;
+import io.knowledgebase.demo.service.FaqOutboxService;
 import io.knowledgebase.demo.service.FaqService;
 import io.knowledgebase.demo.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -37,19 +39,22 @@ public class FaqServiceImpl implements FaqService {
     private final FaqMapper faqMapper;
     private final SortValidator sortValidator;
     private final FaqDocService faqDocService;
+    private final FaqOutboxService faqOutboxService;
     private final UserService userService;
 
     public static final Set<String> ALLOWED_SORT_FIELDS = Set.of("question", "updatedAt", "counter");
 
     @Override
+    @Transactional
     public FaqResponseDto createFaq(FaqCreateDto faqCreateDto) {
         User user = userService.getUserByJwt();
         Faq faq = faqMapper.toEntity(faqCreateDto, user);
         getFaqByQuestionAndAnswer(faq.getQuestion(), faq.getAnswer());
 
         Faq savedFaq = faqRepository.save(faq);
+        faqOutboxService.record(savedFaq.getId(), OutboxOperation.UPSERT);
 
-        return faqMapper.toResponseDto(faqDocService.moveFaqToMongo(savedFaq));
+        return faqMapper.toResponseDto(savedFaq);
     }
 
     @Override
@@ -58,18 +63,22 @@ public class FaqServiceImpl implements FaqService {
         Faq existingFaq = getFaqById(id);
 
         faqMapper.updateFromDto(faqUpdateDto, existingFaq);
-        faqDocService.updateFaqDoc(faqUpdateDto, id);
+        // The outbox relay owns the change; the sync scan skips FAQs with pending entries and only
+        // picks this one up if its entry gets parked
+        existingFaq.setInMongo(false);
+        faqOutboxService.record(id, OutboxOperation.UPSERT);
 
         return faqMapper.toResponseDto(existingFaq);
     }
 
     @Override
+    @Transactional
     public void deleteFaq(Long id) {
         if (!faqRepository.existsById(id)) {
             throw FaqException.faqNotFound(id);
         }
         faqRepository.deleteById(id);
-        faqDocService.deleteFaqDoc(id);
+        faqOutboxService.record(id, OutboxOperation.DELETE);
     }
 
     @Override
@@ -88,8 +97,8 @@ public class FaqServiceImpl implements FaqService {
     }
 
     @Override
-    public List<FaqPreviewDto> searchFaqDocs(String query) {
-        return faqDocService.searchFaqDocs(query);
+    public List<FaqPreviewDto> searchFaqDocs(String query, int limit, int offset) {
+        return faqDocService.searchFaqDocs(query, limit, offset);
     }
 
     @Override
@@ -1,64 +1,313 @@
 package io.knowledgebase.demo.service.impl;
 
+import io.knowledgebase.demo.config.props.FaqSyncProps;
 import io.knowledgebase.demo.entity.Faq;
+import io.knowledgebase.demo.entity.FaqSyncDeadLetter;
 import io.knowledgebase.demo.repository.FaqRepository;
+import io.knowledgebase.demo.repository.FaqSyncDeadLetterRepository;
 import io.knowledgebase.demo.service.FaqDocService;
 import io.knowledgebase.demo.service.FaqSyncService;
-import lombok.RequiredArgsConstructor;
+import io.knowledgebase.demo.service.PartitionLeaseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class FaqSyncServiceImpl implements FaqSyncService {
 
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final String BULK_WRITE_REJECTED = "Rejected by the MongoDB bulk write";
+
     private final FaqDocService faqDocService;
     private final FaqRepository faqRepository;
+    private final FaqSyncDeadLetterRepository faqSyncDeadLetterRepository;
     private final TransactionTemplate transactionTemplate;
+    private final FaqSyncProps faqSyncProps;
+    private final PartitionLeaseService partitionLeaseService;
+    private final Semaphore permits;
+    private final ThreadFactory workerFactory = Thread.ofVirtual().name("faq-sync-", 0).factory();
+    private final AtomicReference<LocalDateTime> oldestUnsynced = new AtomicReference<>();
+    private final AtomicReference<Double> lastRunThroughput = new AtomicReference<>(0.0);
+    private final Counter syncedDocuments;
+    private final Counter staleDocuments;
+    private final Counter failedDocuments;
+    private final Counter retriedDocuments;
+    private final Counter deadLetteredDocuments;
+    private final Timer chunkTimer;
+    private final DistributionSummary chunkThroughput;
+
+    public FaqSyncServiceImpl(FaqDocService faqDocService,
+                              FaqRepository faqRepository,
+                              FaqSyncDeadLetterRepository faqSyncDeadLetterRepository,
+                              TransactionTemplate transactionTemplate,
+                              FaqSyncProps faqSyncProps,
+                              PartitionLeaseService partitionLeaseService,
+                              MeterRegistry meterRegistry) {
+        this.faqDocService = faqDocService;
+        this.faqRepository = faqRepository;
+        this.faqSyncDeadLetterRepository = faqSyncDeadLetterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.faqSyncProps = faqSyncProps;
+        this.partitionLeaseService = partitionLeaseService;
+        this.permits = new Semaphore(Math.max(1, faqSyncProps.getConcurrency()));
+        this.syncedDocuments = documentCounter(meterRegistry, "success");
+        this.staleDocuments = documentCounter(meterRegistry, "stale");
+        this.failedDocuments = documentCounter(meterRegistry, "failure");
+        this.retriedDocuments = Counter.builder("faq.sync.retries")
+                .description("FAQs scheduled for another sync attempt after a failed one")
+                .register(meterRegistry);
+        this.deadLetteredDocuments = Counter.builder("faq.sync.dead.letters")
+                .description("FAQs moved to the dead-letter table after exhausting their sync attempts")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("faq.sync.chunk")
+                .description("Time spent syncing one chunk of FAQs to MongoDB")
+                .register(meterRegistry);
+        this.chunkThroughput = DistributionSummary.builder("faq.sync.throughput")
+                .description("FAQs marked as synced per second, measured per chunk")
+                .baseUnit("faqs/s")
+                .register(meterRegistry);
+        Gauge.builder("faq.sync.run.throughput", lastRunThroughput, AtomicReference::get)
+                .description("FAQs marked as synced per second during the last sync run")
+                .baseUnit("faqs/s")
+                .register(meterRegistry);
+        Gauge.builder("faq.sync.lag", this, FaqSyncServiceImpl::lagSeconds)
+                .description("Age of the oldest FAQ still waiting to be synced to MongoDB")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("faq.sync.in.flight", permits, available -> Math.max(1, faqSyncProps.getConcurrency())
+                        - available.availablePermits())
+                .description("Chunks currently being synced by worker threads")
+                .register(meterRegistry);
+    }
 
     @Override
-    public void syncFaqToMongo(Faq faq) {
-        transactionTemplate.execute(status -> {
-            try {
-                faqDocService.moveFaqToMongo(faq);
-                log.info("Successfully sync FAQ ID: {} to MongoDB", faq.getId());
-                return faq.getId();
-            } catch (Exception e) {
-                status.setRollbackOnly();
-                throw new RuntimeException("Sync failed for FAQ ID: " + faq.getId(), e);
+    public int syncAllUnsyncedFaqs() {
+
+        Set<Integer> owned = partitionLeaseService.ownedPartitions();
+        if (owned.isEmpty()) {
+            owned = partitionLeaseService.rebalance();
+        }
+        Set<Integer> partitions = new TreeSet<>(owned);
+        if (partitions.isEmpty()) {
+            log.debug("No FAQ sync partitions are leased by this node");
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        int scanned = 0;
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService workers = Executors.newThreadPerTaskExecutor(workerFactory)) {
+            for (Integer partition : partitions) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                scanned += dispatchPartition(workers, results, partition);
+            }
+        }
+
+        int synced = results.stream().mapToInt(Future::resultNow).sum();
+        long elapsed = System.nanoTime() - start;
+        lastRunThroughput.set(synced * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(elapsed, 1));
+        refreshLag();
+
+        if (scanned > 0) {
+            log.info("Successfully synced {} out of {} FAQs from partitions {} in {} ms", synced, scanned,
+                    partitions, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return synced;
+    }
+
+    private int dispatchPartition(ExecutorService workers, List<Future<Integer>> results, int partition) {
+
+        int chunkSize = Math.max(1, faqSyncProps.getChunkSize());
+        int partitionCount = partitionLeaseService.partitionCount();
+        int scanned = 0;
+        long afterId = 0;
+        while (partitionLeaseService.renew(partition)) {
+            List<Faq> chunk = readChunk(partitionCount, partition, afterId, chunkSize);
+            if (chunk.isEmpty() || !acquirePermit()) {
+                break;
             }
-        });
+            scanned += chunk.size();
+            results.add(workers.submit(() -> {
+                try {
+                    return syncChunk(chunk);
+                } finally {
+                    permits.release();
+                }
+            }));
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        return scanned;
     }
 
-    @Override
-    public List<Faq> findUnsyncedFaqs() {
-        return transactionTemplate.execute(status -> {
-            status.isReadOnly();
-            return faqRepository.findByInMongoFalse();
-        });
+    private List<Faq> readChunk(int partitionCount, int partition, long afterId, int chunkSize) {
+        List<Faq> chunk = transactionTemplate.execute(status ->
+                faqRepository.findUnsyncedAfter(afterId, partitionCount, partition, Limit.of(chunkSize)));
+        return chunk == null ? List.of() : chunk;
     }
 
-    @Override
-    public void syncAllUnsyncedFaqs() {
-        List<Faq> unsyncedFaqs = findUnsyncedFaqs();
-        if (unsyncedFaqs.isEmpty()) {
-            return;
+    private boolean acquirePermit() {
+        try {
+            permits.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
-        log.info("Found {} unsynced FAQs ", unsyncedFaqs.size());
-        int successCount = 0;
-        for (Faq faq : unsyncedFaqs) {
+    }
+
+    private int syncChunk(List<Faq> chunk) {
+
+        long start = System.nanoTime();
+        int written = 0;
+        int marked = 0;
+        List<Faq> pending = chunk;
+        for (int attempt = 1; !pending.isEmpty(); ++attempt) {
+
+            Set<Long> done = new HashSet<>();
+            String error = BULK_WRITE_REJECTED;
             try {
-                syncFaqToMongo(faq);
-                ++successCount;
+                List<Long> writtenIds = faqDocService.syncFaqDocs(pending);
+                marked += markInMongo(pending, writtenIds);
+                written += writtenIds.size();
+                done.addAll(writtenIds);
             } catch (Exception e) {
-                log.error("Failed to sync FAQ ID: {} to MongoDB", faq.getId(), e);
+                error = e.getClass().getName() + ": " + e.getMessage();
+                log.warn("Attempt {} to sync FAQ IDs {}..{} to MongoDB failed: {}", attempt,
+                        pending.get(0).getId(), pending.get(pending.size() - 1).getId(), error);
+            }
+
+            List<Faq> failed = pending.stream().filter(faq -> !done.contains(faq.getId())).toList();
+            if (failed.isEmpty()) {
+                break;
+            }
+            if (attempt >= faqSyncProps.getMaxAttempts()) {
+                deadLetter(failed, attempt, error);
+                break;
             }
+            retriedDocuments.increment(failed.size());
+            if (!sleep(backoff(attempt))) {
+                break;
+            }
+            pending = failed;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        chunkTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        chunkThroughput.record(marked * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(elapsed, 1));
+        syncedDocuments.increment(marked);
+        staleDocuments.increment(written - marked);
+        failedDocuments.increment(chunk.size() - written);
+
+        log.debug("Synced {} of {} FAQs in {} ms", marked, chunk.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return marked;
+    }
+
+    private int markInMongo(List<Faq> chunk, List<Long> writtenIds) {
+        if (writtenIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, LocalDateTime> versions = new HashMap<>(chunk.size() * 2);
+        chunk.forEach(faq -> versions.put(faq.getId(), faq.getUpdatedAt()));
+
+        Long[] ids = writtenIds.toArray(Long[]::new);
+        LocalDateTime[] updatedAt = new LocalDateTime[ids.length];
+        for (int i = 0; i < ids.length; ++i) {
+            updatedAt[i] = versions.get(ids[i]);
+        }
+        Integer marked = transactionTemplate.execute(status -> faqRepository.markAllInMongo(ids, updatedAt));
+        return marked == null ? 0 : marked;
+    }
+
+    private void deadLetter(List<Faq> faqs, int attempts, String error) {
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        List<FaqSyncDeadLetter> deadLetters = faqs.stream()
+                .map(faq -> FaqSyncDeadLetter.builder()
+                        .faqId(faq.getId())
+                        .faqUpdatedAt(faq.getUpdatedAt())
+                        .attempts(attempts)
+                        .lastError(lastError)
+                        .build())
+                .toList();
+        try {
+            transactionTemplate.execute(status -> faqSyncDeadLetterRepository.saveAll(deadLetters));
+            deadLetteredDocuments.increment(deadLetters.size());
+            log.error("Moved {} FAQs to the sync dead-letter table after {} attempts: {}",
+                    deadLetters.size(), attempts, lastError);
+        } catch (Exception e) {
+            log.error("Failed to dead-letter {} FAQs, they will be retried on the next run", deadLetters.size(), e);
         }
-        log.info("Successfully synced {} out of {} FAQs", successCount, unsyncedFaqs.size());
+    }
+
+    private Duration backoff(int attempt) {
+        long initial = faqSyncProps.getInitialBackoff().toMillis();
+        long max = faqSyncProps.getMaxBackoff().toMillis();
+        long exponential = Math.min(max, initial << Math.min(attempt - 1, 20));
+        if (exponential <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1));
+    }
+
+    private static boolean sleep(Duration delay) {
+        if (delay.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void refreshLag() {
+        Optional<LocalDateTime> oldest = transactionTemplate.execute(status ->
+                faqRepository.findOldestUnsyncedUpdatedAt());
+        oldestUnsynced.set(oldest == null ? null : oldest.orElse(null));
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = oldestUnsynced.get();
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    private static Counter documentCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("faq.sync.documents")
+                .description("FAQs processed by the bulk MongoDB sync")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
 }
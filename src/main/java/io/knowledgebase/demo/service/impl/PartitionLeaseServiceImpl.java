@@ -0,0 +1,184 @@
+package io.knowledgebase.demo.service.impl;
+
+import io.knowledgebase.demo.config.props.FaqSyncProps;
+import io.knowledgebase.demo.service.PartitionLeaseService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Log4j2
+@Service
+public class PartitionLeaseServiceImpl implements PartitionLeaseService {
+
+    private static final String LEASE_PREFIX = "faqSync-";
+    private static final String PARTITION_PREFIX = LEASE_PREFIX + "partition-";
+    private static final String NODE_PREFIX = LEASE_PREFIX + "node-";
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO shedlock (name, lock_until, locked_at, locked_by)
+            VALUES (?, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond', LOCALTIMESTAMP, ?)
+            ON CONFLICT (name) DO UPDATE
+            SET lock_until = EXCLUDED.lock_until, locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by
+            WHERE shedlock.lock_until <= LOCALTIMESTAMP OR shedlock.locked_by = EXCLUDED.locked_by
+            """;
+    private static final String RELEASE_SQL = """
+            UPDATE shedlock SET lock_until = LOCALTIMESTAMP
+            WHERE name = ? AND locked_by = ?
+            """;
+    private static final String LIVE_LEASES_SQL = """
+            SELECT name, locked_by FROM shedlock
+            WHERE name LIKE ? AND lock_until > LOCALTIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FaqSyncProps faqSyncProps;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile Set<Integer> owned = Set.of();
+    private volatile long ownedUntilNanos;
+    private volatile int liveNodes;
+
+    public PartitionLeaseServiceImpl(JdbcTemplate jdbcTemplate,
+                                     FaqSyncProps faqSyncProps,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.faqSyncProps = faqSyncProps;
+        Gauge.builder("faq.sync.partitions.owned", this, service -> service.owned.size())
+                .description("FAQ sync partitions leased by this node")
+                .register(meterRegistry);
+        Gauge.builder("faq.sync.nodes.live", this, service -> service.liveNodes)
+                .description("Nodes with a live FAQ sync heartbeat")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int partitionCount() {
+        return Math.max(1, faqSyncProps.getPartitions());
+    }
+
+    @Override
+    public Set<Integer> rebalance() {
+
+        long leaseMillis = faqSyncProps.getLeaseDuration().toMillis();
+        long validUntil = System.nanoTime() + faqSyncProps.getLeaseDuration().toNanos();
+        int partitions = partitionCount();
+
+        claim(NODE_PREFIX + nodeId, leaseMillis);
+
+        Set<String> nodes = new HashSet<>();
+        Set<Integer> held = new TreeSet<>();
+        Set<Integer> busy = new HashSet<>();
+        for (Map<String, Object> lease : jdbcTemplate.queryForList(LIVE_LEASES_SQL, LEASE_PREFIX + "%")) {
+            String name = (String) lease.get("name");
+            String lockedBy = (String) lease.get("locked_by");
+            if (name.startsWith(NODE_PREFIX)) {
+                nodes.add(lockedBy);
+            } else if (name.startsWith(PARTITION_PREFIX)) {
+                int partition = partitionOf(name);
+                if (partition < 0 || partition >= partitions) {
+                    continue;
+                }
+                busy.add(partition);
+                if (nodeId.equals(lockedBy)) {
+                    held.add(partition);
+                }
+            }
+        }
+        nodes.add(nodeId);
+        liveNodes = nodes.size();
+        int fairShare = (partitions + liveNodes - 1) / liveNodes;
+
+        Set<Integer> kept = new TreeSet<>();
+        for (Integer partition : held) {
+            if (kept.size() >= fairShare) {
+                release(partition);
+            } else if (claim(PARTITION_PREFIX + partition, leaseMillis)) {
+                kept.add(partition);
+            }
+        }
+
+        int offset = Math.floorMod(nodeId.hashCode(), partitions);
+        for (int i = 0; i < partitions && kept.size() < fairShare; ++i) {
+            int partition = (offset + i) % partitions;
+            if (!busy.contains(partition) && claim(PARTITION_PREFIX + partition, leaseMillis)) {
+                kept.add(partition);
+            }
+        }
+
+        if (!kept.equals(owned)) {
+            log.info("FAQ sync partitions owned by node {}: {} of {} across {} live nodes",
+                    nodeId, kept, partitions, liveNodes);
+        }
+        owned = Set.copyOf(kept);
+        ownedUntilNanos = validUntil;
+        return owned;
+    }
+
+    @Override
+    public Set<Integer> ownedPartitions() {
+        return System.nanoTime() - ownedUntilNanos < 0 ? owned : Set.of();
+    }
+
+    @Override
+    public boolean holds(int partition) {
+        return ownedPartitions().contains(partition);
+    }
+
+    @Override
+    public boolean renew(int partition) {
+        Set<Integer> current = owned;
+        if (!current.contains(partition)) {
+            return false;
+        }
+        if (claim(PARTITION_PREFIX + partition, faqSyncProps.getLeaseDuration().toMillis())) {
+            return true;
+        }
+        Set<Integer> remaining = new TreeSet<>(current);
+        remaining.remove(partition);
+        owned = Set.copyOf(remaining);
+        log.warn("FAQ sync partition {} was taken over by another node", partition);
+        return false;
+    }
+
+    @Override
+    @PreDestroy
+    public void releaseAll() {
+        Set<Integer> released = owned;
+        owned = Set.of();
+        if (liveNodes == 0) {
+            return;
+        }
+        try {
+            released.forEach(this::release);
+            jdbcTemplate.update(RELEASE_SQL, NODE_PREFIX + nodeId, nodeId);
+            log.info("Released FAQ sync partitions {} held by node {}", released, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release FAQ sync partitions {}, they will expire on their own", released, e);
+        }
+    }
+
+    private boolean claim(String name, long leaseMillis) {
+        return jdbcTemplate.update(CLAIM_SQL, name, leaseMillis, nodeId) > 0;
+    }
+
+    private void release(int partition) {
+        jdbcTemplate.update(RELEASE_SQL, PARTITION_PREFIX + partition, nodeId);
+    }
+
+    private static int partitionOf(String name) {
+        try {
+            return Integer.parseInt(name.substring(PARTITION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
@@ -4,39 +4,78 @@ import io.knowledgebase.demo.document.FaqDoc;
 import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
 import io.knowledgebase.demo.exception.FaqDocException;
 import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocId;
 import io.knowledgebase.demo.service.TrieRedisSearchService;
 import io.knowledgebase.demo.service.cache.FaqDocCacheService;
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.IndexReplicator;
+import io.knowledgebase.demo.service.trie.SearchPlanner;
 import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.TrieSnapshot;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.knowledgebase.demo.service.trie.posting.ScoreAccumulator;
+import io.knowledgebase.demo.service.trie.replication.IndexChangeEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class TrieRedisSearchServiceImpl implements TrieRedisSearchService {
 
+    private static final int MAX_SEARCH_LIMIT = 200;
+    private static final int MAX_PENDING_MISSING_IDS = 10_000;
+
     private final TrieService trieService;
     private final FaqDocCacheService faqDocCacheService;
+    private final FaqDocRepository faqDocRepository;
     private final KeywordNormalizer keywordNormalizer;
+    private final SearchResultCacheService searchResultCacheService;
+    private final ActiveFaqFilter activeFaqFilter;
+    private final SearchPlanner searchPlanner;
+    private final IndexReplicator indexReplicator;
+    private final Set<Long> missingFaqIds = ConcurrentHashMap.newKeySet();
+    // Bounded, so idle request threads do not each pin an accumulator; clear() shrinks oversized ones
+    private final Queue<ScoreAccumulator> scorePool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
 
     @Override
-    public List<FaqPreviewDto> search(String query) {
+    public List<FaqPreviewDto> search(String query, int limit, int offset) {
 
-        List<String> processedTerms = processSearchQuery(query);
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT || offset < 0) {
+            throw FaqDocException.invalidSearchPage(MAX_SEARCH_LIMIT, limit, offset);
+        }
 
-        List<Set<Long>> searchResults = performParallelSearch(processedTerms);
+        List<String> processedTerms = keywordNormalizer.tokenize(query);
 
-        Map<Long, Integer> weightedResults = calculateDocumentWeights(searchResults);
+        SearchResultCacheService.Key key = new SearchResultCacheService.Key(
+                processedTerms.stream().sorted().toList(), limit, offset
+        );
+        long generation = searchResultCacheService.generation();
+        List<FaqPreviewDto> cached = searchResultCacheService.get(key);
+        if (cached != null) {
+            return cached;
+        }
 
-        return buildResponse(weightedResults);
+        List<FaqPreviewDto> result = searchIndex(processedTerms, limit, offset);
+        searchResultCacheService.put(key, generation, result);
+        return result;
     }
 
     @Override
@@ -44,12 +83,15 @@ public class TrieRedisSearchServiceImpl implements TrieRedisSearchService {
 
         log.debug("Indexing FAQ doc with ID: {}", faqDoc.getId());
 
-        faqDoc.getKeywords().stream()
-                .map(keywordNormalizer::normalize)
-                .filter(keywordNormalizer::isValid)
-                .forEach(keyword -> trieService.insert(keyword, faqDoc.getId()));
+        List<String> keywords = normalizedKeywords(faqDoc);
+        trieService.insertAllNormalized(Map.of(faqDoc.getId(), keywords));
+        activeFaqFilter.update(faqDoc.getId(), faqDoc.getActive());
 
         faqDocCacheService.cacheFaqDocument(faqDoc);
+        searchResultCacheService.invalidate();
+        indexReplicator.publish(IndexChangeEvent.of(
+                IndexChangeEvent.Type.INDEX, faqDoc.getId(), faqDoc.getUpdatedAt(), faqDoc.getActive(), keywords
+        ));
 
         log.debug("Successfully indexed FAQ doc with ID: {}", faqDoc.getId());
     }
@@ -59,57 +101,160 @@ public class TrieRedisSearchServiceImpl implements TrieRedisSearchService {
 
         log.debug("Unindexing FAQ doc with ID: {}", faqDoc.getId());
 
-        faqDoc.getKeywords().stream()
-                .map(keywordNormalizer::normalize)
-                .filter(keywordNormalizer::isValid)
-                .forEach(keyword -> trieService.remove(keyword, faqDoc.getId()));
+        List<String> keywords = normalizedKeywords(faqDoc);
+        keywords.forEach(keyword -> trieService.removeNormalized(keyword, faqDoc.getId()));
+        activeFaqFilter.remove(faqDoc.getId());
 
         faqDocCacheService.evictFaqDocument(faqDoc.getId());
+        searchResultCacheService.invalidate();
+        indexReplicator.publish(IndexChangeEvent.of(
+                IndexChangeEvent.Type.UNINDEX, faqDoc.getId(), faqDoc.getUpdatedAt(), faqDoc.getActive(), keywords
+        ));
 
         log.debug("Successfully unindexed FAQ doc with ID: {}", faqDoc.getId());
     }
 
     @Override
-    public void sanitizeTrie() {
-        trieService.cleanupOrphanedNodes();
+    public void reindexFaqDocs(Collection<FaqDoc> previous, Collection<FaqDoc> current) {
+
+        if (previous.isEmpty() && current.isEmpty()) {
+            return;
+        }
+
+        for (FaqDoc faqDoc : previous) {
+            List<String> keywords = normalizedKeywords(faqDoc);
+            keywords.forEach(keyword -> trieService.removeNormalized(keyword, faqDoc.getId()));
+            activeFaqFilter.remove(faqDoc.getId());
+            indexReplicator.publish(IndexChangeEvent.of(
+                    IndexChangeEvent.Type.UNINDEX, faqDoc.getId(), faqDoc.getUpdatedAt(), faqDoc.getActive(), keywords
+            ));
+        }
+        Map<Long, List<String>> inserted = new HashMap<>(current.size() * 2);
+        for (FaqDoc faqDoc : current) {
+            List<String> keywords = normalizedKeywords(faqDoc);
+            inserted.put(faqDoc.getId(), keywords);
+            activeFaqFilter.update(faqDoc.getId(), faqDoc.getActive());
+            indexReplicator.publish(IndexChangeEvent.of(
+                    IndexChangeEvent.Type.INDEX, faqDoc.getId(), faqDoc.getUpdatedAt(), faqDoc.getActive(), keywords
+            ));
+        }
+
+        trieService.insertAllNormalized(inserted);
+
+        faqDocCacheService.cacheFaqDocuments(current);
+        searchResultCacheService.invalidate();
+
+        log.debug("Reindexed {} FAQ docs, replacing {} previous versions", current.size(), previous.size());
     }
 
-    private List<String> processSearchQuery(String query) {
-        return Arrays.stream(query.split("\\s+"))
+    @Override
+    public int unindexMissingFaqDocs() {
+
+        if (missingFaqIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> candidates = new ArrayList<>(missingFaqIds);
+        missingFaqIds.removeAll(candidates);
+
+        PostingList missing = PostingList.of(candidates.stream().mapToLong(Long::longValue).toArray());
+        faqDocRepository.findByIdIn(candidates, FaqDocId.class).forEach(doc -> missing.remove(doc.getId()));
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        trieService.keywordsOf(missing).forEach((keyword, faqIds) ->
+                faqIds.forEach(id -> trieService.removeNormalized(keyword, id)));
+        missing.forEach(activeFaqFilter::remove);
+        searchResultCacheService.invalidate();
+
+        int unindexed = Math.toIntExact(missing.cardinality());
+        log.info("Unindexed {} FAQ docs missing from the document store", unindexed);
+        return unindexed;
+    }
+
+    private List<String> normalizedKeywords(FaqDoc faqDoc) {
+        return faqDoc.getKeywords().stream()
                 .map(keywordNormalizer::normalize)
                 .filter(keywordNormalizer::isValid)
+                .distinct()
                 .toList();
     }
 
-    private List<Set<Long>> performParallelSearch(List<String> searchTerms) {
-        return searchTerms.parallelStream()
-                .map(trieService::search)
-                .toList();
+    private List<FaqPreviewDto> searchIndex(List<String> processedTerms, int limit, int offset) {
+
+        TrieSnapshot snapshot = trieService.snapshot();
+
+        List<PostingList> searchResults = searchPlanner.lookup(snapshot, processedTerms);
+
+        log.debug("Terms {} answered by trie version {}", processedTerms, snapshot.version());
+
+        if (searchResults.stream().allMatch(PostingList::isEmpty)) {
+            return Collections.emptyList();
+        }
+
+        ScoreAccumulator scores = Objects.requireNonNullElseGet(scorePool.poll(), ScoreAccumulator::new);
+        try {
+            searchResults.forEach(scores::addAll);
+            return collectPage(scores, limit, offset);
+        } finally {
+            scores.clear();
+            scorePool.offer(scores);
+        }
     }
 
-    private Map<Long, Integer> calculateDocumentWeights(List<Set<Long>> searchResults) {
-        return searchResults.parallelStream()
-                .flatMap(Set::stream)
-                .collect(Collectors.groupingBy(
-                        id -> id,
-                        Collectors.summingInt(id -> 1)
-                ));
+    // Walks the ranking from the top, dropping ids without an active preview, and fetches further
+    // ranks until the page is full, so neither the page size nor the offsets depend on stale hits
+    private List<FaqPreviewDto> collectPage(ScoreAccumulator scores, int limit, int offset) {
+
+        if (offset >= scores.size()) {
+            return Collections.emptyList();
+        }
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        List<FaqPreviewDto> page = new ArrayList<>(limit);
+        int skipped = 0;
+        int examined = 0;
+        int k = wanted;
+        while (true) {
+            long[] rankedIds = scores.topK(k);
+            List<Long> candidates = Arrays.stream(rankedIds, examined, rankedIds.length)
+                    .filter(id -> !missingFaqIds.contains(id))
+                    .boxed()
+                    .toList();
+            examined = rankedIds.length;
+            for (FaqPreviewDto preview : readActivePreviews(candidates)) {
+                if (skipped < offset) {
+                    ++skipped;
+                } else if (page.size() < limit) {
+                    page.add(preview);
+                }
+            }
+            if (page.size() == limit || rankedIds.length < k || k == Integer.MAX_VALUE) {
+                return List.copyOf(page);
+            }
+            k = (int) Math.min(2L * k, Integer.MAX_VALUE);
+        }
     }
 
-    private List<FaqPreviewDto> buildResponse(Map<Long, Integer> weightedResults) {
-        return weightedResults.entrySet().parallelStream()
-                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
-                .map(this::mapToFaqDocResponse)
+    private List<FaqPreviewDto> readActivePreviews(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, FaqPreviewDto> previews = faqDocCacheService.readFaqDocuments(ids);
+        if (previews.size() < ids.size()) {
+            reportMissing(ids, previews);
+        }
+        return ids.stream()
+                .map(previews::get)
                 .filter(Objects::nonNull)
                 .filter(this::isFaqActive)
                 .toList();
     }
 
-    private FaqPreviewDto mapToFaqDocResponse(Map.Entry<Long, Integer> entry) {
-        try {
-            return faqDocCacheService.readFaqDocument(entry.getKey());
-        } catch (FaqDocException e) {
-            return null;
+    private void reportMissing(List<Long> ids, Map<Long, FaqPreviewDto> previews) {
+        for (Long id : ids) {
+            if (!previews.containsKey(id) && missingFaqIds.size() < MAX_PENDING_MISSING_IDS) {
+                missingFaqIds.add(id);
+            }
         }
     }
 
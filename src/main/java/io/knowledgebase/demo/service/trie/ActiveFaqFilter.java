@@ -0,0 +1,15 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+
+public interface ActiveFaqFilter {
+
+    void reload();
+
+    void update(Long faqId, Boolean active);
+
+    void remove(Long faqId);
+
+    PostingList retainActive(PostingList candidates);
+
+}
@@ -0,0 +1,15 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.service.trie.replication.IndexChangeEvent;
+
+public interface IndexReplicator {
+
+    void publish(IndexChangeEvent event);
+
+    long suspend();
+
+    void resume(long sequence);
+
+    boolean catchUpIfStalled();
+
+}
@@ -0,0 +1,215 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+@Getter
+public final class RadixTrieNode {
+
+    private static final int LINEAR_PROBE_LIMIT = 8;
+    private static final int MATERIALIZE_THRESHOLD = 32;
+    private static final char[] EMPTY_LABEL = new char[0];
+    private static final char[] EMPTY_KEYS = new char[0];
+    private static final RadixTrieNode[] EMPTY_CHILDREN = new RadixTrieNode[0];
+
+    private final char[] label;
+    private final char[] keys;
+    private final RadixTrieNode[] children;
+    private final PostingList postings;
+    private final int terminalCount;
+    @Getter(AccessLevel.NONE)
+    private volatile PostingList subtreePostings;
+
+    public RadixTrieNode(char[] label, char[] keys, RadixTrieNode[] children, PostingList postings) {
+        this.label = label;
+        this.keys = keys;
+        this.children = children;
+        this.postings = postings;
+        int count = postings != null ? 1 : 0;
+        for (RadixTrieNode child : children) {
+            count += child.terminalCount;
+        }
+        this.terminalCount = count;
+    }
+
+    public static RadixTrieNode root() {
+        return new RadixTrieNode(EMPTY_LABEL, EMPTY_KEYS, EMPTY_CHILDREN, null);
+    }
+
+    public static RadixTrieNode leaf(char[] label, PostingList postings) {
+        return new RadixTrieNode(label, EMPTY_KEYS, EMPTY_CHILDREN, postings);
+    }
+
+    public static RadixTrieNode fromSorted(String[] words, PostingList[] postings) {
+        return build(EMPTY_LABEL, words, postings, 0, words.length, 0);
+    }
+
+    public boolean isTerminal() {
+        return postings != null;
+    }
+
+    public int indexOf(char key) {
+        if (keys.length <= LINEAR_PROBE_LIMIT) {
+            for (int i = 0; i < keys.length; ++i) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int index = Arrays.binarySearch(keys, key);
+        return index < 0 ? -1 : index;
+    }
+
+    public PostingList subtreePostings() {
+        PostingList union = subtreePostings;
+        if (union != null) {
+            return union;
+        }
+        if (children.length == 0) {
+            return postings != null ? postings : new PostingList();
+        }
+        union = postings != null ? postings.copy() : new PostingList();
+        for (RadixTrieNode child : children) {
+            union.or(child.subtreePostings());
+        }
+        if (terminalCount >= MATERIALIZE_THRESHOLD) {
+            subtreePostings = union;
+        }
+        return union;
+    }
+
+    // Only subtrees large enough to keep a union can be ruled out; smaller ones are cheap to walk
+    public boolean mayIntersect(PostingList ids) {
+        return terminalCount < MATERIALIZE_THRESHOLD || subtreePostings().intersects(ids);
+    }
+
+    public boolean subtreeContains(long id) {
+        PostingList union = subtreePostings;
+        if (union != null) {
+            return union.contains(id);
+        }
+        if (postings != null && postings.contains(id)) {
+            return true;
+        }
+        for (RadixTrieNode child : children) {
+            if (child.subtreeContains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public RadixTrieNode inheritSubtreePostings(RadixTrieNode previous, PostingList added) {
+        PostingList union = previous.subtreePostings;
+        if (union != null && terminalCount >= MATERIALIZE_THRESHOLD) {
+            subtreePostings = union.withAll(added);
+        }
+        return this;
+    }
+
+    // Keeps the cached union across a removal; the id stays in it while another keyword below still holds it
+    public RadixTrieNode inheritSubtreePostings(RadixTrieNode previous, long removed, boolean stillIndexed) {
+        PostingList union = previous.subtreePostings;
+        if (union != null && terminalCount >= MATERIALIZE_THRESHOLD) {
+            subtreePostings = stillIndexed ? union : union.without(removed);
+        }
+        return this;
+    }
+
+    public RadixTrieNode withPostings(PostingList newPostings) {
+        return new RadixTrieNode(label, keys, children, newPostings);
+    }
+
+    public RadixTrieNode withChild(int index, RadixTrieNode child) {
+        RadixTrieNode[] newChildren = children.clone();
+        newChildren[index] = child;
+        return new RadixTrieNode(label, keys, newChildren, postings);
+    }
+
+    public RadixTrieNode withoutChild(int index) {
+        char[] newKeys = new char[keys.length - 1];
+        RadixTrieNode[] newChildren = new RadixTrieNode[children.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(children, 0, newChildren, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+        return new RadixTrieNode(label, newKeys, newChildren, postings);
+    }
+
+    public RadixTrieNode withAddedChild(RadixTrieNode child) {
+        char key = child.label[0];
+        int insertAt = 0;
+        while (insertAt < keys.length && keys[insertAt] < key) {
+            ++insertAt;
+        }
+        char[] newKeys = new char[keys.length + 1];
+        RadixTrieNode[] newChildren = new RadixTrieNode[children.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        System.arraycopy(children, 0, newChildren, 0, insertAt);
+        newKeys[insertAt] = key;
+        newChildren[insertAt] = child;
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+        return new RadixTrieNode(label, newKeys, newChildren, postings);
+    }
+
+    public RadixTrieNode split(int at) {
+        RadixTrieNode tail = new RadixTrieNode(Arrays.copyOfRange(label, at, label.length), keys, children, postings);
+        return new RadixTrieNode(
+                Arrays.copyOfRange(label, 0, at),
+                new char[]{tail.label[0]},
+                new RadixTrieNode[]{tail},
+                null
+        );
+    }
+
+    public RadixTrieNode mergeWithOnlyChild() {
+        if (children.length != 1 || isTerminal()) {
+            return this;
+        }
+        RadixTrieNode child = children[0];
+        char[] merged = Arrays.copyOf(label, label.length + child.label.length);
+        System.arraycopy(child.label, 0, merged, label.length, child.label.length);
+        RadixTrieNode result = new RadixTrieNode(merged, child.keys, child.children, child.postings);
+        result.subtreePostings = child.subtreePostings;
+        return result;
+    }
+
+    private static RadixTrieNode build(char[] label, String[] words, PostingList[] postings,
+                                       int from, int to, int depth) {
+        PostingList terminal = null;
+        if (from < to && words[from].length() == depth) {
+            terminal = postings[from++];
+        }
+        char[] childKeys = new char[Math.min(to - from, LINEAR_PROBE_LIMIT)];
+        RadixTrieNode[] childNodes = new RadixTrieNode[childKeys.length];
+        int count = 0;
+        for (int i = from; i < to; ) {
+            String first = words[i];
+            char key = first.charAt(depth);
+            int j = i + 1;
+            while (j < to && words[j].charAt(depth) == key) {
+                ++j;
+            }
+            String last = words[j - 1];
+            int end = depth + 1;
+            int max = Math.min(first.length(), last.length());
+            while (end < max && first.charAt(end) == last.charAt(end)) {
+                ++end;
+            }
+            if (count == childKeys.length) {
+                childKeys = Arrays.copyOf(childKeys, count * 2);
+                childNodes = Arrays.copyOf(childNodes, count * 2);
+            }
+            childKeys[count] = key;
+            childNodes[count++] = build(first.substring(depth, end).toCharArray(), words, postings, i, j, end);
+            i = j;
+        }
+        return new RadixTrieNode(label, Arrays.copyOf(childKeys, count), Arrays.copyOf(childNodes, count), terminal);
+    }
+
+}
@@ -0,0 +1,11 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+
+import java.util.List;
+
+public interface SearchPlanner {
+
+    List<PostingList> lookup(TrieSnapshot snapshot, List<String> normalizedTerms);
+
+}
@@ -1,21 +1,30 @@
 package io.knowledgebase.demo.service.trie;
 
+import io.knowledgebase.demo.service.trie.posting.PostingList;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TrieNode {
+    // Published nodes are never modified; writers copy the path they change
     @Builder.Default
-    private Map<Character, TrieNode> children = new ConcurrentHashMap<>();
+    private Map<Character, TrieNode> children = new HashMap<>();
+    // Every id indexed under this prefix, answering prefix searches directly
     @Builder.Default
-    private Set<Long> faqIds = ConcurrentHashMap.newKeySet();
+    private PostingList faqIds = new PostingList();
+    // Only the ids whose keyword ends at this node
+    @Builder.Default
+    private PostingList terminalIds = new PostingList();
+
+    public TrieNode copy() {
+        return new TrieNode(new HashMap<>(children), faqIds, terminalIds);
+    }
 }
@@ -0,0 +1,9 @@
+package io.knowledgebase.demo.service.trie;
+
+public interface TriePersistenceService {
+
+    boolean restore();
+
+    void persist();
+
+}
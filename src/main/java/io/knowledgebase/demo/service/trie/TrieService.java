@@ -1,17 +1,41 @@
 package io.knowledgebase.demo.service.trie;
 
-import java.util.Set;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 public interface TrieService {
 
     void init();
 
+    void rebuild();
+
     void insert(String word, Long faqId);
 
-    Set<Long> search(String word);
+    void insertNormalized(String normalizedWord, Long faqId);
+
+    void insertAllNormalized(Map<Long, ? extends Collection<String>> normalizedKeywords);
+
+    void installNormalized(Map<String, PostingList> postings);
+
+    void forEachNormalized(BiConsumer<String, PostingList> consumer);
+
+    Map<String, PostingList> keywordsOf(PostingList faqIds);
+
+    PostingList search(String word);
+
+    PostingList searchNormalized(String normalizedWord);
+
+    TrieSnapshot snapshot();
 
     void remove(String word, Long faqId);
 
+    void removeNormalized(String normalizedWord, Long faqId);
+
+    void removeAll(Collection<Long> faqIds);
+
     void cleanupOrphanedNodes();
 
 }
@@ -0,0 +1,13 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+
+public interface TrieSnapshot {
+
+    long version();
+
+    PostingList search(String word);
+
+    PostingList searchNormalized(String normalizedWord);
+
+}
@@ -0,0 +1,212 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Log4j2
+public abstract class AbstractTrieService<S extends AbstractTrieService.Shard<S>> implements TrieService {
+
+    private static final int BUILD_BATCH_SIZE = 1024;
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    protected final FaqDocRepository faqDocRepository;
+    protected final KeywordNormalizer keywordNormalizer;
+    protected final Counter reclaimedNodes;
+    protected final Timer removeTimer;
+    private final Counter buildDocuments;
+    private final Counter buildKeywords;
+    private final Timer buildTimer;
+
+    protected AbstractTrieService(FaqDocRepository faqDocRepository,
+                                  KeywordNormalizer keywordNormalizer,
+                                  MeterRegistry meterRegistry) {
+        this.faqDocRepository = faqDocRepository;
+        this.keywordNormalizer = keywordNormalizer;
+        this.reclaimedNodes = Counter.builder("trie.reclaimed.nodes")
+                .description("Trie nodes released by remove and cleanup")
+                .register(meterRegistry);
+        this.removeTimer = Timer.builder("trie.remove")
+                .description("Time spent removing a keyword, including path reclamation")
+                .register(meterRegistry);
+        this.buildDocuments = Counter.builder("trie.build.documents")
+                .description("FAQ documents indexed by the initial trie build")
+                .register(meterRegistry);
+        this.buildKeywords = Counter.builder("trie.build.keywords")
+                .description("Keywords indexed by the initial trie build")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("trie.build")
+                .description("Time spent building the trie from the FAQ document store")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void init() {
+        build(this::install);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void rebuild() {
+        build(this::replace);
+    }
+
+    @Override
+    public void insert(String word, Long faqId) {
+        insertNormalized(keywordNormalizer.normalize(word), faqId);
+    }
+
+    @Override
+    public void insertAllNormalized(Map<Long, ? extends Collection<String>> normalizedKeywords) {
+        if (normalizedKeywords.isEmpty()) {
+            return;
+        }
+        S shard = newShard();
+        normalizedKeywords.forEach((faqId, keywords) -> keywords.forEach(keyword -> {
+            if (keywordNormalizer.isValid(keyword)) {
+                shard.add(keyword, faqId);
+            }
+        }));
+        install(shard);
+    }
+
+    @Override
+    public void installNormalized(Map<String, PostingList> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        S shard = newShard();
+        postings.forEach((keyword, faqIds) -> {
+            if (keywordNormalizer.isValid(keyword) && !faqIds.isEmpty()) {
+                shard.addAll(keyword, faqIds);
+            }
+        });
+        install(shard);
+    }
+
+    @Override
+    public PostingList search(String word) {
+        return searchNormalized(keywordNormalizer.normalize(word));
+    }
+
+    @Override
+    public void remove(String word, Long faqId) {
+        removeNormalized(keywordNormalizer.normalize(word), faqId);
+    }
+
+    protected abstract S newShard();
+
+    protected abstract void install(S shard);
+
+    protected abstract void replace(S shard);
+
+    private void build(Consumer<S> target) {
+
+        log.info("Initializing {} with FAQ documents...", getClass().getSimpleName());
+
+        Timer.Sample sample = Timer.start();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<S> shards = Stream.generate(this::newShard).limit(parallelism).toList();
+        long processedCount = 0;
+
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism);
+             Stream<FaqDocKeywords> docs = faqDocRepository.streamAllBy(FaqDocKeywords.class)) {
+
+            ForkJoinTask<?> pending = null;
+            List<FaqDocKeywords> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+            Iterator<FaqDocKeywords> iterator = docs.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() < BUILD_BATCH_SIZE && iterator.hasNext()) {
+                    continue;
+                }
+                if (pending != null) {
+                    pending.join();
+                }
+                pending = pool.submit(indexBatch(batch, shards));
+                long previousCount = processedCount;
+                processedCount += batch.size();
+                if (processedCount / PROGRESS_INTERVAL != previousCount / PROGRESS_INTERVAL) {
+                    log.info("Read {} FAQ documents for {}", processedCount, getClass().getSimpleName());
+                }
+                batch = new ArrayList<>(BUILD_BATCH_SIZE);
+            }
+            if (pending != null) {
+                pending.join();
+            }
+
+            target.accept(pool.invoke(ForkJoinTask.adapt(() -> merge(shards, 0, shards.size()))));
+        } finally {
+            sample.stop(buildTimer);
+        }
+
+        log.info("Initialized {} with {} documents", getClass().getSimpleName(), processedCount);
+    }
+
+    private ForkJoinTask<?> indexBatch(List<FaqDocKeywords> batch, List<S> shards) {
+        return ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(IntStream.range(0, shards.size())
+                .mapToObj(i -> ForkJoinTask.adapt(() -> indexSlice(
+                        batch.subList(i * batch.size() / shards.size(), (i + 1) * batch.size() / shards.size()),
+                        shards.get(i)
+                )))
+                .toList()));
+    }
+
+    private void indexSlice(List<FaqDocKeywords> docs, S shard) {
+        int keywords = 0;
+        for (FaqDocKeywords doc : docs) {
+            if (doc.getKeywords() == null) {
+                continue;
+            }
+            for (String keyword : doc.getKeywords()) {
+                String normalized = keywordNormalizer.normalize(keyword);
+                if (keywordNormalizer.isValid(normalized)) {
+                    shard.add(normalized, doc.getId());
+                    ++keywords;
+                }
+            }
+        }
+        buildDocuments.increment(docs.size());
+        buildKeywords.increment(keywords);
+    }
+
+    private S merge(List<S> shards, int from, int to) {
+        if (to - from == 1) {
+            return shards.get(from);
+        }
+        int middle = (from + to) >>> 1;
+        ForkJoinTask<S> left = ForkJoinTask.adapt(() -> merge(shards, from, middle)).fork();
+        S right = merge(shards, middle, to);
+        return left.join().merge(right);
+    }
+
+    protected interface Shard<S extends Shard<S>> {
+
+        void add(String normalizedWord, long faqId);
+
+        void addAll(String normalizedWord, PostingList faqIds);
+
+        S merge(S other);
+
+    }
+
+}
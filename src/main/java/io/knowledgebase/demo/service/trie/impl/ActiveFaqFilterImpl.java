@@ -0,0 +1,84 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocId;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Log4j2
+@Service
+public class ActiveFaqFilterImpl implements ActiveFaqFilter {
+
+    private final FaqDocRepository faqDocRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PostingList inactive = new PostingList();
+
+    public ActiveFaqFilterImpl(FaqDocRepository faqDocRepository, MeterRegistry meterRegistry) {
+        this.faqDocRepository = faqDocRepository;
+        Gauge.builder("trie.inactive.documents", this, ActiveFaqFilterImpl::inactiveCount)
+                .description("Indexed FAQ documents excluded from search results because they are inactive")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void reload() {
+        PostingList loaded = new PostingList();
+        try (Stream<FaqDocId> ids = faqDocRepository.streamByActive(false, FaqDocId.class)) {
+            ids.forEach(doc -> loaded.add(doc.getId()));
+        }
+        lock.writeLock().lock();
+        try {
+            inactive = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} inactive FAQ docs into the search filter", loaded.cardinality());
+    }
+
+    @Override
+    public void update(Long faqId, Boolean active) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.FALSE.equals(active)) {
+                inactive.add(faqId);
+            } else {
+                inactive.remove(faqId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long faqId) {
+        update(faqId, true);
+    }
+
+    @Override
+    public PostingList retainActive(PostingList candidates) {
+        lock.readLock().lock();
+        try {
+            return inactive.isEmpty() || candidates.isEmpty() ? candidates : candidates.andNot(inactive);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double inactiveCount() {
+        lock.readLock().lock();
+        try {
+            return inactive.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.config.props.SearchExecutorProps;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.SearchPlanner;
+import io.knowledgebase.demo.service.trie.TrieSnapshot;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Service
+public class CostBasedSearchPlanner implements SearchPlanner {
+
+    private static final char WILDCARD = '*';
+    private static final double EXACT_INITIAL_ESTIMATE = 64;
+    private static final double ESTIMATE_ALPHA = 0.2;
+
+    private final ActiveFaqFilter activeFaqFilter;
+    private final Executor searchExecutor;
+    private final long parallelMinPostings;
+    private final Counter sequentialLookups;
+    private final Counter parallelLookups;
+    private final Counter sequentialFilters;
+    private final Counter parallelFilters;
+    private volatile double exactEstimate = EXACT_INITIAL_ESTIMATE;
+    private volatile double wildcardEstimate;
+
+    @Autowired
+    public CostBasedSearchPlanner(ActiveFaqFilter activeFaqFilter,
+                                  SearchExecutorProps searchExecutorProps,
+                                  MeterRegistry meterRegistry) {
+        this(activeFaqFilter, newSearchExecutor(searchExecutorProps, meterRegistry), searchExecutorProps, meterRegistry);
+    }
+
+    public CostBasedSearchPlanner(ActiveFaqFilter activeFaqFilter,
+                                  Executor searchExecutor,
+                                  SearchExecutorProps searchExecutorProps,
+                                  MeterRegistry meterRegistry) {
+        this.activeFaqFilter = activeFaqFilter;
+        this.searchExecutor = searchExecutor;
+        this.parallelMinPostings = searchExecutorProps.getParallelMinPostings();
+        this.wildcardEstimate = searchExecutorProps.getWildcardInitialEstimate();
+        this.sequentialLookups = planCounter(meterRegistry, "lookup", "sequential");
+        this.parallelLookups = planCounter(meterRegistry, "lookup", "parallel");
+        this.sequentialFilters = planCounter(meterRegistry, "filter", "sequential");
+        this.parallelFilters = planCounter(meterRegistry, "filter", "parallel");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (searchExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    @Override
+    public List<PostingList> lookup(TrieSnapshot snapshot, List<String> normalizedTerms) {
+
+        List<PostingList> postings;
+        if (worthForking(normalizedTerms.size(), estimate(normalizedTerms))) {
+            parallelLookups.increment();
+            postings = fork(normalizedTerms, snapshot::searchNormalized);
+        } else {
+            sequentialLookups.increment();
+            postings = normalizedTerms.stream().map(snapshot::searchNormalized).toList();
+        }
+        observe(normalizedTerms, postings);
+
+        return retainActive(postings);
+    }
+
+    private List<PostingList> retainActive(List<PostingList> postings) {
+        long cardinality = 0;
+        for (PostingList posting : postings) {
+            cardinality += posting.cardinality();
+        }
+        if (worthForking(postings.size(), cardinality)) {
+            parallelFilters.increment();
+            return fork(postings, activeFaqFilter::retainActive);
+        }
+        sequentialFilters.increment();
+        return postings.stream().map(activeFaqFilter::retainActive).toList();
+    }
+
+    private boolean worthForking(int tasks, double cost) {
+        return tasks > 1 && cost >= parallelMinPostings;
+    }
+
+    private double estimate(List<String> normalizedTerms) {
+        double cost = 0;
+        for (String term : normalizedTerms) {
+            cost += isWildcard(term) ? wildcardEstimate : exactEstimate;
+        }
+        return cost;
+    }
+
+    private void observe(List<String> normalizedTerms, List<PostingList> postings) {
+        for (int i = 0; i < normalizedTerms.size(); ++i) {
+            long observed = postings.get(i).cardinality();
+            if (isWildcard(normalizedTerms.get(i))) {
+                wildcardEstimate += ESTIMATE_ALPHA * (observed - wildcardEstimate);
+            } else {
+                exactEstimate += ESTIMATE_ALPHA * (observed - exactEstimate);
+            }
+        }
+    }
+
+    private <T> List<PostingList> fork(List<T> inputs, Function<T, PostingList> task) {
+        List<CompletableFuture<PostingList>> forked = new ArrayList<>(inputs.size() - 1);
+        for (int i = 1; i < inputs.size(); ++i) {
+            T input = inputs.get(i);
+            forked.add(CompletableFuture.supplyAsync(() -> task.apply(input), searchExecutor));
+        }
+        List<PostingList> results = new ArrayList<>(inputs.size());
+        results.add(task.apply(inputs.get(0)));
+        try {
+            forked.forEach(future -> results.add(future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private static ExecutorService newSearchExecutor(SearchExecutorProps searchExecutorProps,
+                                                     MeterRegistry meterRegistry) {
+        int threads = Math.max(1, searchExecutorProps.getThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, searchExecutorProps.getQueueCapacity())),
+                Thread.ofPlatform().name("search-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "search");
+    }
+
+    private static boolean isWildcard(String normalizedTerm) {
+        return normalizedTerm.indexOf(WILDCARD) >= 0;
+    }
+
+    private static Counter planCounter(MeterRegistry meterRegistry, String phase, String mode) {
+        return Counter.builder("search.plans")
+                .description("Search phases by execution mode chosen by the cost-based planner")
+                .tag("phase", phase)
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+}
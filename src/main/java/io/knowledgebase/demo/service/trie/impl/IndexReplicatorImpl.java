@@ -0,0 +1,245 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.config.props.IndexReplicationProps;
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.IndexReplicator;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.replication.IndexChangeBus;
+import io.knowledgebase.demo.service.trie.replication.IndexChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Log4j2
+@Service
+public class IndexReplicatorImpl implements IndexReplicator {
+
+    private static final long UNKNOWN = -1;
+
+    private final IndexChangeBus indexChangeBus;
+    private final TrieService trieService;
+    private final ActiveFaqFilter activeFaqFilter;
+    private final SearchResultCacheService searchResultCacheService;
+    private final IndexReplicationProps indexReplicationProps;
+    private final UUID nodeId = UUID.randomUUID();
+    private final NavigableMap<Long, IndexChangeEvent> pending = new TreeMap<>();
+    private final Map<Long, Long> appliedVersions;
+    private final Counter appliedEvents;
+    private final Counter ownEvents;
+    private final Counter duplicateEvents;
+    private final Counter staleEvents;
+    private final Counter replays;
+    private final Counter catchUps;
+
+    private long nextSequence = UNKNOWN;
+    private long gapSince;
+    private boolean gapOpen;
+    private boolean suspended;
+    private boolean overflowed;
+
+    public IndexReplicatorImpl(IndexChangeBus indexChangeBus,
+                               TrieService trieService,
+                               ActiveFaqFilter activeFaqFilter,
+                               SearchResultCacheService searchResultCacheService,
+                               IndexReplicationProps indexReplicationProps,
+                               MeterRegistry meterRegistry) {
+        this.indexChangeBus = indexChangeBus;
+        this.trieService = trieService;
+        this.activeFaqFilter = activeFaqFilter;
+        this.searchResultCacheService = searchResultCacheService;
+        this.indexReplicationProps = indexReplicationProps;
+        // Least recently touched FAQs are forgotten first; their next event is applied unconditionally
+        this.appliedVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > indexReplicationProps.getMaxTrackedVersions();
+            }
+        };
+        this.appliedEvents = eventCounter(meterRegistry, "applied");
+        this.ownEvents = eventCounter(meterRegistry, "own");
+        this.duplicateEvents = eventCounter(meterRegistry, "duplicate");
+        this.staleEvents = eventCounter(meterRegistry, "stale");
+        this.replays = Counter.builder("trie.replication.replays")
+                .description("Sequence gaps filled from the index change stream")
+                .register(meterRegistry);
+        this.catchUps = Counter.builder("trie.replication.catchups")
+                .description("Full trie reloads triggered by gaps in the index change sequence")
+                .register(meterRegistry);
+        Gauge.builder("trie.replication.pending", this, IndexReplicatorImpl::pendingCount)
+                .description("Index change events buffered behind a sequence gap")
+                .register(meterRegistry);
+        indexChangeBus.subscribe(this::onEvent);
+    }
+
+    @Override
+    public void publish(IndexChangeEvent event) {
+        indexChangeBus.publish(event.withOrigin(nodeId));
+    }
+
+    @Override
+    public long suspend() {
+        synchronized (this) {
+            suspended = true;
+        }
+        try {
+            return indexChangeBus.lastSequence();
+        } catch (Exception e) {
+            log.warn("Failed to read the index change sequence, the next event becomes the baseline", e);
+            return UNKNOWN;
+        }
+    }
+
+    @Override
+    public synchronized void resume(long sequence) {
+        suspended = false;
+        overflowed = false;
+        appliedVersions.clear();
+        if (sequence == UNKNOWN) {
+            nextSequence = pending.isEmpty() ? UNKNOWN : pending.firstKey();
+        } else {
+            pending.headMap(sequence, true).clear();
+            nextSequence = sequence + 1;
+        }
+        gapOpen = false;
+        drain(true);
+    }
+
+    @Override
+    public boolean catchUpIfStalled() {
+        long gapFrom;
+        long gapTo;
+        synchronized (this) {
+            if (!isStalled()) {
+                return false;
+            }
+            gapFrom = nextSequence;
+            gapTo = overflowed || pending.isEmpty() ? UNKNOWN : pending.firstKey() - 1;
+        }
+
+        if (gapTo != UNKNOWN && replayGap(gapFrom, gapTo)) {
+            return true;
+        }
+        synchronized (this) {
+            log.warn("Index change sequence stalled at {} with {} events pending, reloading the trie",
+                    nextSequence, pending.size());
+        }
+        catchUps.increment();
+        long sequence = suspend();
+        boolean reloaded = false;
+        try {
+            trieService.rebuild();
+            activeFaqFilter.reload();
+            reloaded = true;
+        } finally {
+            resume(sequence);
+            if (!reloaded) {
+                synchronized (this) {
+                    overflowed = true;
+                }
+            }
+            searchResultCacheService.invalidate();
+        }
+        return true;
+    }
+
+    private synchronized void onEvent(IndexChangeEvent event) {
+        if (!suspended && nextSequence == UNKNOWN) {
+            nextSequence = event.sequence();
+        }
+        if (nextSequence != UNKNOWN && event.sequence() < nextSequence) {
+            duplicateEvents.increment();
+            return;
+        }
+        if (pending.size() >= indexReplicationProps.getMaxPendingEvents()) {
+            pending.clear();
+            overflowed = true;
+        }
+        pending.put(event.sequence(), event);
+        if (!suspended) {
+            drain(false);
+        }
+    }
+
+    private void drain(boolean replay) {
+        while (!pending.isEmpty() && pending.firstKey() == nextSequence) {
+            apply(pending.pollFirstEntry().getValue(), replay);
+            ++nextSequence;
+        }
+        if (pending.isEmpty()) {
+            gapOpen = false;
+        } else if (!gapOpen) {
+            gapOpen = true;
+            gapSince = System.nanoTime();
+        }
+    }
+
+    private boolean replayGap(long fromSequence, long toSequence) {
+        try {
+            if (!indexChangeBus.replay(fromSequence, toSequence, this::onEvent)) {
+                return false;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to replay index changes {}..{}", fromSequence, toSequence, e);
+            return false;
+        }
+        replays.increment();
+        log.info("Replayed index changes {}..{} from the change stream", fromSequence, toSequence);
+        return true;
+    }
+
+    // Bus order is not change order: the outbox relay and the sync job both publish changes of the same
+    // FAQ, so an event older than the version already applied for that FAQ is dropped.
+    private void apply(IndexChangeEvent event, boolean replay) {
+
+        Long appliedVersion = appliedVersions.get(event.faqId());
+        if (appliedVersion != null && event.version() < appliedVersion) {
+            staleEvents.increment();
+            return;
+        }
+        appliedVersions.put(event.faqId(), event.version());
+
+        if (!replay && nodeId.equals(event.origin())) {
+            ownEvents.increment();
+            return;
+        }
+
+        if (event.type() == IndexChangeEvent.Type.INDEX) {
+            trieService.insertAllNormalized(Map.of(event.faqId(), event.keywords()));
+            activeFaqFilter.update(event.faqId(), event.active());
+        } else {
+            event.keywords().forEach(keyword -> trieService.removeNormalized(keyword, event.faqId()));
+            activeFaqFilter.remove(event.faqId());
+        }
+        searchResultCacheService.invalidate();
+        appliedEvents.increment();
+    }
+
+    private boolean isStalled() {
+        if (suspended) {
+            return false;
+        }
+        return overflowed || gapOpen
+                && System.nanoTime() - gapSince >= indexReplicationProps.getGapTimeout().toNanos();
+    }
+
+    private synchronized double pendingCount() {
+        return pending.size();
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("trie.replication.events")
+                .description("Index change events received from the change bus")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
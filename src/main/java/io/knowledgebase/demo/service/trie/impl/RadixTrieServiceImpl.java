@@ -0,0 +1,432 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.service.trie.RadixTrieNode;
+import io.knowledgebase.demo.service.trie.TrieSnapshot;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+@Log4j2
+@Service
+@ConditionalOnProperty(name = "search.trie.engine", havingValue = "radix", matchIfMissing = true)
+public class RadixTrieServiceImpl extends AbstractTrieService<RadixTrieServiceImpl.RadixShard> {
+
+    private static final char WILDCARD = '*';
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(RadixTrieNode.root(), 0));
+    private final Lock writeLock = new ReentrantLock();
+    private int reclaimed;
+    private boolean stillIndexed;
+
+    public RadixTrieServiceImpl(FaqDocRepository faqDocRepository,
+                                KeywordNormalizer keywordNormalizer,
+                                MeterRegistry meterRegistry) {
+        super(faqDocRepository, keywordNormalizer, meterRegistry);
+    }
+
+    @Override
+    public void insertNormalized(String normalizedWord, Long faqId) {
+
+        if (!keywordNormalizer.isValid(normalizedWord)) {
+            return;
+        }
+        char[] chars = normalizedWord.toCharArray();
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            publish(snapshot, insert(snapshot.root, chars, 0, PostingList.of(faqId)));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public PostingList searchNormalized(String normalizedWord) {
+        return current.get().searchNormalized(normalizedWord);
+    }
+
+    @Override
+    public TrieSnapshot snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public void forEachNormalized(BiConsumer<String, PostingList> consumer) {
+        forEachTerminal(current.get().root, new StringBuilder(), consumer);
+    }
+
+    @Override
+    public Map<String, PostingList> keywordsOf(PostingList faqIds) {
+        Map<String, PostingList> keywords = new HashMap<>();
+        collectKeywords(current.get().root, new StringBuilder(), faqIds, keywords);
+        return keywords;
+    }
+
+    @Override
+    public void removeNormalized(String normalizedWord, Long faqId) {
+
+        log.trace("Removing word '{}' for FAQ ID: {}", normalizedWord, faqId);
+
+        if (!keywordNormalizer.isValid(normalizedWord)) {
+            return;
+        }
+        char[] chars = normalizedWord.toCharArray();
+        Timer.Sample sample = Timer.start();
+        writeLock.lock();
+        try {
+            reclaimed = 0;
+            stillIndexed = false;
+            Snapshot snapshot = current.get();
+            publish(snapshot, remove(snapshot.root, chars, 0, faqId, true));
+            reclaimedNodes.increment(reclaimed);
+        } finally {
+            writeLock.unlock();
+            sample.stop(removeTimer);
+        }
+
+        log.trace("Successfully removed word '{}' for FAQ ID: {}", normalizedWord, faqId);
+    }
+
+    @Override
+    public void removeAll(Collection<Long> faqIds) {
+
+        if (faqIds.isEmpty()) {
+            return;
+        }
+        PostingList ids = PostingList.of(faqIds.stream().mapToLong(Long::longValue).toArray());
+        Timer.Sample sample = Timer.start();
+        writeLock.lock();
+        try {
+            reclaimed = 0;
+            Snapshot snapshot = current.get();
+            Map<String, PostingList> keywords = new HashMap<>();
+            collectKeywords(snapshot.root, new StringBuilder(), ids, keywords);
+            RadixTrieNode root = snapshot.root;
+            for (Map.Entry<String, PostingList> keyword : keywords.entrySet()) {
+                char[] chars = keyword.getKey().toCharArray();
+                for (long faqId : keyword.getValue().toArray()) {
+                    stillIndexed = false;
+                    root = remove(root, chars, 0, faqId, true);
+                }
+            }
+            publish(snapshot, root);
+            reclaimedNodes.increment(reclaimed);
+        } finally {
+            writeLock.unlock();
+            sample.stop(removeTimer);
+        }
+
+        log.debug("Removed {} FAQ IDs from the radix trie", faqIds.size());
+    }
+
+    @Override
+    protected RadixShard newShard() {
+        return new RadixShard();
+    }
+
+    @Override
+    protected void install(RadixShard shard) {
+        String[] words = shard.sortedWords();
+        PostingList[] postings = shard.postingsOf(words);
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            if (snapshot.root.getChildren().length == 0) {
+                publish(snapshot, RadixTrieNode.fromSorted(words, postings));
+                return;
+            }
+            RadixTrieNode root = snapshot.root;
+            for (int i = 0; i < words.length; ++i) {
+                root = insert(root, words[i].toCharArray(), 0, postings[i]);
+            }
+            publish(snapshot, root);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    protected void replace(RadixShard shard) {
+        String[] words = shard.sortedWords();
+        RadixTrieNode root = RadixTrieNode.fromSorted(words, shard.postingsOf(words));
+        writeLock.lock();
+        try {
+            publish(current.get(), root);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void cleanupOrphanedNodes() {
+        log.debug("Starting radix trie cleanup...");
+        writeLock.lock();
+        try {
+            reclaimed = 0;
+            Snapshot snapshot = current.get();
+            publish(snapshot, prune(snapshot.root, true));
+            reclaimedNodes.increment(reclaimed);
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Radix trie cleanup completed");
+    }
+
+    private void publish(Snapshot previous, RadixTrieNode root) {
+        if (root != previous.root) {
+            current.set(new Snapshot(root, previous.version + 1));
+        }
+    }
+
+    private static RadixTrieNode insert(RadixTrieNode node, char[] word, int offset, PostingList faqIds) {
+        if (offset == word.length) {
+            PostingList postings = node.isTerminal() ? node.getPostings().withAll(faqIds) : faqIds.copy();
+            return node.withPostings(postings).inheritSubtreePostings(node, faqIds);
+        }
+        int index = node.indexOf(word[offset]);
+        if (index < 0) {
+            return node.withAddedChild(
+                    RadixTrieNode.leaf(Arrays.copyOfRange(word, offset, word.length), faqIds.copy())
+            ).inheritSubtreePostings(node, faqIds);
+        }
+        RadixTrieNode child = node.getChildren()[index];
+        int common = commonPrefixLength(child.getLabel(), word, offset);
+        if (common < child.getLabel().length) {
+            child = child.split(common).inheritSubtreePostings(child, new PostingList());
+        }
+        return node.withChild(index, insert(child, word, offset + common, faqIds)).inheritSubtreePostings(node, faqIds);
+    }
+
+    // Leaves stillIndexed set when the id remains somewhere in the returned subtree
+    private RadixTrieNode remove(RadixTrieNode node, char[] word, int offset, long faqId, boolean isRoot) {
+        if (offset == word.length) {
+            if (!node.isTerminal() || !node.getPostings().contains(faqId)) {
+                return node;
+            }
+            PostingList postings = node.getPostings().cardinality() > 1 ? node.getPostings().without(faqId) : null;
+            stillIndexed = childrenContain(node, faqId, -1);
+            return reclaim(node.withPostings(postings).inheritSubtreePostings(node, faqId, stillIndexed), isRoot);
+        }
+        int index = node.indexOf(word[offset]);
+        if (index < 0) {
+            return node;
+        }
+        RadixTrieNode child = node.getChildren()[index];
+        int common = commonPrefixLength(child.getLabel(), word, offset);
+        if (common < child.getLabel().length) {
+            return node;
+        }
+        RadixTrieNode updated = remove(child, word, offset + common, faqId, false);
+        if (updated == child) {
+            return node;
+        }
+        stillIndexed = stillIndexed
+                || node.isTerminal() && node.getPostings().contains(faqId)
+                || childrenContain(node, faqId, index);
+        return updated != null
+                ? node.withChild(index, updated).inheritSubtreePostings(node, faqId, stillIndexed)
+                : reclaim(node.withoutChild(index).inheritSubtreePostings(node, faqId, stillIndexed), isRoot);
+    }
+
+    private static boolean childrenContain(RadixTrieNode node, long faqId, int skipped) {
+        RadixTrieNode[] children = node.getChildren();
+        for (int i = 0; i < children.length; ++i) {
+            if (i != skipped && children[i].subtreeContains(faqId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RadixTrieNode reclaim(RadixTrieNode node, boolean isRoot) {
+        if (isRoot || node.isTerminal() || node.getChildren().length > 1) {
+            return node;
+        }
+        ++reclaimed;
+        return node.getChildren().length == 0 ? null : node.mergeWithOnlyChild();
+    }
+
+    private RadixTrieNode prune(RadixTrieNode node, boolean isRoot) {
+        boolean changed = false;
+        PostingList postings = node.getPostings();
+        if (postings != null && postings.isEmpty()) {
+            postings = null;
+            changed = true;
+        }
+        RadixTrieNode[] children = node.getChildren();
+        char[] keys = node.getKeys();
+        RadixTrieNode[] keptChildren = new RadixTrieNode[children.length];
+        char[] keptKeys = new char[children.length];
+        int kept = 0;
+        for (int i = 0; i < children.length; ++i) {
+            RadixTrieNode pruned = prune(children[i], false);
+            changed |= pruned != children[i];
+            if (pruned != null) {
+                keptChildren[kept] = pruned;
+                keptKeys[kept++] = keys[i];
+            }
+        }
+        if (!changed) {
+            return node;
+        }
+        if (!isRoot && postings == null && kept <= 1) {
+            ++reclaimed;
+            if (kept == 0) {
+                return null;
+            }
+        }
+        RadixTrieNode result = kept == 0
+                ? RadixTrieNode.leaf(node.getLabel(), postings)
+                : new RadixTrieNode(
+                        node.getLabel(),
+                        Arrays.copyOf(keptKeys, kept),
+                        Arrays.copyOf(keptChildren, kept),
+                        postings
+                );
+        return isRoot ? result : result.mergeWithOnlyChild();
+    }
+
+    // Skips subtrees whose union shows none of the ids, so the walk follows only the keywords of those FAQs
+    private static void collectKeywords(RadixTrieNode node, StringBuilder word, PostingList faqIds,
+                                        Map<String, PostingList> keywords) {
+        if (!node.mayIntersect(faqIds)) {
+            return;
+        }
+        int length = word.length();
+        word.append(node.getLabel());
+        if (node.isTerminal() && node.getPostings().intersects(faqIds)) {
+            keywords.put(word.toString(), node.getPostings().and(faqIds));
+        }
+        for (RadixTrieNode child : node.getChildren()) {
+            collectKeywords(child, word, faqIds, keywords);
+        }
+        word.setLength(length);
+    }
+
+    private static void forEachTerminal(RadixTrieNode node, StringBuilder word,
+                                        BiConsumer<String, PostingList> consumer) {
+        int length = word.length();
+        word.append(node.getLabel());
+        if (node.isTerminal() && !node.getPostings().isEmpty()) {
+            consumer.accept(word.toString(), node.getPostings());
+        }
+        for (RadixTrieNode child : node.getChildren()) {
+            forEachTerminal(child, word, consumer);
+        }
+        word.setLength(length);
+    }
+
+    private static int commonPrefixLength(char[] label, char[] word, int offset) {
+        int max = Math.min(label.length, word.length - offset);
+        int length = 0;
+        while (length < max && label[length] == word[offset + length]) {
+            ++length;
+        }
+        return length;
+    }
+
+    private final class Snapshot implements TrieSnapshot {
+
+        private final RadixTrieNode root;
+        private final long version;
+
+        private Snapshot(RadixTrieNode root, long version) {
+            this.root = root;
+            this.version = version;
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public PostingList search(String word) {
+            return searchNormalized(keywordNormalizer.normalize(word));
+        }
+
+        // Returns the node's own postings or cached union without copying; callers must not mutate it
+        @Override
+        public PostingList searchNormalized(String normalizedWord) {
+
+            if (!keywordNormalizer.isValid(normalizedWord)) {
+                return new PostingList();
+            }
+            RadixTrieNode node = root;
+            int n = normalizedWord.length();
+            int i = 0;
+            while (i < n) {
+                int index = node.indexOf(normalizedWord.charAt(i));
+                if (index < 0) {
+                    int starIndex = node.indexOf(WILDCARD);
+                    if (starIndex < 0) {
+                        return new PostingList();
+                    }
+                    return node.getChildren()[starIndex].subtreePostings();
+                }
+                RadixTrieNode child = node.getChildren()[index];
+                char[] label = child.getLabel();
+                ++i;
+                for (int j = 1; j < label.length && i < n; ++j, ++i) {
+                    if (label[j] != normalizedWord.charAt(i)) {
+                        return label[j] == WILDCARD ? child.subtreePostings() : new PostingList();
+                    }
+                }
+                node = child;
+            }
+            return node.subtreePostings();
+        }
+
+    }
+
+    static final class RadixShard implements Shard<RadixShard> {
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+
+        @Override
+        public void add(String normalizedWord, long faqId) {
+            postings.computeIfAbsent(normalizedWord, k -> new PostingList()).add(faqId);
+        }
+
+        @Override
+        public void addAll(String normalizedWord, PostingList faqIds) {
+            postings.computeIfAbsent(normalizedWord, k -> new PostingList()).or(faqIds);
+        }
+
+        @Override
+        public RadixShard merge(RadixShard other) {
+            other.postings.forEach((word, faqIds) -> postings.merge(word, faqIds, PostingList::or));
+            return this;
+        }
+
+        private String[] sortedWords() {
+            String[] words = postings.keySet().toArray(String[]::new);
+            Arrays.parallelSort(words);
+            return words;
+        }
+
+        private PostingList[] postingsOf(String[] words) {
+            PostingList[] sorted = new PostingList[words.length];
+            for (int i = 0; i < words.length; ++i) {
+                sorted[i] = postings.get(words[i]);
+            }
+            return sorted;
+        }
+
+    }
+
+}
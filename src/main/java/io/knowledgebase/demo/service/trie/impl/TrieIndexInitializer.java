@@ -0,0 +1,39 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.IndexReplicator;
+import io.knowledgebase.demo.service.trie.TriePersistenceService;
+import io.knowledgebase.demo.service.trie.TrieService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TrieIndexInitializer {
+
+    private final TrieService trieService;
+    private final ObjectProvider<TriePersistenceService> triePersistenceService;
+    private final SearchResultCacheService searchResultCacheService;
+    private final ActiveFaqFilter activeFaqFilter;
+    private final IndexReplicator indexReplicator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long sequence = indexReplicator.suspend();
+        try {
+            TriePersistenceService persistence = triePersistenceService.getIfAvailable();
+            if (persistence == null || !persistence.restore()) {
+                trieService.init();
+            }
+            activeFaqFilter.reload();
+        } finally {
+            indexReplicator.resume(sequence);
+        }
+        searchResultCacheService.invalidate();
+    }
+
+}
@@ -0,0 +1,123 @@
+package io.knowledgebase.demo.service.trie.impl;
+
+import io.knowledgebase.demo.config.props.FaqOutboxProps;
+import io.knowledgebase.demo.config.props.TrieSnapshotProps;
+import io.knowledgebase.demo.enums.OutboxOperation;
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.FaqOutboxRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.trie.TriePersistenceService;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.persistence.TrieSnapshotFile;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "search.trie.snapshot.enabled", havingValue = "true")
+public class TriePersistenceServiceImpl implements TriePersistenceService {
+
+    private final TrieService trieService;
+    private final FaqDocRepository faqDocRepository;
+    private final FaqOutboxRepository faqOutboxRepository;
+    private final KeywordNormalizer keywordNormalizer;
+    private final TrieSnapshotProps trieSnapshotProps;
+    private final FaqOutboxProps faqOutboxProps;
+
+    @Override
+    public boolean restore() {
+
+        Path path = Path.of(trieSnapshotProps.getPath());
+        if (!Files.isRegularFile(path)) {
+            log.info("No trie snapshot found at {}", path);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            LocalDateTime watermark = TrieSnapshotFile.readWatermark(path);
+            LocalDateTime since = watermark.minus(trieSnapshotProps.getCatchUpOverlap());
+            if (since.isBefore(LocalDateTime.now().minus(faqOutboxProps.getRetention()))) {
+                log.info("Trie snapshot {} from {} is older than the outbox retention", path, watermark);
+                return false;
+            }
+
+            Map<Long, List<String>> changed = new HashMap<>();
+            faqDocRepository.findBySyncedAtGreaterThanEqual(since, FaqDocKeywords.class)
+                    .forEach(doc -> changed.put(doc.getId(), normalize(doc.getKeywords())));
+            List<Long> deleted = faqOutboxRepository.findFaqIdsSince(OutboxOperation.DELETE, since);
+
+            PostingList stale = new PostingList();
+            changed.keySet().forEach(stale::add);
+            deleted.forEach(stale::add);
+
+            Map<String, PostingList> postings = new HashMap<>();
+            int restored = TrieSnapshotFile.read(path, (keyword, faqIds) ->
+                    postings.put(keyword, stale.isEmpty() ? faqIds : faqIds.andNot(stale)));
+            changed.forEach((id, keywords) -> keywords.forEach(keyword ->
+                    postings.computeIfAbsent(keyword, k -> new PostingList()).add(id)));
+            trieService.installNormalized(postings);
+
+            log.info("Restored trie from snapshot {} ({} keywords, {} changed and {} deleted since {}) in {} ms",
+                    path, restored, changed.size(), deleted.size(), watermark,
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to restore trie from snapshot {}", path, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void persist() {
+
+        Path path = Path.of(trieSnapshotProps.getPath());
+        LocalDateTime watermark = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        List<TrieSnapshotFile.Entry> entries = new ArrayList<>();
+        trieService.forEachNormalized((keyword, faqIds) -> entries.add(new TrieSnapshotFile.Entry(keyword, faqIds)));
+        try {
+            int written = TrieSnapshotFile.write(path, watermark, entries.iterator());
+            log.info("Wrote trie snapshot {} ({} keywords) in {} ms",
+                    path, written, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write trie snapshot " + path, e);
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        try {
+            persist();
+        } catch (Exception e) {
+            log.error("Failed to write trie snapshot on shutdown", e);
+        }
+    }
+
+    private List<String> normalize(List<String> keywords) {
+        if (keywords == null) {
+            return List.of();
+        }
+        return keywords.stream()
+                .map(keywordNormalizer::normalize)
+                .filter(keywordNormalizer::isValid)
+                .toList();
+    }
+
+}
@@ -3,125 +3,399 @@ package io.knowledgebase.demo.service.trie.impl;
 import io.knowledgebase.demo.normalizer.KeywordNormalizer;
 import io.knowledgebase.demo.repository.FaqDocRepository;
 import io.knowledgebase.demo.service.trie.TrieNode;
-import io.knowledgebase.demo.service.trie.TrieService;
-import lombok.RequiredArgsConstructor;
+import io.knowledgebase.demo.service.trie.TrieSnapshot;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
-import java.util.Set;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Log4j2
 @Service
-@RequiredArgsConstructor
-public class TrieServiceImpl implements TrieService {
+@ConditionalOnProperty(name = "search.trie.engine", havingValue = "hash")
+public class TrieServiceImpl extends AbstractTrieService<TrieServiceImpl.HashShard> {
 
-    private final TrieNode root = new TrieNode();
-    private final FaqDocRepository faqDocRepository;
-    private final KeywordNormalizer keywordNormalizer;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(new TrieNode(), 0));
+    private final Lock writeLock = new ReentrantLock();
+    private int reclaimed;
 
-    @Transactional(readOnly = true)
-    @EventListener(ApplicationReadyEvent.class)
-    @Override
-    public void init() {
-
-        log.info("Initializing TrieService with FAQ documents...");
-
-        int processedCount = faqDocRepository.findAll()
-                .stream().mapToInt(faqDoc -> {
-                    faqDoc.getKeywords().forEach(keyword ->
-                            insert(keyword, faqDoc.getId()));
-                    return 1;
-                })
-                .sum();
-
-        log.info("Initialized TrieService with {} documents", processedCount);
+    public TrieServiceImpl(FaqDocRepository faqDocRepository,
+                           KeywordNormalizer keywordNormalizer,
+                           MeterRegistry meterRegistry) {
+        super(faqDocRepository, keywordNormalizer, meterRegistry);
     }
 
     @Override
-    public void insert(String word, Long faqId) {
+    public void insertNormalized(String normalizedWord, Long faqId) {
 
-        String normalizedWord = keywordNormalizer.normalize(word);
         if (!keywordNormalizer.isValid(normalizedWord)) {
             return;
         }
-        TrieNode current = root;
-        int n = normalizedWord.length();
-        for (int i = 0; i < n; ++i) {
-            current = current.getChildren().computeIfAbsent(
-                    normalizedWord.charAt(i), k -> new TrieNode()
-            );
-            current.getFaqIds().add(faqId);
+        PostingList added = PostingList.of(faqId);
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            TrieNode root = snapshot.root.copy();
+            TrieNode node = root;
+            int n = normalizedWord.length();
+            for (int i = 0; i < n; ++i) {
+                TrieNode child = node.getChildren().get(normalizedWord.charAt(i));
+                TrieNode updated = child == null ? new TrieNode() : child.copy();
+                updated.setFaqIds(updated.getFaqIds().withAll(added));
+                node.getChildren().put(normalizedWord.charAt(i), updated);
+                node = updated;
+            }
+            node.setTerminalIds(node.getTerminalIds().withAll(added));
+            publish(snapshot, root);
+        } finally {
+            writeLock.unlock();
         }
 
     }
 
     @Override
-    public Set<Long> search(String word) {
+    public PostingList searchNormalized(String normalizedWord) {
+        return current.get().searchNormalized(normalizedWord);
+    }
 
-        String normalizedWord = keywordNormalizer.normalize(word);
-        if (!keywordNormalizer.isValid(normalizedWord)) {
-            return Collections.emptySet();
-        }
-        TrieNode current = root, next;
-        int n = normalizedWord.length();
-        for (int i = 0; i < n; ++i) {
-            next = current.getChildren().get(normalizedWord.charAt(i));
-            if (next == null) {
-                TrieNode starNode = current.getChildren().get('*');
-                if (starNode == null) {
-                    return Collections.emptySet();
-                }
-                return  Collections.unmodifiableSet(starNode.getFaqIds());
-            }
-            current = next;
-        }
+    @Override
+    public TrieSnapshot snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public void forEachNormalized(BiConsumer<String, PostingList> consumer) {
+        forEachKeyword(current.get().root, new StringBuilder(), consumer);
+    }
 
-        return Collections.unmodifiableSet(current.getFaqIds());
+    @Override
+    public Map<String, PostingList> keywordsOf(PostingList faqIds) {
+        Map<String, PostingList> keywords = new HashMap<>();
+        collectKeywords(current.get().root, faqIds, new StringBuilder(), keywords);
+        return keywords;
     }
 
     @Override
-    public void remove(String word, Long faqId) {
+    public void removeNormalized(String normalizedWord, Long faqId) {
 
-        log.trace("Removing word '{}' for FAQ ID: {}", word, faqId);
+        log.trace("Removing word '{}' for FAQ ID: {}", normalizedWord, faqId);
 
-        String normalizedWord = keywordNormalizer.normalize(word);
         if (!keywordNormalizer.isValid(normalizedWord)) {
             return;
         }
-        TrieNode current = root;
-        int n = normalizedWord.length();
-        for (int i = 0; i < n; ++i) {
-            current = current.getChildren().get(normalizedWord.charAt(i));
-            if (current == null) {
+        Timer.Sample sample = Timer.start();
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            int n = normalizedWord.length();
+            TrieNode[] path = new TrieNode[n + 1];
+            path[0] = snapshot.root;
+            for (int depth = 0; depth < n; ++depth) {
+                path[depth + 1] = path[depth].getChildren().get(normalizedWord.charAt(depth));
+                if (path[depth + 1] == null) {
+                    return;
+                }
+            }
+            if (!path[n].getTerminalIds().contains(faqId)) {
                 return;
             }
-            current.getFaqIds().remove(faqId);
+            int reclaimedPath = 0;
+            boolean stillIndexed = false;
+            TrieNode updated = null;
+            for (int depth = n; depth > 0; --depth) {
+                TrieNode node = path[depth].copy();
+                if (depth == n) {
+                    node.setTerminalIds(node.getTerminalIds().without(faqId));
+                } else if (updated != null) {
+                    node.getChildren().put(normalizedWord.charAt(depth), updated);
+                } else {
+                    node.getChildren().remove(normalizedWord.charAt(depth));
+                }
+                // The prefix keeps the id while another keyword of the same FAQ ends at or below it
+                stillIndexed = stillIndexed || node.getTerminalIds().contains(faqId) || containsBelow(node, faqId);
+                if (!stillIndexed) {
+                    node.setFaqIds(node.getFaqIds().without(faqId));
+                }
+                boolean empty = node.getChildren().isEmpty() && node.getFaqIds().isEmpty();
+                updated = empty ? null : node;
+                reclaimedPath += empty ? 1 : 0;
+            }
+            TrieNode root = snapshot.root.copy();
+            if (updated != null) {
+                root.getChildren().put(normalizedWord.charAt(0), updated);
+            } else {
+                root.getChildren().remove(normalizedWord.charAt(0));
+            }
+            publish(snapshot, root);
+            reclaimedNodes.increment(reclaimedPath);
+        } finally {
+            writeLock.unlock();
+            sample.stop(removeTimer);
         }
 
         log.trace("Successfully removed word '{}' for FAQ ID: {}", normalizedWord, faqId);
     }
 
+    @Override
+    public void removeAll(Collection<Long> faqIds) {
+
+        if (faqIds.isEmpty()) {
+            return;
+        }
+        PostingList ids = PostingList.of(faqIds.stream().mapToLong(Long::longValue).toArray());
+        Timer.Sample sample = Timer.start();
+        writeLock.lock();
+        try {
+            reclaimed = 0;
+            Snapshot snapshot = current.get();
+            publish(snapshot, removeAll(snapshot.root, ids));
+            reclaimedNodes.increment(reclaimed);
+        } finally {
+            writeLock.unlock();
+            sample.stop(removeTimer);
+        }
+
+        log.debug("Removed {} FAQ IDs from the trie", faqIds.size());
+    }
+
+    @Override
+    protected HashShard newShard() {
+        return new HashShard();
+    }
+
+    @Override
+    protected void install(HashShard shard) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            publish(snapshot, snapshot.root.getChildren().isEmpty() ? shard.root : merge(snapshot.root, shard.root));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // The shard is built off to the side and swapped in whole, so readers never see a half-built trie
+    @Override
+    protected void replace(HashShard shard) {
+        writeLock.lock();
+        try {
+            publish(current.get(), shard.root);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public void cleanupOrphanedNodes() {
         log.debug("Starting trie cleanup...");
-        cleanupNode(root);
+        writeLock.lock();
+        try {
+            reclaimed = 0;
+            Snapshot snapshot = current.get();
+            publish(snapshot, cleanupNode(snapshot.root));
+            reclaimedNodes.increment(reclaimed);
+        } finally {
+            writeLock.unlock();
+        }
         log.debug("Trie cleanup completed");
     }
 
-    private boolean cleanupNode(TrieNode node) {
-        if (node == null) {
-            return true;
+    private void publish(Snapshot previous, TrieNode root) {
+        if (root != previous.root) {
+            current.set(new Snapshot(root, previous.version + 1));
+        }
+    }
+
+    private TrieNode cleanupNode(TrieNode node) {
+        Map<Character, TrieNode> children = null;
+        for (Map.Entry<Character, TrieNode> entry : node.getChildren().entrySet()) {
+            TrieNode child = entry.getValue();
+            TrieNode cleaned = cleanupNode(child);
+            boolean shouldRemove = cleaned.getChildren().isEmpty() && cleaned.getFaqIds().isEmpty();
+            if (cleaned == child && !shouldRemove) {
+                continue;
+            }
+            if (children == null) {
+                children = new HashMap<>(node.getChildren());
+            }
+            if (shouldRemove) {
+                children.remove(entry.getKey());
+                ++reclaimed;
+            } else {
+                children.put(entry.getKey(), cleaned);
+            }
         }
-        node.getChildren().entrySet().removeIf(entry -> {
-            TrieNode childNode = entry.getValue();
-            boolean shouldRemove = cleanupNode(childNode);
-            return shouldRemove && childNode.getFaqIds().isEmpty();
+        return children == null ? node : new TrieNode(children, node.getFaqIds(), node.getTerminalIds());
+    }
+
+    private TrieNode removeAll(TrieNode node, PostingList ids) {
+        Map<Character, TrieNode> children = null;
+        for (Map.Entry<Character, TrieNode> entry : node.getChildren().entrySet()) {
+            TrieNode child = entry.getValue();
+            if (child.getFaqIds().and(ids).isEmpty()) {
+                continue;
+            }
+            if (children == null) {
+                children = new HashMap<>(node.getChildren());
+            }
+            TrieNode updated = removeAll(child, ids);
+            PostingList remaining = child.getFaqIds().andNot(ids);
+            if (remaining.isEmpty() && updated.getChildren().isEmpty()) {
+                children.remove(entry.getKey());
+                ++reclaimed;
+            } else {
+                children.put(entry.getKey(),
+                        new TrieNode(updated.getChildren(), remaining, child.getTerminalIds().andNot(ids)));
+            }
+        }
+        return children == null ? node : new TrieNode(children, node.getFaqIds(), node.getTerminalIds());
+    }
+
+    private static boolean containsBelow(TrieNode node, long faqId) {
+        for (TrieNode child : node.getChildren().values()) {
+            if (child.getFaqIds().contains(faqId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void forEachKeyword(TrieNode node, StringBuilder word, BiConsumer<String, PostingList> consumer) {
+        node.getChildren().forEach((key, child) -> {
+            word.append(key);
+            if (!child.getTerminalIds().isEmpty()) {
+                consumer.accept(word.toString(), child.getTerminalIds());
+            }
+            forEachKeyword(child, word, consumer);
+            word.setLength(word.length() - 1);
         });
-        return node.getChildren().isEmpty() && node.getFaqIds().isEmpty();
+    }
+
+    private static void collectKeywords(TrieNode node, PostingList faqIds, StringBuilder word,
+                                        Map<String, PostingList> keywords) {
+        node.getChildren().forEach((key, child) -> {
+            PostingList matched = child.getFaqIds().and(faqIds);
+            if (matched.isEmpty()) {
+                return;
+            }
+            word.append(key);
+            PostingList ending = child.getTerminalIds().and(matched);
+            if (!ending.isEmpty()) {
+                keywords.put(word.toString(), ending);
+            }
+            collectKeywords(child, matched, word, keywords);
+            word.setLength(word.length() - 1);
+        });
+    }
+
+    // Copies the target path wherever the source adds to it; source nodes are adopted as they are
+    private static TrieNode merge(TrieNode target, TrieNode source) {
+        Map<Character, TrieNode> children = new HashMap<>(target.getChildren());
+        source.getChildren().forEach((key, child) -> children.merge(key, child, TrieServiceImpl::merge));
+        return new TrieNode(
+                children,
+                target.getFaqIds().withAll(source.getFaqIds()),
+                target.getTerminalIds().withAll(source.getTerminalIds())
+        );
+    }
+
+    private final class Snapshot implements TrieSnapshot {
+
+        private final TrieNode root;
+        private final long version;
+
+        private Snapshot(TrieNode root, long version) {
+            this.root = root;
+            this.version = version;
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public PostingList search(String word) {
+            return searchNormalized(keywordNormalizer.normalize(word));
+        }
+
+        @Override
+        public PostingList searchNormalized(String normalizedWord) {
+
+            if (!keywordNormalizer.isValid(normalizedWord)) {
+                return new PostingList();
+            }
+            TrieNode node = root, next;
+            int n = normalizedWord.length();
+            for (int i = 0; i < n; ++i) {
+                next = node.getChildren().get(normalizedWord.charAt(i));
+                if (next == null) {
+                    TrieNode starNode = node.getChildren().get('*');
+                    if (starNode == null) {
+                        return new PostingList();
+                    }
+                    return starNode.getFaqIds();
+                }
+                node = next;
+            }
+
+            return node.getFaqIds();
+        }
+
+    }
+
+    static final class HashShard implements Shard<HashShard> {
+
+        private final TrieNode root = new TrieNode();
+
+        @Override
+        public void add(String normalizedWord, long faqId) {
+            TrieNode current = root;
+            int n = normalizedWord.length();
+            for (int i = 0; i < n; ++i) {
+                current = current.getChildren().computeIfAbsent(normalizedWord.charAt(i), k -> new TrieNode());
+                current.getFaqIds().add(faqId);
+            }
+            current.getTerminalIds().add(faqId);
+        }
+
+        @Override
+        public void addAll(String normalizedWord, PostingList faqIds) {
+            TrieNode current = root;
+            int n = normalizedWord.length();
+            for (int i = 0; i < n; ++i) {
+                current = current.getChildren().computeIfAbsent(normalizedWord.charAt(i), k -> new TrieNode());
+                current.getFaqIds().or(faqIds);
+            }
+            current.getTerminalIds().or(faqIds);
+        }
+
+        @Override
+        public HashShard merge(HashShard other) {
+            merge(root, other.root);
+            return this;
+        }
+
+        private static void merge(TrieNode target, TrieNode source) {
+            source.getChildren().forEach((key, child) -> {
+                TrieNode existing = target.getChildren().putIfAbsent(key, child);
+                if (existing != null) {
+                    existing.getFaqIds().or(child.getFaqIds());
+                    existing.getTerminalIds().or(child.getTerminalIds());
+                    merge(existing, child);
+                }
+            });
+        }
+
     }
 
 }
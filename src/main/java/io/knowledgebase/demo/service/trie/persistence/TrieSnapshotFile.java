@@ -0,0 +1,143 @@
+package io.knowledgebase.demo.service.trie.persistence;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+public final class TrieSnapshotFile {
+
+    private static final int MAGIC = 0x46515453;
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+    private static final int FOOTER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int MAX_KEYWORD_BYTES = 0xFFFF;
+
+    public record Entry(String keyword, PostingList faqIds) {
+    }
+
+    private TrieSnapshotFile() {
+    }
+
+    public static int write(Path path, LocalDateTime watermark, Iterator<Entry> entries) throws IOException {
+
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        int count = 0;
+        try (OutputStream file = Files.newOutputStream(temporary);
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc);
+             DataOutputStream out = new DataOutputStream(checked)) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(watermark.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(watermark.getNano());
+
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                byte[] bytes = entry.keyword().getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > MAX_KEYWORD_BYTES) {
+                    throw new IOException("Keyword is too long for trie snapshot: " + bytes.length + " bytes");
+                }
+                out.writeShort(bytes.length);
+                out.write(bytes);
+                entry.faqIds().writeTo(out);
+                ++count;
+            }
+
+            out.flush();
+            long checksum = crc.getValue();
+            out.writeInt(count);
+            out.writeLong(checksum);
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    public static LocalDateTime readWatermark(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES + FOOTER_BYTES) {
+                throw new IOException("Trie snapshot is truncated: " + path);
+            }
+            return readHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES));
+        }
+    }
+
+    public static int read(Path path, BiConsumer<String, PostingList> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Trie snapshot has unsupported size " + size + ": " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int payloadEnd = (int) size - FOOTER_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, payloadEnd));
+            int count = buffer.getInt(payloadEnd);
+            if (crc.getValue() != buffer.getLong(payloadEnd + Integer.BYTES)) {
+                throw new IOException("Trie snapshot checksum mismatch: " + path);
+            }
+
+            readHeader(buffer);
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < count; ++i) {
+                int length = Short.toUnsignedInt(buffer.getShort());
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                buffer.get(scratch, 0, length);
+                String keyword = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                PostingList faqIds;
+                try {
+                    faqIds = PostingList.readFrom(buffer);
+                } catch (IllegalArgumentException | BufferUnderflowException e) {
+                    throw new IOException("Trie snapshot has a malformed posting list for '" + keyword + "': " + path, e);
+                }
+                consumer.accept(keyword, faqIds);
+            }
+            if (buffer.position() != payloadEnd) {
+                throw new IOException("Trie snapshot has trailing bytes: " + path);
+            }
+            return count;
+        }
+    }
+
+    private static LocalDateTime readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a trie snapshot file");
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported trie snapshot version " + version);
+        }
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,279 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+final class ArrayContainer extends Container {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    char[] values;
+    int cardinality;
+
+    ArrayContainer() {
+        this(new char[INITIAL_CAPACITY], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality >= ARRAY_MAX_SIZE) {
+            return toBitmap().add(value);
+        }
+        index = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, Math.max(INITIAL_CAPACITY, cardinality * 2)));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        ++cardinality;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index < 0) {
+            return this;
+        }
+        System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        --cardinality;
+        return this;
+    }
+
+    @Override
+    Container ior(Container other) {
+        if (other instanceof BitmapContainer bitmap) {
+            return bitmap.copy().ior(this);
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        int union = unionSize(array);
+        if (union == cardinality) {
+            return this;
+        }
+        if (union > ARRAY_MAX_SIZE) {
+            return toBitmap().ior(array);
+        }
+        if (union > values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, Math.max(union, values.length * 2)));
+        }
+        int i = cardinality - 1;
+        int j = array.cardinality - 1;
+        int k = union - 1;
+        while (j >= 0) {
+            char right = array.values[j];
+            if (i >= 0 && values[i] > right) {
+                values[k--] = values[i--];
+            } else {
+                if (i >= 0 && values[i] == right) {
+                    --i;
+                }
+                values[k--] = right;
+                --j;
+            }
+        }
+        cardinality = union;
+        return this;
+    }
+
+    private int unionSize(ArrayContainer array) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < cardinality && j < array.cardinality) {
+            char left = values[i];
+            char right = array.values[j];
+            if (left == right) {
+                ++shared;
+                ++i;
+                ++j;
+            } else if (left < right) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return cardinality + array.cardinality - shared;
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] intersection = new char[cardinality];
+        int k = 0;
+        if (other instanceof BitmapContainer bitmap) {
+            for (int i = 0; i < cardinality; ++i) {
+                if (bitmap.contains(values[i])) {
+                    intersection[k++] = values[i];
+                }
+            }
+            return new ArrayContainer(intersection, k);
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+            char left = values[i];
+            char right = array.values[j];
+            if (left == right) {
+                intersection[k++] = left;
+                ++i;
+                ++j;
+            } else if (left < right) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return new ArrayContainer(intersection, k);
+    }
+
+    @Override
+    boolean intersects(Container other) {
+        if (other instanceof BitmapContainer bitmap) {
+            for (int i = 0; i < cardinality; ++i) {
+                if (bitmap.contains(values[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+            char left = values[i];
+            char right = array.values[j];
+            if (left == right) {
+                return true;
+            } else if (left < right) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] difference = new char[cardinality];
+        int k = 0;
+        if (other instanceof BitmapContainer bitmap) {
+            for (int i = 0; i < cardinality; ++i) {
+                if (!bitmap.contains(values[i])) {
+                    difference[k++] = values[i];
+                }
+            }
+            return new ArrayContainer(difference, k);
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality) {
+            char left = values[i];
+            while (j < array.cardinality && array.values[j] < left) {
+                ++j;
+            }
+            if (j == array.cardinality || array.values[j] != left) {
+                difference[k++] = left;
+            }
+            ++i;
+        }
+        return new ArrayContainer(difference, k);
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+    }
+
+    @Override
+    void forEach(long high, LongConsumer consumer) {
+        for (int i = 0; i < cardinality; ++i) {
+            consumer.accept(high | values[i]);
+        }
+    }
+
+    @Override
+    int fill(long high, long[] target, int offset) {
+        for (int i = 0; i < cardinality; ++i) {
+            target[offset++] = high | values[i];
+        }
+        return offset;
+    }
+
+    @Override
+    void writeTo(DataOutput out) throws IOException {
+        out.writeByte(ARRAY);
+        out.writeShort(cardinality);
+        for (int i = 0; i < cardinality; ++i) {
+            out.writeChar(values[i]);
+        }
+    }
+
+    static ArrayContainer readFrom(ByteBuffer buffer) {
+        int cardinality = Short.toUnsignedInt(buffer.getShort());
+        if (cardinality == 0 || cardinality > ARRAY_MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid array container cardinality " + cardinality);
+        }
+        char[] values = new char[cardinality];
+        buffer.asCharBuffer().get(values);
+        buffer.position(buffer.position() + cardinality * Character.BYTES);
+        for (int i = 1; i < cardinality; ++i) {
+            if (values[i] <= values[i - 1]) {
+                throw new IllegalArgumentException("Array container values are not strictly ascending");
+            }
+        }
+        return new ArrayContainer(values, cardinality);
+    }
+
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < cardinality; ++i) {
+            bitmap.add(values[i]);
+        }
+        return bitmap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArrayContainer that) || cardinality != that.cardinality) {
+            return false;
+        }
+        return Arrays.equals(values, 0, cardinality, that.values, 0, that.cardinality);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < cardinality; ++i) {
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,211 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+final class BitmapContainer extends Container {
+
+    private static final int WORDS = 1024;
+
+    final long[] words;
+    int cardinality;
+
+    BitmapContainer() {
+        this(new long[WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = value >>> 6;
+        long before = words[index];
+        long after = before | (1L << value);
+        if (before != after) {
+            words[index] = after;
+            ++cardinality;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = value >>> 6;
+        long before = words[index];
+        long after = before & ~(1L << value);
+        if (before != after) {
+            words[index] = after;
+            --cardinality;
+        }
+        return cardinality <= ARRAY_MAX_SIZE ? toArray() : this;
+    }
+
+    @Override
+    Container ior(Container other) {
+        if (other instanceof BitmapContainer bitmap) {
+            int count = 0;
+            for (int i = 0; i < WORDS; ++i) {
+                words[i] |= bitmap.words[i];
+                count += Long.bitCount(words[i]);
+            }
+            cardinality = count;
+            return this;
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        for (int i = 0; i < array.cardinality; ++i) {
+            add(array.values[i]);
+        }
+        return this;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer array) {
+            return array.and(this);
+        }
+        BitmapContainer bitmap = (BitmapContainer) other;
+        long[] intersection = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; ++i) {
+            intersection[i] = words[i] & bitmap.words[i];
+            count += Long.bitCount(intersection[i]);
+        }
+        BitmapContainer result = new BitmapContainer(intersection, count);
+        return count <= ARRAY_MAX_SIZE ? result.toArray() : result;
+    }
+
+    @Override
+    boolean intersects(Container other) {
+        if (other instanceof ArrayContainer array) {
+            return array.intersects(this);
+        }
+        BitmapContainer bitmap = (BitmapContainer) other;
+        for (int i = 0; i < WORDS; ++i) {
+            if ((words[i] & bitmap.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        BitmapContainer result = (BitmapContainer) copy();
+        if (other instanceof ArrayContainer array) {
+            for (int i = 0; i < array.cardinality; ++i) {
+                char value = array.values[i];
+                long before = result.words[value >>> 6];
+                long after = before & ~(1L << value);
+                if (before != after) {
+                    result.words[value >>> 6] = after;
+                    --result.cardinality;
+                }
+            }
+            return result.cardinality <= ARRAY_MAX_SIZE ? result.toArray() : result;
+        }
+        BitmapContainer bitmap = (BitmapContainer) other;
+        int count = 0;
+        for (int i = 0; i < WORDS; ++i) {
+            result.words[i] &= ~bitmap.words[i];
+            count += Long.bitCount(result.words[i]);
+        }
+        result.cardinality = count;
+        return count <= ARRAY_MAX_SIZE ? result.toArray() : result;
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(Arrays.copyOf(words, WORDS), cardinality);
+    }
+
+    @Override
+    void forEach(long high, LongConsumer consumer) {
+        for (int i = 0; i < WORDS; ++i) {
+            long word = words[i];
+            while (word != 0) {
+                consumer.accept(high | ((long) i << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    int fill(long high, long[] target, int offset) {
+        for (int i = 0; i < WORDS; ++i) {
+            long word = words[i];
+            while (word != 0) {
+                target[offset++] = high | ((long) i << 6) | Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return offset;
+    }
+
+    @Override
+    void writeTo(DataOutput out) throws IOException {
+        out.writeByte(BITMAP);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    static Container readFrom(ByteBuffer buffer) {
+        long[] words = new long[WORDS];
+        buffer.asLongBuffer().get(words);
+        buffer.position(buffer.position() + WORDS * Long.BYTES);
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality == 0) {
+            throw new IllegalArgumentException("Empty bitmap container");
+        }
+        BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+        return cardinality <= ARRAY_MAX_SIZE ? bitmap.toArray() : bitmap;
+    }
+
+    ArrayContainer toArray() {
+        char[] values = new char[cardinality];
+        int k = 0;
+        for (int i = 0; i < WORDS; ++i) {
+            long word = words[i];
+            while (word != 0) {
+                values[k++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, k);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof BitmapContainer that
+                && cardinality == that.cardinality
+                && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+}
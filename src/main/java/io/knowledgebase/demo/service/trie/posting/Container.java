@@ -0,0 +1,51 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.LongConsumer;
+
+abstract class Container {
+
+    static final int ARRAY_MAX_SIZE = 4096;
+    static final byte ARRAY = 0;
+    static final byte BITMAP = 1;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract Container ior(Container other);
+
+    abstract Container and(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract boolean intersects(Container other);
+
+    abstract Container copy();
+
+    abstract void forEach(long high, LongConsumer consumer);
+
+    abstract int fill(long high, long[] target, int offset);
+
+    abstract void writeTo(DataOutput out) throws IOException;
+
+    static Container readFrom(ByteBuffer buffer) {
+        byte type = buffer.get();
+        return switch (type) {
+            case ARRAY -> ArrayContainer.readFrom(buffer);
+            case BITMAP -> BitmapContainer.readFrom(buffer);
+            default -> throw new IllegalArgumentException("Unknown posting container type " + type);
+        };
+    }
+
+    boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+}
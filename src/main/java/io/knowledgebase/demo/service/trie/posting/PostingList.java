@@ -0,0 +1,350 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+public final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 2;
+    private static final int MIN_CONTAINER_BYTES = Long.BYTES + Byte.BYTES + Short.BYTES + Character.BYTES;
+
+    private long[] keys;
+    private Container[] containers;
+    private int size;
+
+    public PostingList() {
+        this(new long[INITIAL_CAPACITY], new Container[INITIAL_CAPACITY], 0);
+    }
+
+    private PostingList(long[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public static PostingList of(long... ids) {
+        PostingList postingList = new PostingList();
+        for (long id : ids) {
+            postingList.add(id);
+        }
+        return postingList;
+    }
+
+    public static PostingList union(Collection<PostingList> postingLists) {
+        PostingList result = new PostingList();
+        for (PostingList postingList : postingLists) {
+            result.or(postingList);
+        }
+        return result;
+    }
+
+    public boolean add(long id) {
+        long high = id >>> 16;
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertAt(index, high, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) id);
+        return containers[index].cardinality() > before;
+    }
+
+    public boolean remove(long id) {
+        int index = indexOf(id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container updated = container.remove((char) id);
+        if (updated.isEmpty()) {
+            removeAt(index);
+        } else {
+            containers[index] = updated;
+        }
+        return updated.cardinality() < before;
+    }
+
+    public boolean contains(long id) {
+        int index = indexOf(id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; ++i) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public PostingList or(PostingList other) {
+        if (other == this || other.size == 0) {
+            return this;
+        }
+        int added = 0;
+        int i = 0;
+        int j = 0;
+        while (j < other.size) {
+            if (i < size && keys[i] < other.keys[j]) {
+                ++i;
+            } else if (i < size && keys[i] == other.keys[j]) {
+                containers[i] = containers[i].ior(other.containers[j]);
+                ++i;
+                ++j;
+            } else {
+                ++added;
+                ++j;
+            }
+        }
+        if (added == 0) {
+            return this;
+        }
+
+        int merged = size + added;
+        if (merged > keys.length) {
+            int capacity = Math.max(merged, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        i = size - 1;
+        j = other.size - 1;
+        int k = merged - 1;
+        while (j >= 0) {
+            long key = other.keys[j];
+            if (i >= 0 && keys[i] > key) {
+                keys[k] = keys[i];
+                containers[k--] = containers[i--];
+            } else if (i >= 0 && keys[i] == key) {
+                keys[k] = keys[i];
+                containers[k--] = containers[i--];
+                --j;
+            } else {
+                keys[k] = key;
+                containers[k--] = other.containers[j--].copy();
+            }
+        }
+        size = merged;
+        return this;
+    }
+
+    // Shares the untouched containers of this list, so the result and this list must not be mutated afterwards.
+    public PostingList withAll(PostingList other) {
+        int capacity = Math.max(INITIAL_CAPACITY, size + other.size);
+        PostingList result = new PostingList(new long[capacity], new Container[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                result.keys[result.size] = keys[i];
+                result.containers[result.size++] = containers[i++];
+            } else if (i == size || other.keys[j] < keys[i]) {
+                result.keys[result.size] = other.keys[j];
+                result.containers[result.size++] = other.containers[j++].copy();
+            } else {
+                result.keys[result.size] = keys[i];
+                result.containers[result.size++] = containers[i++].copy().ior(other.containers[j++]);
+            }
+        }
+        return result;
+    }
+
+    // Same sharing rules as withAll; returns this list when the id is absent.
+    public PostingList without(long id) {
+        int index = indexOf(id >>> 16);
+        if (index < 0 || !containers[index].contains((char) id)) {
+            return this;
+        }
+        PostingList result = new PostingList(keys.clone(), containers.clone(), size);
+        Container updated = containers[index].copy().remove((char) id);
+        if (updated.isEmpty()) {
+            result.removeAt(index);
+        } else {
+            result.containers[index] = updated;
+        }
+        return result;
+    }
+
+    public PostingList and(PostingList other) {
+        int capacity = Math.max(INITIAL_CAPACITY, Math.min(size, other.size));
+        PostingList result = new PostingList(new long[capacity], new Container[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            int compare = Long.compare(keys[i], other.keys[j]);
+            if (compare == 0) {
+                Container intersection = containers[i].and(other.containers[j]);
+                if (!intersection.isEmpty()) {
+                    result.keys[result.size] = keys[i];
+                    result.containers[result.size++] = intersection;
+                }
+                ++i;
+                ++j;
+            } else if (compare < 0) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return result;
+    }
+
+    public boolean intersects(PostingList other) {
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            int compare = Long.compare(keys[i], other.keys[j]);
+            if (compare == 0) {
+                if (containers[i].intersects(other.containers[j])) {
+                    return true;
+                }
+                ++i;
+                ++j;
+            } else if (compare < 0) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return false;
+    }
+
+    public PostingList andNot(PostingList other) {
+        int capacity = Math.max(INITIAL_CAPACITY, size);
+        PostingList result = new PostingList(new long[capacity], new Container[capacity], 0);
+        int j = 0;
+        for (int i = 0; i < size; ++i) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                ++j;
+            }
+            Container difference = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (!difference.isEmpty()) {
+                result.keys[result.size] = keys[i];
+                result.containers[result.size++] = difference;
+            }
+        }
+        return result;
+    }
+
+    public PostingList copy() {
+        Container[] copied = new Container[Math.max(INITIAL_CAPACITY, size)];
+        for (int i = 0; i < size; ++i) {
+            copied[i] = containers[i].copy();
+        }
+        return new PostingList(Arrays.copyOf(keys, copied.length), copied, size);
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < size; ++i) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    public long[] toArray() {
+        long[] ids = new long[Math.toIntExact(cardinality())];
+        int offset = 0;
+        for (int i = 0; i < size; ++i) {
+            offset = containers[i].fill(keys[i] << 16, ids, offset);
+        }
+        return ids;
+    }
+
+    // Containers are written as they are: sorted chars for sparse ones, the raw 8 KB bitmap for dense ones.
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; ++i) {
+            out.writeLong(keys[i]);
+            containers[i].writeTo(out);
+        }
+    }
+
+    public static PostingList readFrom(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / MIN_CONTAINER_BYTES) {
+            throw new IllegalArgumentException("Invalid posting list container count " + count);
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, count);
+        PostingList result = new PostingList(new long[capacity], new Container[capacity], 0);
+        for (int i = 0; i < count; ++i) {
+            long key = buffer.getLong();
+            if (i > 0 && key <= result.keys[i - 1]) {
+                throw new IllegalArgumentException("Posting list container keys are not strictly ascending");
+            }
+            result.keys[i] = key;
+            result.containers[result.size++] = Container.readFrom(buffer);
+        }
+        return result;
+    }
+
+    public LongStream stream() {
+        return LongStream.of(toArray());
+    }
+
+    private int indexOf(long high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertAt(int index, long high, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        ++size;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PostingList that) || size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; ++i) {
+            if (keys[i] != that.keys[i] || !containers[i].equals(that.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; ++i) {
+            hash = 31 * hash + Long.hashCode(keys[i]);
+            hash = 31 * hash + containers[i].hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,163 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import java.util.Arrays;
+
+public final class ScoreAccumulator {
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 15;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] scores;
+    private int size;
+    private int shift;
+
+    public ScoreAccumulator() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public void clear() {
+        if (keys.length > MAX_RETAINED_CAPACITY) {
+            allocate(DEFAULT_CAPACITY);
+        } else if (size > 0) {
+            Arrays.fill(scores, 0);
+            size = 0;
+        }
+    }
+
+    public void addAll(PostingList postings) {
+        postings.forEach(this::increment);
+    }
+
+    public void increment(long id) {
+        int mask = keys.length - 1;
+        int slot = slot(id);
+        while (scores[slot] != 0) {
+            if (keys[slot] == id) {
+                ++scores[slot];
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        scores[slot] = 1;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public int score(long id) {
+        int mask = keys.length - 1;
+        int slot = slot(id);
+        while (scores[slot] != 0) {
+            if (keys[slot] == id) {
+                return scores[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    public long[] topK(int k) {
+        int limit = Math.min(k, size);
+        int[] heap = new int[limit];
+        int heapSize = 0;
+        for (int slot = 0; slot < keys.length && limit > 0; ++slot) {
+            if (scores[slot] == 0) {
+                continue;
+            }
+            if (heapSize < limit) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize++);
+            } else if (ranksBefore(slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(heap, heapSize);
+            }
+        }
+        long[] ranked = new long[heapSize];
+        for (int i = heapSize - 1; i >= 0; --i) {
+            ranked[i] = keys[heap[0]];
+            heap[0] = heap[i];
+            siftDown(heap, i);
+        }
+        return ranked;
+    }
+
+    private boolean ranksBefore(int left, int right) {
+        return scores[left] != scores[right] ? scores[left] > scores[right] : keys[left] < keys[right];
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], slot)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        int index = 0;
+        int slot = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && ranksBefore(heap[child], heap[child + 1])) {
+                ++child;
+            }
+            if (!ranksBefore(slot, heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (heapSize > 0) {
+            heap[index] = slot;
+        }
+    }
+
+    private int slot(long id) {
+        return (int) ((id * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        scores = new int[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1L);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldScores = scores;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldScores[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (scores[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                scores[slot] = oldScores[i];
+                ++size;
+            }
+        }
+    }
+
+}
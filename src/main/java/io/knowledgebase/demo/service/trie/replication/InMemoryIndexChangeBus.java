@@ -0,0 +1,36 @@
+package io.knowledgebase.demo.service.trie.replication;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class InMemoryIndexChangeBus implements IndexChangeBus {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Consumer<IndexChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public IndexChangeEvent publish(IndexChangeEvent event) {
+        IndexChangeEvent sequenced = event.withSequence(sequence.incrementAndGet());
+        listeners.forEach(listener -> listener.accept(sequenced));
+        return sequenced;
+    }
+
+    @Override
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    // Delivery is synchronous, so there is never a gap to fill.
+    @Override
+    public boolean replay(long fromSequence, long toSequence, Consumer<IndexChangeEvent> consumer) {
+        return false;
+    }
+
+    @Override
+    public void subscribe(Consumer<IndexChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+}
@@ -0,0 +1,15 @@
+package io.knowledgebase.demo.service.trie.replication;
+
+import java.util.function.Consumer;
+
+public interface IndexChangeBus {
+
+    IndexChangeEvent publish(IndexChangeEvent event);
+
+    long lastSequence();
+
+    boolean replay(long fromSequence, long toSequence, Consumer<IndexChangeEvent> consumer);
+
+    void subscribe(Consumer<IndexChangeEvent> listener);
+
+}
@@ -0,0 +1,36 @@
+package io.knowledgebase.demo.service.trie.replication;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+public record IndexChangeEvent(long sequence,
+                               UUID origin,
+                               Type type,
+                               long faqId,
+                               long version,
+                               boolean active,
+                               List<String> keywords) {
+
+    public enum Type {
+        INDEX,
+        UNINDEX
+    }
+
+    public static IndexChangeEvent of(Type type, long faqId, LocalDateTime updatedAt, Boolean active,
+                                      List<String> normalizedKeywords) {
+        long version = updatedAt == null ? 0 : updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return new IndexChangeEvent(0, null, type, faqId, version, !Boolean.FALSE.equals(active),
+                List.copyOf(normalizedKeywords));
+    }
+
+    public IndexChangeEvent withOrigin(UUID origin) {
+        return new IndexChangeEvent(sequence, origin, type, faqId, version, active, keywords);
+    }
+
+    public IndexChangeEvent withSequence(long sequence) {
+        return new IndexChangeEvent(sequence, origin, type, faqId, version, active, keywords);
+    }
+
+}
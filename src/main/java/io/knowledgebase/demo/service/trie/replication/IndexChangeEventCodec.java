@@ -0,0 +1,87 @@
+package io.knowledgebase.demo.service.trie.replication;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class IndexChangeEventCodec {
+
+    private static final byte FORMAT_VERSION = 3;
+    private static final int HEADER_BYTES = Byte.BYTES * 3 + Long.BYTES * 5 + Short.BYTES;
+    private static final int MAX_KEYWORDS = 0xFFFF;
+    private static final int MAX_KEYWORD_BYTES = 0xFFFF;
+
+    private static final IndexChangeEvent.Type[] TYPES = IndexChangeEvent.Type.values();
+
+    private IndexChangeEventCodec() {
+    }
+
+    public static byte[] encode(IndexChangeEvent event) {
+
+        if (event.keywords().size() > MAX_KEYWORDS) {
+            throw new IllegalArgumentException("Too many keywords for index change event " + event.faqId());
+        }
+        List<byte[]> keywords = new ArrayList<>(event.keywords().size());
+        int size = HEADER_BYTES;
+        for (String keyword : event.keywords()) {
+            byte[] bytes = keyword.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_KEYWORD_BYTES) {
+                throw new IllegalArgumentException("Keyword is too long for index change event: " + bytes.length);
+            }
+            keywords.add(bytes);
+            size += Short.BYTES + bytes.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .put(FORMAT_VERSION)
+                .putLong(event.sequence())
+                .putLong(event.origin().getMostSignificantBits())
+                .putLong(event.origin().getLeastSignificantBits())
+                .put((byte) event.type().ordinal())
+                .putLong(event.faqId())
+                .putLong(event.version())
+                .put((byte) (event.active() ? 1 : 0))
+                .putShort((short) keywords.size());
+        for (byte[] keyword : keywords) {
+            buffer.putShort((short) keyword.length).put(keyword);
+        }
+        return buffer.array();
+    }
+
+    public static IndexChangeEvent decode(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported index change event version " + version);
+            }
+            long sequence = buffer.getLong();
+            UUID origin = new UUID(buffer.getLong(), buffer.getLong());
+            int type = buffer.get();
+            if (type < 0 || type >= TYPES.length) {
+                throw new IllegalArgumentException("Unknown index change event type " + type);
+            }
+            long faqId = buffer.getLong();
+            long docVersion = buffer.getLong();
+            boolean active = buffer.get() != 0;
+            int count = Short.toUnsignedInt(buffer.getShort());
+            List<String> keywords = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                byte[] keyword = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(keyword);
+                keywords.add(new String(keyword, StandardCharsets.UTF_8));
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Index change event has trailing bytes");
+            }
+            return new IndexChangeEvent(sequence, origin, TYPES[type], faqId, docVersion, active,
+                    List.copyOf(keywords));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Index change event is truncated", e);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package io.knowledgebase.demo.service.trie.replication;
+
+import io.knowledgebase.demo.config.props.IndexReplicationProps;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Log4j2
+public class RedisIndexChangeBus implements IndexChangeBus, MessageListener {
+
+    public static final String CHANNEL = "faq-service:trie-changes";
+
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_FIELD = "event".getBytes(StandardCharsets.UTF_8);
+
+    // Allocates the sequence, appends the event to the stream and publishes it in one atomic step.
+    // The codec stores the sequence right after the format byte, so the script splices it in there.
+    private static final RedisScript<Long> PUBLISH_SCRIPT = RedisScript.of("""
+            local sequence = redis.call('INCR', KEYS[1])
+            local payload = string.sub(ARGV[1], 1, 1) .. struct.pack('>i8', sequence) .. string.sub(ARGV[1], 10)
+            redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[2], string.format('%d-0', sequence), 'event', payload)
+            redis.call('PUBLISH', ARGV[3], payload)
+            return sequence
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String sequenceKey;
+    private final String streamKey;
+    private final byte[] streamKeyBytes;
+    private final byte[] streamMaxLength;
+    private final List<Consumer<IndexChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisIndexChangeBus(StringRedisTemplate stringRedisTemplate, IndexReplicationProps indexReplicationProps) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.sequenceKey = indexReplicationProps.getSequenceKey();
+        this.streamKey = indexReplicationProps.getStreamKey();
+        this.streamKeyBytes = streamKey.getBytes(StandardCharsets.UTF_8);
+        this.streamMaxLength = Long.toString(indexReplicationProps.getStreamMaxLength())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public IndexChangeEvent publish(IndexChangeEvent event) {
+        Long sequence = stringRedisTemplate.execute(PUBLISH_SCRIPT, RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class), List.of(sequenceKey, streamKey),
+                IndexChangeEventCodec.encode(event), streamMaxLength, CHANNEL_BYTES);
+        if (sequence == null) {
+            throw new IllegalStateException("No sequence allocated for index change of FAQ doc " + event.faqId());
+        }
+        return event.withSequence(sequence);
+    }
+
+    @Override
+    public long lastSequence() {
+        String sequence = stringRedisTemplate.opsForValue().get(sequenceKey);
+        return sequence == null ? 0 : Long.parseLong(sequence);
+    }
+
+    @Override
+    public boolean replay(long fromSequence, long toSequence, Consumer<IndexChangeEvent> consumer) {
+        List<ByteRecord> records = stringRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRange(streamKeyBytes,
+                        Range.closed(fromSequence + "-0", toSequence + "-0")));
+        if (records == null || records.size() != toSequence - fromSequence + 1) {
+            log.warn("Index change stream {} no longer holds sequences {}..{}", streamKey, fromSequence, toSequence);
+            return false;
+        }
+        List<IndexChangeEvent> events = new ArrayList<>(records.size());
+        for (ByteRecord record : records) {
+            try {
+                events.add(IndexChangeEventCodec.decode(eventPayload(record)));
+            } catch (IllegalArgumentException e) {
+                log.warn("Malformed index change {} in stream {}", record.getId(), streamKey, e);
+                return false;
+            }
+        }
+        events.forEach(consumer);
+        return true;
+    }
+
+    @Override
+    public void subscribe(Consumer<IndexChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        IndexChangeEvent event;
+        try {
+            event = IndexChangeEventCodec.decode(message.getBody());
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping malformed index change event from {}", CHANNEL, e);
+            return;
+        }
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    private static byte[] eventPayload(ByteRecord record) {
+        for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+            if (Arrays.equals(field.getKey(), EVENT_FIELD)) {
+                return field.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Index change has no event field");
+    }
+
+}
@@ -0,0 +1,17 @@
+CREATE TABLE faq_outbox
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    faq_id       BIGINT                                  NOT NULL,
+    operation    VARCHAR(16)                             NOT NULL,
+    created_at   TIMESTAMP WITHOUT TIME ZONE             NOT NULL DEFAULT now(),
+    processed_at TIMESTAMP WITHOUT TIME ZONE,
+    attempts     INTEGER                                 NOT NULL DEFAULT 0,
+    last_error   TEXT,
+    CONSTRAINT pk_faq_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_faq_outbox_pending ON faq_outbox (id) WHERE processed_at IS NULL;
+
+CREATE INDEX idx_faq_outbox_pending_faq ON faq_outbox (faq_id, id) WHERE processed_at IS NULL;
+
+CREATE INDEX idx_faq_outbox_processed_at ON faq_outbox (processed_at) WHERE processed_at IS NOT NULL;
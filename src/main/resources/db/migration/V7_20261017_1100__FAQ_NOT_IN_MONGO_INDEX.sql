@@ -0,0 +1 @@
+CREATE INDEX idx_faq_not_in_mongo ON faq (id) WHERE in_mongo = false;
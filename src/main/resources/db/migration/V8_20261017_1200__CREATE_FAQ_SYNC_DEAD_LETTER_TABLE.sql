@@ -0,0 +1,12 @@
+CREATE TABLE faq_sync_dead_letter
+(
+    faq_id         BIGINT                      NOT NULL,
+    faq_updated_at TIMESTAMP WITHOUT TIME ZONE,
+    attempts       INTEGER                     NOT NULL,
+    last_error     TEXT,
+    created_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT pk_faq_sync_dead_letter PRIMARY KEY (faq_id)
+);
+
+ALTER TABLE faq_sync_dead_letter
+    ADD CONSTRAINT FK_FAQ_SYNC_DEAD_LETTER_ON_FAQ FOREIGN KEY (faq_id) REFERENCES faq (id) ON DELETE CASCADE;
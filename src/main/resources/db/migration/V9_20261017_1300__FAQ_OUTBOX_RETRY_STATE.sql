@@ -0,0 +1,13 @@
+ALTER TABLE faq_outbox
+    ADD COLUMN next_attempt_at TIMESTAMP WITHOUT TIME ZONE,
+    ADD COLUMN parked_at       TIMESTAMP WITHOUT TIME ZONE;
+
+DROP INDEX idx_faq_outbox_pending;
+
+DROP INDEX idx_faq_outbox_pending_faq;
+
+CREATE INDEX idx_faq_outbox_pending ON faq_outbox (id) WHERE processed_at IS NULL AND parked_at IS NULL;
+
+CREATE INDEX idx_faq_outbox_pending_faq ON faq_outbox (faq_id, id) WHERE processed_at IS NULL AND parked_at IS NULL;
+
+CREATE INDEX idx_faq_outbox_parked_at ON faq_outbox (parked_at) WHERE parked_at IS NOT NULL;
@@ -0,0 +1,83 @@
+package io.knowledgebase.demo.config.serializer;
+
+import io.knowledgebase.demo.config.RedisConfig;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FaqPreviewRedisSerializerTest {
+
+    private final RedisSerializer<Object> serializer = new FaqPreviewRedisSerializer();
+
+    @Test
+    @DisplayName("Round trip - all fields, including Unicode text and large ids, survive encoding")
+    void serialize_ShouldRoundTripPreview() {
+
+        FaqPreviewDto preview = FaqPreviewDto.builder()
+                .id(Long.MAX_VALUE)
+                .question("Как оформить отпуск? 🏖")
+                .keywords(List.of("отпуск", "vacation", ""))
+                .active(false)
+                .build();
+
+        byte[] bytes = serializer.serialize(preview);
+
+        assertThat(bytes[0]).isEqualTo(FaqPreviewRedisSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(FaqPreviewRedisSerializer.VERSION);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(preview);
+    }
+
+    @Test
+    @DisplayName("Round trip - null fields stay null")
+    void serialize_ShouldRoundTripNullFields() {
+
+        FaqPreviewDto preview = FaqPreviewDto.builder().id(-7L).build();
+
+        assertThat(serializer.deserialize(serializer.serialize(preview))).isEqualTo(preview);
+        assertThat(serializer.serialize(null)).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Size - binary encoding is a fraction of the default-typed JSON")
+    void serialize_ShouldBeSmallerThanDefaultTypedJson() {
+
+        FaqPreviewDto preview = FaqPreviewDto.builder()
+                .id(1234L)
+                .question("How do I request VPN access?")
+                .keywords(List.of("vpn", "access", "network"))
+                .active(true)
+                .build();
+        ByteBuffer json = new RedisConfig(null).cacheConfiguration().getValueSerializationPair().write(preview);
+
+        // 3 header bytes, 2-byte zigzag id, then length-prefixed question and keywords
+        assertThat(serializer.serialize(preview)).hasSize(3 + 2 + (1 + 28) + 1 + (1 + 3) + (1 + 6) + (1 + 7));
+        assertThat(serializer.serialize(preview).length).isLessThan(json.remaining() / 2);
+    }
+
+    @Test
+    @DisplayName("Deserialize - foreign formats are treated as misses, corrupted payloads are rejected")
+    void deserialize_ShouldHandleForeignAndCorruptedPayloads() {
+
+        byte[] bytes = serializer.serialize(FaqPreviewDto.builder().id(1L).question("question").build());
+
+        assertThat(serializer.deserialize("{\"@class\":\"x\"}".getBytes())).isNull();
+        assertThat(serializer.deserialize(new byte[]{FaqPreviewRedisSerializer.MAGIC, 99, 0})).isNull();
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length + 1)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.serialize("not a preview"))
+                .isInstanceOf(SerializationException.class);
+    }
+
+}
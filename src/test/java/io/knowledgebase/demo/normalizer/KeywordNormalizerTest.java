@@ -2,20 +2,31 @@ package io.knowledgebase.demo.normalizer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class KeywordNormalizerTest {
 
+    private static final Pattern NON_LETTER_PATTERN = Pattern.compile("[^\\p{L}*]");
+    private static final String ALPHABET = "aZ*-_ .1!йЁßİΣσﬁＲé\u0301\u00A0\t";
+
     private KeywordNormalizer normalizer;
 
     @BeforeEach
@@ -53,6 +64,57 @@ class KeywordNormalizerTest {
         assertTrue(normalizer.isValid(input));
     }
 
+    @Test
+    @DisplayName("Normalize - already normalized input is returned without copying")
+    void normalize_ShouldReturnSameInstance_ForNormalizedInput() {
+        String ascii = "spring*";
+        String cyrillic = "отпуск";
+        assertSame(ascii, normalizer.normalize(ascii));
+        assertSame(cyrillic, normalizer.normalize(cyrillic));
+    }
+
+    @Test
+    @DisplayName("Normalize - single-pass normalizer matches the NFKC + regex pipeline")
+    void normalize_ShouldMatchRegexPipeline_ForRandomInput() {
+        Random random = new Random(5);
+        for (int i = 0; i < 20_000; ++i) {
+            StringBuilder term = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; ++j) {
+                term.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            String input = term.toString();
+            assertEquals(legacyNormalize(input), normalizer.normalize(input), "input: '" + input + "'");
+            assertEquals(legacyTokenize(input), normalizer.tokenize(input), "query: '" + input + "'");
+        }
+    }
+
+    @Test
+    @DisplayName("Tokenize - splits on whitespace and keeps only valid normalized terms")
+    void tokenize_ShouldSplitAndNormalizeTerms() {
+        assertEquals(List.of("spring*", "boot", "отпуск"), normalizer.tokenize("  Spring*\tBOOT 123 Отпуск\n"));
+        assertEquals(List.of(), normalizer.tokenize(null));
+        assertEquals(List.of(), normalizer.tokenize(" \t "));
+    }
+
+    private static String legacyNormalize(String term) {
+        String normalized = Normalizer.normalize(term, Normalizer.Form.NFKC);
+        normalized = NON_LETTER_PATTERN.matcher(normalized).replaceAll("");
+        if (normalized.endsWith("*")) {
+            normalized = normalized.substring(0, normalized.length() - 1).replace("*", "") + "*";
+        } else {
+            normalized = normalized.replace("*", "");
+        }
+        return normalized.toLowerCase(Locale.ROOT);
+    }
+
+    private List<String> legacyTokenize(String query) {
+        return Arrays.stream(query.split("\\s+"))
+                .map(KeywordNormalizerTest::legacyNormalize)
+                .filter(normalizer::isValid)
+                .toList();
+    }
+
     private static Stream<Arguments> provideNormalizationTestCases() {
         return Stream.of(
                 Arguments.of("HELLO", "hello"),
@@ -0,0 +1,115 @@
+package io.knowledgebase.demo.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.knowledgebase.demo.document.FaqDoc;
+import io.knowledgebase.demo.entity.Faq;
+import io.knowledgebase.demo.mapper.FaqDocMapper;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.FaqRepository;
+import io.knowledgebase.demo.service.impl.FaqDocServiceImpl;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FaqDocServiceTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private TrieRedisSearchService trieRedisSearchService;
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Mock
+    private FaqRepository faqRepository;
+
+    @Mock
+    private FaqDocMapper faqDocMapper;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private FaqDocService faqDocService;
+
+    @BeforeEach
+    void setUp() {
+        faqDocService = new FaqDocServiceImpl(trieRedisSearchService, faqDocRepository, faqRepository, faqDocMapper,
+                mongoTemplate);
+        lenient().when(faqDocMapper.fromFaqToFaqDoc(any())).thenAnswer(invocation -> {
+            Faq faq = invocation.getArgument(0);
+            return FaqDoc.builder().id(faq.getId()).updatedAt(faq.getUpdatedAt()).keywords(List.of("java")).build();
+        });
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaqDoc.class))
+                .thenReturn(bulkOperations);
+    }
+
+    @Test
+    @DisplayName("Sync docs - docs rejected by the version guard are neither reported as written nor reindexed")
+    void syncFaqDocs_ShouldSkipStaleVersions() {
+
+        FaqDoc previous = FaqDoc.builder().id(1L).updatedAt(UPDATED_AT.minusDays(1)).keywords(List.of("old")).build();
+        when(faqDocRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(previous));
+        BulkWriteError stale = new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("stale", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), List.of(stale), null, new ServerAddress(), Set.of())));
+
+        List<Long> written = faqDocService.syncFaqDocs(List.of(faq(1L), faq(2L)));
+
+        assertThat(written).containsExactly(1L);
+        ArgumentCaptor<Collection<FaqDoc>> current = ArgumentCaptor.captor();
+        verify(trieRedisSearchService).reindexFaqDocs(eq(List.of(previous)), current.capture());
+        assertThat(current.getValue()).extracting(FaqDoc::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Sync doc - a write rejected by the version guard leaves the index untouched")
+    void syncFaqDoc_ShouldSkipIndexing_WhenNewerVersionIsStored() {
+
+        when(faqDocRepository.findById(1L)).thenReturn(Optional.of(FaqDoc.builder().id(1L).build()));
+        when(mongoTemplate.findAndReplace(any(Query.class), any(FaqDoc.class), any(FindAndReplaceOptions.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        faqDocService.syncFaqDoc(faq(1L));
+
+        verify(trieRedisSearchService, never()).unindexFaqDoc(any());
+        verify(trieRedisSearchService, never()).indexFaqDoc(any());
+    }
+
+    private static Faq faq(long id) {
+        return Faq.builder().id(id).updatedAt(UPDATED_AT).build();
+    }
+
+}
@@ -0,0 +1,154 @@
+package io.knowledgebase.demo.service;
+
+import io.knowledgebase.demo.config.props.FaqOutboxProps;
+import io.knowledgebase.demo.entity.Faq;
+import io.knowledgebase.demo.entity.FaqOutbox;
+import io.knowledgebase.demo.enums.OutboxOperation;
+import io.knowledgebase.demo.repository.FaqOutboxRepository;
+import io.knowledgebase.demo.repository.FaqRepository;
+import io.knowledgebase.demo.service.impl.FaqOutboxServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FaqOutboxServiceTest {
+
+    @Mock
+    private FaqOutboxRepository faqOutboxRepository;
+
+    @Mock
+    private FaqRepository faqRepository;
+
+    @Mock
+    private FaqDocService faqDocService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FaqOutboxProps faqOutboxProps;
+    private SimpleMeterRegistry meterRegistry;
+    private FaqOutboxService faqOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        faqOutboxProps = new FaqOutboxProps();
+        faqOutboxProps.setBatchSize(3);
+        meterRegistry = new SimpleMeterRegistry();
+        faqOutboxService = new FaqOutboxServiceImpl(faqOutboxRepository, faqRepository, faqDocService,
+                transactionTemplate, faqOutboxProps, meterRegistry);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Relay pending - upserts FAQs that still exist, deletes the rest and marks entries processed")
+    void relayPending_ShouldSyncCurrentStateAndMarkProcessed() {
+
+        Faq faq = Faq.builder().id(1L).build();
+        when(faqOutboxRepository.lockPendingBatch(eq(3), any())).thenReturn(List.of(
+                entry(10L, 1L, OutboxOperation.UPSERT),
+                entry(11L, 2L, OutboxOperation.DELETE)
+        ));
+        when(faqRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(faq));
+
+        int relayed = faqOutboxService.relayPending();
+
+        assertThat(relayed).isEqualTo(2);
+        verify(faqDocService).moveFaqToMongo(faq);
+        verify(faqDocService).deleteFaqDoc(2L);
+        verify(faqOutboxRepository).claim(eq(List.of(10L, 11L)), any());
+        verify(faqOutboxRepository).markProcessed(eq(List.of(10L)), any());
+        verify(faqOutboxRepository).markProcessed(eq(List.of(11L)), any());
+        verify(faqOutboxRepository, times(1)).lockPendingBatch(anyInt(), any());
+        assertThat(meterRegistry.get("faq.outbox.relayed").tag("result", "success").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Relay pending - a failing entry is backed off in its own transaction while the rest of the batch commits")
+    void relayPending_ShouldKeepFailedEntriesPending() {
+
+        Faq broken = Faq.builder().id(1L).build();
+        Faq healthy = Faq.builder().id(2L).build();
+        when(faqOutboxRepository.lockPendingBatch(eq(3), any())).thenReturn(List.of(
+                entry(10L, 1L, OutboxOperation.UPSERT),
+                entry(11L, 2L, OutboxOperation.UPSERT)
+        ));
+        when(faqRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(broken, healthy));
+        doThrow(new IllegalStateException("mongo is down")).when(faqDocService).moveFaqToMongo(broken);
+
+        faqOutboxService.relayPending();
+
+        verify(faqOutboxRepository).markFailed(eq(10L), startsWith("java.lang.IllegalStateException: mongo is down"),
+                notNull(), isNull());
+        verify(faqOutboxRepository).markProcessed(eq(List.of(11L)), any());
+        verify(transactionTemplate, times(4)).execute(any());
+        assertThat(meterRegistry.get("faq.outbox.relayed").tag("result", "failure").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Relay pending - keeps draining full batches up to the per-run limit")
+    void relayPending_ShouldDrainFullBatches() {
+
+        faqOutboxProps.setMaxBatchesPerRun(2);
+        List<FaqOutbox> fullBatch = LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> entry(id, id, OutboxOperation.DELETE))
+                .toList();
+        when(faqOutboxRepository.lockPendingBatch(eq(3), any())).thenReturn(fullBatch);
+
+        int relayed = faqOutboxService.relayPending();
+
+        assertThat(relayed).isEqualTo(6);
+        verify(faqOutboxRepository, times(2)).lockPendingBatch(eq(3), any());
+        verify(faqDocService, never()).moveFaqToMongo(any());
+    }
+
+    @Test
+    @DisplayName("Relay pending - an entry that exhausts its attempts is parked instead of rescheduled")
+    void relayPending_ShouldParkExhaustedEntries() {
+
+        faqOutboxProps.setMaxAttempts(3);
+        FaqOutbox exhausted = entry(10L, 1L, OutboxOperation.DELETE);
+        exhausted.setAttempts(2);
+        when(faqOutboxRepository.lockPendingBatch(eq(3), any())).thenReturn(List.of(exhausted));
+        doThrow(new IllegalStateException("mongo is down")).when(faqDocService).deleteFaqDoc(1L);
+
+        faqOutboxService.relayPending();
+
+        verify(faqOutboxRepository).markFailed(eq(10L), startsWith("java.lang.IllegalStateException"), isNull(),
+                notNull());
+        verify(faqOutboxRepository, never()).markProcessed(any(), any());
+        assertThat(meterRegistry.get("faq.outbox.relayed").tag("result", "parked").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static FaqOutbox entry(Long id, Long faqId, OutboxOperation operation) {
+        return FaqOutbox.builder().id(id).faqId(faqId).operation(operation).build();
+    }
+
+}
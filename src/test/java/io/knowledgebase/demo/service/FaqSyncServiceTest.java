@@ -0,0 +1,304 @@
+package io.knowledgebase.demo.service;
+
+import io.knowledgebase.demo.config.props.FaqSyncProps;
+import io.knowledgebase.demo.entity.Faq;
+import io.knowledgebase.demo.entity.FaqSyncDeadLetter;
+import io.knowledgebase.demo.repository.FaqRepository;
+import io.knowledgebase.demo.repository.FaqSyncDeadLetterRepository;
+import io.knowledgebase.demo.service.impl.FaqSyncServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FaqSyncServiceTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private FaqDocService faqDocService;
+
+    @Mock
+    private FaqRepository faqRepository;
+
+    @Mock
+    private FaqSyncDeadLetterRepository faqSyncDeadLetterRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PartitionLeaseService partitionLeaseService;
+
+    private FaqSyncProps faqSyncProps;
+    private SimpleMeterRegistry meterRegistry;
+    private FaqSyncService faqSyncService;
+
+    @BeforeEach
+    void setUp() {
+        faqSyncProps = new FaqSyncProps();
+        faqSyncProps.setChunkSize(3);
+        faqSyncProps.setMaxAttempts(3);
+        faqSyncProps.setInitialBackoff(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        faqSyncService = newService();
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(faqRepository.findOldestUnsyncedUpdatedAt()).thenReturn(Optional.empty());
+        lenient().when(partitionLeaseService.partitionCount()).thenReturn(1);
+        lenient().when(partitionLeaseService.ownedPartitions()).thenReturn(Set.of(0));
+        lenient().when(partitionLeaseService.renew(0)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - pages by id and writes each chunk in one bulk call")
+    void syncAllUnsyncedFaqs_ShouldProcessKeysetChunks() {
+
+        List<Faq> first = faqs(1, 3);
+        List<Faq> second = faqs(4, 5);
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(first);
+        when(faqRepository.findUnsyncedAfter(3L, 1, 0, Limit.of(3))).thenReturn(second);
+        when(faqDocService.syncFaqDocs(first)).thenReturn(List.of(1L, 2L, 3L));
+        when(faqDocService.syncFaqDocs(second)).thenReturn(List.of(4L, 5L));
+        when(faqRepository.markAllInMongo(any(), any())).thenAnswer(invocation ->
+                invocation.<Long[]>getArgument(0).length);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(5);
+        verify(faqRepository).markAllInMongo(new Long[]{1L, 2L, 3L},
+                new LocalDateTime[]{UPDATED_AT, UPDATED_AT, UPDATED_AT});
+        verify(faqRepository).markAllInMongo(new Long[]{4L, 5L}, new LocalDateTime[]{UPDATED_AT, UPDATED_AT});
+        assertThat(meterRegistry.get("faq.sync.documents").tag("result", "success").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("faq.sync.chunk").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("faq.sync.throughput").summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("faq.sync.run.throughput").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - retries only the documents rejected by the bulk write")
+    void syncAllUnsyncedFaqs_ShouldRetryRejectedDocuments() {
+
+        List<Faq> chunk = faqs(1, 2);
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(chunk);
+        when(faqDocService.syncFaqDocs(chunk)).thenReturn(List.of(2L));
+        when(faqDocService.syncFaqDocs(chunk.subList(0, 1))).thenReturn(List.of(1L));
+        when(faqRepository.markAllInMongo(any(), any())).thenReturn(1);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(2);
+        verify(faqRepository).markAllInMongo(new Long[]{2L}, new LocalDateTime[]{UPDATED_AT});
+        verify(faqRepository).markAllInMongo(new Long[]{1L}, new LocalDateTime[]{UPDATED_AT});
+        assertThat(meterRegistry.get("faq.sync.retries").counter().count()).isEqualTo(1);
+        verifyNoInteractions(faqSyncDeadLetterRepository);
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - counts documents changed since the read as stale")
+    void syncAllUnsyncedFaqs_ShouldCountConcurrentlyUpdatedAsStale() {
+
+        List<Faq> chunk = faqs(1, 2);
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(chunk);
+        when(faqDocService.syncFaqDocs(chunk)).thenReturn(List.of(1L, 2L));
+        when(faqRepository.markAllInMongo(any(), any())).thenReturn(1);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(1);
+        assertThat(meterRegistry.get("faq.sync.documents").tag("result", "stale").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - dead-letters a chunk that keeps failing and continues with the next one")
+    @SuppressWarnings("unchecked")
+    void syncAllUnsyncedFaqs_ShouldDeadLetterAfterMaxAttempts() {
+
+        List<Faq> first = faqs(1, 3);
+        List<Faq> second = faqs(7, 7);
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(first);
+        when(faqRepository.findUnsyncedAfter(3L, 1, 0, Limit.of(3))).thenReturn(second);
+        when(faqDocService.syncFaqDocs(first)).thenThrow(new IllegalStateException("mongo is down"));
+        when(faqDocService.syncFaqDocs(second)).thenReturn(List.of(7L));
+        when(faqRepository.markAllInMongo(new Long[]{7L}, new LocalDateTime[]{UPDATED_AT})).thenReturn(1);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(1);
+        verify(faqDocService, times(3)).syncFaqDocs(first);
+        ArgumentCaptor<List<FaqSyncDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+        verify(faqSyncDeadLetterRepository).saveAll(deadLetters.capture());
+        assertThat(deadLetters.getValue()).extracting(FaqSyncDeadLetter::getFaqId).containsExactly(1L, 2L, 3L);
+        assertThat(deadLetters.getValue()).allSatisfy(deadLetter -> {
+            assertThat(deadLetter.getAttempts()).isEqualTo(3);
+            assertThat(deadLetter.getFaqUpdatedAt()).isEqualTo(UPDATED_AT);
+            assertThat(deadLetter.getLastError()).contains("mongo is down");
+        });
+        assertThat(meterRegistry.get("faq.sync.documents").tag("result", "failure").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("faq.sync.dead.letters").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - runs chunks in parallel but never more than the configured concurrency")
+    void syncAllUnsyncedFaqs_ShouldBoundConcurrentChunks() throws InterruptedException {
+
+        faqSyncProps.setChunkSize(1);
+        faqSyncProps.setConcurrency(2);
+        meterRegistry = new SimpleMeterRegistry();
+        faqSyncService = newService();
+        for (long id = 0; id < 6; ++id) {
+            when(faqRepository.findUnsyncedAfter(id, 1, 0, Limit.of(1))).thenReturn(faqs(id + 1, id + 1));
+        }
+        when(faqRepository.findUnsyncedAfter(6L, 1, 0, Limit.of(1))).thenReturn(List.of());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch overlap = new CountDownLatch(2);
+        when(faqDocService.syncFaqDocs(anyList())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            overlap.countDown();
+            overlap.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return invocation.<List<Faq>>getArgument(0).stream().map(Faq::getId).toList();
+        });
+        when(faqRepository.markAllInMongo(any(), any())).thenReturn(1);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(6);
+        assertThat(peak.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("faq.sync.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - reports the age of the oldest FAQ still waiting as lag")
+    void syncAllUnsyncedFaqs_ShouldReportLag() {
+
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(List.of());
+        when(faqRepository.findOldestUnsyncedUpdatedAt()).thenReturn(Optional.of(LocalDateTime.now().minusMinutes(5)));
+
+        faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(meterRegistry.get("faq.sync.lag").gauge().value()).isGreaterThanOrEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - does nothing when every FAQ is already synced")
+    void syncAllUnsyncedFaqs_ShouldDoNothing_WhenNothingIsPending() {
+
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(List.of());
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isZero();
+        verifyNoInteractions(faqDocService);
+        verify(faqRepository, never()).markAllInMongo(any(), any());
+        assertThat(meterRegistry.get("faq.sync.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - scans only the partitions leased by this node")
+    void syncAllUnsyncedFaqs_ShouldScanOwnedPartitionsOnly() {
+
+        when(partitionLeaseService.partitionCount()).thenReturn(4);
+        when(partitionLeaseService.ownedPartitions()).thenReturn(Set.of(1, 3));
+        when(partitionLeaseService.renew(1)).thenReturn(true);
+        when(partitionLeaseService.renew(3)).thenReturn(true);
+        List<Faq> first = faqs(5, 5);
+        List<Faq> third = faqs(7, 7);
+        when(faqRepository.findUnsyncedAfter(0L, 4, 1, Limit.of(3))).thenReturn(first);
+        when(faqRepository.findUnsyncedAfter(0L, 4, 3, Limit.of(3))).thenReturn(third);
+        when(faqDocService.syncFaqDocs(anyList())).thenAnswer(invocation ->
+                invocation.<List<Faq>>getArgument(0).stream().map(Faq::getId).toList());
+        when(faqRepository.markAllInMongo(any(), any())).thenReturn(1);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(2);
+        verify(faqRepository, never()).findUnsyncedAfter(anyLong(), anyInt(), eq(0), any());
+        verify(faqRepository, never()).findUnsyncedAfter(anyLong(), anyInt(), eq(2), any());
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - stops reading a partition once its lease is lost")
+    void syncAllUnsyncedFaqs_ShouldStop_WhenLeaseIsLost() {
+
+        when(partitionLeaseService.renew(0)).thenReturn(true, false);
+        List<Faq> chunk = faqs(1, 3);
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(chunk);
+        when(faqDocService.syncFaqDocs(chunk)).thenReturn(List.of(1L, 2L, 3L));
+        when(faqRepository.markAllInMongo(any(), any())).thenReturn(3);
+
+        int synced = faqSyncService.syncAllUnsyncedFaqs();
+
+        assertThat(synced).isEqualTo(3);
+        verify(faqRepository, never()).findUnsyncedAfter(eq(3L), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - does nothing while this node holds no partition")
+    void syncAllUnsyncedFaqs_ShouldSkip_WhenNoPartitionIsOwned() {
+
+        when(partitionLeaseService.ownedPartitions()).thenReturn(Set.of());
+
+        assertThat(faqSyncService.syncAllUnsyncedFaqs()).isZero();
+        verify(partitionLeaseService).rebalance();
+        verifyNoInteractions(faqDocService, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Sync all unsynced FAQs - leases partitions itself when it runs before the first heartbeat")
+    void syncAllUnsyncedFaqs_ShouldRebalance_WhenNothingIsOwnedYet() {
+
+        when(partitionLeaseService.ownedPartitions()).thenReturn(Set.of());
+        when(partitionLeaseService.rebalance()).thenReturn(Set.of(0));
+        List<Faq> chunk = faqs(1, 2);
+        when(faqRepository.findUnsyncedAfter(0L, 1, 0, Limit.of(3))).thenReturn(chunk);
+        when(faqDocService.syncFaqDocs(chunk)).thenReturn(List.of(1L, 2L));
+        when(faqRepository.markAllInMongo(any(), any())).thenReturn(2);
+
+        assertThat(faqSyncService.syncAllUnsyncedFaqs()).isEqualTo(2);
+    }
+
+    private FaqSyncService newService() {
+        return new FaqSyncServiceImpl(faqDocService, faqRepository, faqSyncDeadLetterRepository,
+                transactionTemplate, faqSyncProps, partitionLeaseService, meterRegistry);
+    }
+
+    private static List<Faq> faqs(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> Faq.builder().id(id).updatedAt(UPDATED_AT).build())
+                .toList();
+    }
+
+}
@@ -0,0 +1,161 @@
+package io.knowledgebase.demo.service;
+
+import io.knowledgebase.demo.config.props.FaqSyncProps;
+import io.knowledgebase.demo.service.impl.PartitionLeaseServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionLeaseServiceTest {
+
+    private InMemoryShedLock shedLock;
+    private FaqSyncProps faqSyncProps;
+
+    @BeforeEach
+    void setUp() {
+        shedLock = new InMemoryShedLock();
+        faqSyncProps = new FaqSyncProps();
+        faqSyncProps.setPartitions(4);
+    }
+
+    @Test
+    @DisplayName("Rebalance - a single live node leases every partition")
+    void rebalance_ShouldClaimAllPartitions_WhenAlone() {
+
+        PartitionLeaseService node = newNode();
+
+        assertThat(node.rebalance()).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(node.holds(2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rebalance - a joining node gets its fair share once the current owner releases the surplus")
+    void rebalance_ShouldSplitPartitions_WhenNodeJoins() {
+
+        PartitionLeaseService first = newNode();
+        PartitionLeaseService second = newNode();
+
+        first.rebalance();
+        assertThat(second.rebalance()).isEmpty();
+        assertThat(first.rebalance()).hasSize(2);
+        assertThat(second.rebalance()).hasSize(2);
+
+        Set<Integer> all = new HashSet<>(first.ownedPartitions());
+        all.addAll(second.ownedPartitions());
+        assertThat(all).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(first.ownedPartitions()).doesNotContainAnyElementsOf(second.ownedPartitions());
+    }
+
+    @Test
+    @DisplayName("Rebalance - partitions of a node that stopped renewing are taken over after the lease expires")
+    void rebalance_ShouldTakeOverPartitions_WhenNodeDisappears() {
+
+        PartitionLeaseService survivor = newNode();
+        PartitionLeaseService crashed = newNode();
+        survivor.rebalance();
+        crashed.rebalance();
+        survivor.rebalance();
+        crashed.rebalance();
+
+        shedLock.advance(faqSyncProps.getLeaseDuration().toMillis() / 2);
+        assertThat(survivor.rebalance()).hasSize(2);
+
+        shedLock.advance(faqSyncProps.getLeaseDuration().toMillis());
+        assertThat(survivor.rebalance()).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Renew - an owned lease is extended between heartbeats and dropped once another node took it")
+    void renew_ShouldExtendOwnedLease_AndDropLostOnes() {
+
+        PartitionLeaseService owner = newNode();
+        PartitionLeaseService other = newNode();
+        owner.rebalance();
+
+        shedLock.advance(faqSyncProps.getLeaseDuration().toMillis() * 3 / 4);
+        assertThat(owner.renew(1)).isTrue();
+        shedLock.advance(faqSyncProps.getLeaseDuration().toMillis() * 3 / 4);
+        assertThat(other.rebalance()).doesNotContain(1);
+
+        shedLock.advance(faqSyncProps.getLeaseDuration().toMillis() * 2);
+        assertThat(other.rebalance()).contains(1);
+        assertThat(owner.renew(1)).isFalse();
+        assertThat(owner.holds(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Release all - a stopping node frees its partitions for the others immediately")
+    void releaseAll_ShouldFreePartitions() {
+
+        PartitionLeaseService stopping = newNode();
+        PartitionLeaseService remaining = newNode();
+        stopping.rebalance();
+        remaining.rebalance();
+
+        stopping.releaseAll();
+
+        assertThat(stopping.ownedPartitions()).isEmpty();
+        assertThat(remaining.rebalance()).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    private PartitionLeaseService newNode() {
+        return new PartitionLeaseServiceImpl(shedLock, faqSyncProps, new SimpleMeterRegistry());
+    }
+
+    private record Lease(String lockedBy, long lockUntil) {
+    }
+
+    private static final class InMemoryShedLock extends JdbcTemplate {
+
+        private final Map<String, Lease> leases = new HashMap<>();
+        private long now;
+
+        void advance(long millis) {
+            now += millis;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            String name = (String) args[0];
+            Lease existing = leases.get(name);
+            if (sql.contains("INSERT")) {
+                String lockedBy = (String) args[2];
+                if (existing != null && existing.lockUntil() > now && !existing.lockedBy().equals(lockedBy)) {
+                    return 0;
+                }
+                leases.put(name, new Lease(lockedBy, now + (Long) args[1]));
+                return 1;
+            }
+            if (existing == null || !existing.lockedBy().equals(args[1])) {
+                return 0;
+            }
+            leases.put(name, new Lease(existing.lockedBy(), now));
+            return 1;
+        }
+
+        @Override
+        public List<Map<String, Object>> queryForList(String sql, Object... args) {
+            String prefix = ((String) args[0]).replace("%", "");
+            List<Map<String, Object>> rows = new ArrayList<>();
+            leases.forEach((name, lease) -> {
+                if (name.startsWith(prefix) && lease.lockUntil() > now) {
+                    rows.add(Map.of("name", name, "locked_by", lease.lockedBy()));
+                }
+            });
+            return rows;
+        }
+
+    }
+
+}
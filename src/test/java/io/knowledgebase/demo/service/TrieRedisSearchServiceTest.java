@@ -0,0 +1,218 @@
+package io.knowledgebase.demo.service;
+
+import io.knowledgebase.demo.config.props.IndexReplicationProps;
+import io.knowledgebase.demo.config.props.SearchExecutorProps;
+import io.knowledgebase.demo.config.props.SearchResultCacheProps;
+import io.knowledgebase.demo.document.FaqDoc;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import io.knowledgebase.demo.exception.FaqDocException;
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocId;
+import io.knowledgebase.demo.service.cache.FaqDocCacheService;
+import io.knowledgebase.demo.service.cache.SearchResultCacheService;
+import io.knowledgebase.demo.service.cache.impl.SearchResultCacheServiceImpl;
+import io.knowledgebase.demo.service.impl.TrieRedisSearchServiceImpl;
+import io.knowledgebase.demo.service.trie.ActiveFaqFilter;
+import io.knowledgebase.demo.service.trie.TrieService;
+import io.knowledgebase.demo.service.trie.impl.ActiveFaqFilterImpl;
+import io.knowledgebase.demo.service.trie.impl.CostBasedSearchPlanner;
+import io.knowledgebase.demo.service.trie.impl.IndexReplicatorImpl;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.replication.InMemoryIndexChangeBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrieRedisSearchServiceTest {
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Mock
+    private FaqDocCacheService faqDocCacheService;
+
+    private TrieService trieService;
+    private TrieRedisSearchService trieRedisSearchService;
+
+    @BeforeEach
+    void setUp() {
+        KeywordNormalizer keywordNormalizer = new KeywordNormalizer();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        trieService = new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, meterRegistry);
+        ActiveFaqFilter activeFaqFilter = new ActiveFaqFilterImpl(faqDocRepository, meterRegistry);
+        SearchResultCacheService searchResultCacheService =
+                new SearchResultCacheServiceImpl(new SearchResultCacheProps(), meterRegistry);
+        trieRedisSearchService = new TrieRedisSearchServiceImpl(
+                trieService,
+                faqDocCacheService,
+                faqDocRepository,
+                keywordNormalizer,
+                searchResultCacheService,
+                activeFaqFilter,
+                new CostBasedSearchPlanner(activeFaqFilter, Runnable::run, new SearchExecutorProps(), meterRegistry),
+                new IndexReplicatorImpl(new InMemoryIndexChangeBus(), trieService, activeFaqFilter,
+                        searchResultCacheService, new IndexReplicationProps(), meterRegistry)
+        );
+
+        for (long id = 1; id <= 30; ++id) {
+            trieService.insert("java", id);
+        }
+        trieService.insert("spring", 7L);
+        trieService.insert("spring", 12L);
+        trieService.insert("boot", 12L);
+
+        lenient().when(faqDocCacheService.readFaqDocuments(any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().collect(Collectors.toMap(
+                        Function.identity(),
+                        id -> FaqPreviewDto.builder().id(id).active(id != 3L).build()
+                )));
+    }
+
+    @Test
+    @DisplayName("Search - returns full pages ranked by matched terms, then by id, refilling past inactive previews")
+    void search_ShouldReturnRankedPage() {
+
+        List<FaqPreviewDto> firstPage = trieRedisSearchService.search("java spring boot", 3, 0);
+        List<FaqPreviewDto> secondPage = trieRedisSearchService.search("java spring boot", 3, 3);
+
+        assertThat(firstPage).extracting(FaqPreviewDto::getId).containsExactly(12L, 7L, 1L);
+        assertThat(secondPage).extracting(FaqPreviewDto::getId).containsExactly(2L, 4L, 5L);
+        verify(faqDocCacheService).readFaqDocuments(List.of(12L, 7L, 1L));
+        verify(faqDocCacheService).readFaqDocuments(List.of(12L, 7L, 1L, 2L, 3L, 4L));
+        verify(faqDocCacheService).readFaqDocuments(List.of(5L, 6L, 8L, 9L, 10L, 11L));
+        verify(faqDocCacheService, never()).readFaqDocument(anyLong());
+    }
+
+    @Test
+    @DisplayName("Search - missing previews do not shorten the page or shift later offsets")
+    void search_ShouldRefillPage_WhenPreviewsAreMissing() {
+
+        doAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                .filter(id -> id != 1L && id != 2L)
+                .collect(Collectors.toMap(Function.identity(), id -> FaqPreviewDto.builder().id(id).active(true).build()))
+        ).when(faqDocCacheService).readFaqDocuments(any());
+
+        List<FaqPreviewDto> firstPage = trieRedisSearchService.search("java", 2, 0);
+        List<FaqPreviewDto> secondPage = trieRedisSearchService.search("java", 2, 2);
+
+        assertThat(firstPage).extracting(FaqPreviewDto::getId).containsExactly(3L, 4L);
+        assertThat(secondPage).extracting(FaqPreviewDto::getId).containsExactly(5L, 6L);
+        verify(faqDocCacheService).readFaqDocuments(List.of(1L, 2L));
+        verify(faqDocCacheService, times(2)).readFaqDocuments(List.of(3L, 4L));
+        verify(faqDocCacheService).readFaqDocuments(List.of(5L, 6L, 7L, 8L));
+    }
+
+    @Test
+    @DisplayName("Search - offset past the last hit returns an empty page without cache reads")
+    void search_ShouldReturnEmpty_WhenOffsetExceedsHits() {
+
+        List<FaqPreviewDto> result = trieRedisSearchService.search("spring", 10, 2);
+
+        assertThat(result).isEmpty();
+        verify(faqDocCacheService, never()).readFaqDocuments(any());
+    }
+
+    @Test
+    @DisplayName("Search - rejects non-positive limits and negative offsets")
+    void search_ShouldThrow_WhenPageIsInvalid() {
+
+        assertThatThrownBy(() -> trieRedisSearchService.search("java", 0, 0))
+                .isInstanceOf(FaqDocException.class);
+        assertThatThrownBy(() -> trieRedisSearchService.search("java", 10, -1))
+                .isInstanceOf(FaqDocException.class);
+        assertThatThrownBy(() -> trieRedisSearchService.search("java", 1_000, 0))
+                .isInstanceOf(FaqDocException.class);
+    }
+
+    @Test
+    @DisplayName("Search - repeated queries are served from the result cache until the index changes")
+    void search_ShouldReuseCachedResult_UntilIndexChanges() {
+
+        List<FaqPreviewDto> first = trieRedisSearchService.search("spring boot", 10, 0);
+        List<FaqPreviewDto> second = trieRedisSearchService.search("  BOOT spring ", 10, 0);
+
+        assertThat(second).isSameAs(first);
+        verify(faqDocCacheService, times(1)).readFaqDocuments(any());
+
+        trieRedisSearchService.indexFaqDoc(FaqDoc.builder().id(40L).keywords(List.of("boot")).build());
+        List<FaqPreviewDto> third = trieRedisSearchService.search("spring boot", 10, 0);
+
+        assertThat(third).extracting(FaqPreviewDto::getId).containsExactly(12L, 7L, 40L);
+        verify(faqDocCacheService, times(2)).readFaqDocuments(any());
+    }
+
+    @Test
+    @DisplayName("Unindex missing - ids reported by search are purged only once the document store confirms they are gone")
+    void unindexMissingFaqDocs_ShouldPurgeIdsMissingFromStore() {
+
+        doAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                .filter(id -> id != 7L && id != 12L)
+                .collect(Collectors.toMap(Function.identity(), id -> FaqPreviewDto.builder().id(id).active(true).build()))
+        ).when(faqDocCacheService).readFaqDocuments(any());
+        when(faqDocRepository.findByIdIn(any(), eq(FaqDocId.class))).thenReturn(List.of(() -> 12L));
+
+        assertThat(trieRedisSearchService.search("spring", 10, 0)).isEmpty();
+
+        assertThat(trieRedisSearchService.unindexMissingFaqDocs()).isEqualTo(1);
+        assertThat(trieRedisSearchService.unindexMissingFaqDocs()).isZero();
+        assertThat(trieService.search("spring").toArray()).containsExactly(12L);
+        assertThat(trieService.search("java").contains(7L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Search - inactive documents are dropped from candidates before ranking and preview reads")
+    void search_ShouldSkipInactiveDocsBeforeFetching() {
+
+        trieRedisSearchService.indexFaqDoc(FaqDoc.builder().id(7L).keywords(List.of("spring")).active(false).build());
+
+        List<FaqPreviewDto> result = trieRedisSearchService.search("spring", 10, 0);
+
+        assertThat(result).extracting(FaqPreviewDto::getId).containsExactly(12L);
+        verify(faqDocCacheService).readFaqDocuments(List.of(12L));
+
+        trieRedisSearchService.indexFaqDoc(FaqDoc.builder().id(7L).keywords(List.of("spring")).active(true).build());
+
+        assertThat(trieRedisSearchService.search("spring", 10, 0)).extracting(FaqPreviewDto::getId).containsExactly(7L, 12L);
+    }
+
+    @Test
+    @DisplayName("Reindex - swaps previous keywords for current ones and caches the chunk in one call")
+    void reindexFaqDocs_ShouldReplaceKeywordsAndCacheOnce() {
+
+        FaqDoc previous = FaqDoc.builder().id(12L).keywords(List.of("spring", "boot")).build();
+        FaqDoc current = FaqDoc.builder().id(12L).keywords(List.of("kotlin")).build();
+        FaqDoc created = FaqDoc.builder().id(41L).keywords(List.of("spring")).build();
+
+        trieRedisSearchService.reindexFaqDocs(List.of(previous), List.of(current, created));
+
+        assertThat(trieService.search("spring").toArray()).containsExactly(7L, 41L);
+        assertThat(trieService.search("boot").isEmpty()).isTrue();
+        assertThat(trieService.search("kotlin").toArray()).containsExactly(12L);
+        verify(faqDocCacheService).cacheFaqDocuments(List.of(current, created));
+        verify(faqDocCacheService, never()).cacheFaqDocument(any());
+    }
+
+}
@@ -0,0 +1,140 @@
+package io.knowledgebase.demo.service.cache;
+
+import io.knowledgebase.demo.config.RedisConfig;
+import io.knowledgebase.demo.config.props.CacheNamespaceProps;
+import io.knowledgebase.demo.config.props.NearCacheProps;
+import io.knowledgebase.demo.service.cache.impl.CacheNamespaceServiceImpl;
+import io.knowledgebase.demo.service.cache.near.CacheInvalidationBus;
+import io.knowledgebase.demo.service.cache.near.TwoLevelCache;
+import io.knowledgebase.demo.service.cache.near.TwoLevelCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheNamespaceServiceTest {
+
+    private static final String GENERATION_KEY = "faq-service:cache:generation";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ObjectProvider<CacheManager> cacheManagerProvider;
+
+    @Mock
+    private SearchResultCacheService searchResultCacheService;
+
+    private TwoLevelCache faqDocsCache;
+    private CacheNamespaceServiceImpl cacheNamespaceService;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        CacheManager cacheManager = new TwoLevelCacheManager(
+                new ConcurrentMapCacheManager(FaqDocCacheService.FAQ_DOCS_CACHE),
+                new NearCacheProps(),
+                new CacheInvalidationBus(stringRedisTemplate),
+                new SimpleMeterRegistry()
+        );
+        faqDocsCache = (TwoLevelCache) cacheManager.getCache(FaqDocCacheService.FAQ_DOCS_CACHE);
+        lenient().when(cacheManagerProvider.getIfAvailable()).thenReturn(cacheManager);
+
+        cacheNamespaceService = new CacheNamespaceServiceImpl(
+                stringRedisTemplate, new CacheNamespaceProps(), cacheManagerProvider, searchResultCacheService
+        );
+    }
+
+    @Test
+    @DisplayName("Init - cache keys are prefixed with the schema and the stored generation")
+    void init_ShouldPrefixKeysWithStoredGeneration() {
+
+        when(valueOperations.get(GENERATION_KEY)).thenReturn("3");
+
+        cacheNamespaceService.init();
+        RedisCacheConfiguration config = new RedisConfig(null).cacheConfiguration()
+                .computePrefixWith(cacheNamespaceService::prefixFor);
+
+        assertThat(config.getKeyPrefixFor(FaqDocCacheService.FAQ_DOCS_CACHE)).isEqualTo("v1:g3::faqDocs::");
+        assertThat(cacheNamespaceService.current().getGeneration()).isEqualTo(3);
+        verify(searchResultCacheService, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName("Init - an unreachable Redis leaves the node on the initial generation")
+    void init_ShouldKeepInitialGeneration_WhenRedisIsUnavailable() {
+
+        when(valueOperations.get(GENERATION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+
+        cacheNamespaceService.init();
+
+        assertThat(cacheNamespaceService.prefixFor("faqDocs")).isEqualTo("v1:g0::faqDocs::");
+    }
+
+    @Test
+    @DisplayName("Roll - bumps the generation, clears local tiers and notifies other nodes")
+    void roll_ShouldSwitchNamespaceAndClearLocalTiers() {
+
+        when(valueOperations.get(GENERATION_KEY)).thenReturn("3");
+        when(valueOperations.increment(GENERATION_KEY, 1)).thenReturn(4L);
+        cacheNamespaceService.init();
+        faqDocsCache.putLocal("1", "preview 1");
+
+        assertThat(cacheNamespaceService.roll().getNamespace()).isEqualTo("v1:g4");
+
+        assertThat(cacheNamespaceService.prefixFor("faqDocs")).isEqualTo("v1:g4::faqDocs::");
+        assertThat(faqDocsCache.getLocal("1")).isNull();
+        verify(searchResultCacheService).invalidate();
+        verify(stringRedisTemplate).convertAndSend(CacheNamespaceService.CHANNEL, "4");
+    }
+
+    @Test
+    @DisplayName("Roll - never reuses a generation when the stored counter was reset")
+    void roll_ShouldSkipPastLocalGeneration_WhenCounterWasReset() {
+
+        when(valueOperations.get(GENERATION_KEY)).thenReturn("5");
+        when(valueOperations.increment(GENERATION_KEY, 1)).thenReturn(1L);
+        when(valueOperations.increment(GENERATION_KEY, 5)).thenReturn(6L);
+        cacheNamespaceService.init();
+
+        assertThat(cacheNamespaceService.roll().getGeneration()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Refresh - follows newer generations and ignores older ones")
+    void refresh_ShouldOnlyMoveForward() {
+
+        when(valueOperations.get(GENERATION_KEY)).thenReturn("7", "2");
+
+        cacheNamespaceService.refresh();
+        cacheNamespaceService.refresh();
+
+        assertThat(cacheNamespaceService.prefixFor("faqDocs")).isEqualTo("v1:g7::faqDocs::");
+        verify(searchResultCacheService).invalidate();
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+    }
+
+}
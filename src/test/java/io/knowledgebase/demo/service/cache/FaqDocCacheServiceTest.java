@@ -0,0 +1,252 @@
+package io.knowledgebase.demo.service.cache;
+
+import io.knowledgebase.demo.config.RedisConfig;
+import io.knowledgebase.demo.config.props.CacheLoadProps;
+import io.knowledgebase.demo.config.props.NearCacheProps;
+import io.knowledgebase.demo.document.FaqDoc;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import io.knowledgebase.demo.exception.FaqDocException;
+import io.knowledgebase.demo.mapper.FaqDocMapperImpl;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.service.cache.impl.FaqDocCacheServiceImpl;
+import io.knowledgebase.demo.service.cache.near.CacheInvalidationBus;
+import io.knowledgebase.demo.service.cache.near.TwoLevelCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FaqDocCacheServiceTest {
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock
+    private RedisConnection redisConnection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Test
+    @DisplayName("Bulk read - one MGET, one Mongo query for misses and one pipelined backfill")
+    void readFaqDocuments_ShouldBatchRedisAndMongo() {
+
+        RedisCacheConfiguration config = new RedisConfig(null).cacheConfiguration();
+        CacheManager cacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class)).cacheDefaults(config).build();
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), cacheManager, redisConnectionFactory,
+                new CacheLoadProps(), new SimpleMeterRegistry()
+        );
+        byte[] cached = ByteUtils.getBytes(config.getValueSerializationPair().write(preview(1L)));
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        when(redisConnection.stringCommands()).thenReturn(stringCommands);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+        when(redisConnection.closePipeline()).thenReturn(List.of(Arrays.asList(cached, null), 1_800_000L, -2L));
+        when(faqDocRepository.findAllById(List.of(2L))).thenReturn(List.of(faqDoc(2L)));
+
+        Map<Long, FaqPreviewDto> result = faqDocCacheService.readFaqDocuments(List.of(1L, 2L, 1L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertThat(result.get(1L).getQuestion()).isEqualTo("question 1");
+        assertThat(result.get(2L).getQuestion()).isEqualTo("question 2");
+        verify(stringCommands).mGet(cacheKey("faqDocs::1"), cacheKey("faqDocs::2"));
+        verify(redisConnection, times(2)).openPipeline();
+        verify(stringCommands).set(
+                cacheKey("faqDocs::2"),
+                any(byte[].class),
+                any(Expiration.class),
+                eq(RedisStringCommands.SetOption.upsert())
+        );
+        verify(redisConnection, times(2)).closePipeline();
+    }
+
+    @Test
+    @DisplayName("Bulk read - non-Redis cache falls back to per-key lookups and backfills misses")
+    void readFaqDocuments_ShouldBackfillGenericCache() {
+
+        CacheManager cacheManager = new ConcurrentMapCacheManager("faqDocs");
+        cacheManager.getCache("faqDocs").put("1", preview(1L));
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), cacheManager, redisConnectionFactory,
+                new CacheLoadProps(), new SimpleMeterRegistry()
+        );
+        when(faqDocRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(faqDoc(2L)));
+
+        Map<Long, FaqPreviewDto> result = faqDocCacheService.readFaqDocuments(List.of(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertThat(cacheManager.getCache("faqDocs").get("2", FaqPreviewDto.class)).isNotNull();
+        verifyNoInteractions(redisConnectionFactory);
+    }
+
+    @Test
+    @DisplayName("Bulk read - near cache hits skip the remote tier and remote hits are promoted")
+    void readFaqDocuments_ShouldServeNearCacheFirst() {
+
+        ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("faqDocs");
+        remoteCacheManager.getCache("faqDocs").put("1", preview(1L));
+        remoteCacheManager.getCache("faqDocs").put("2", preview(2L));
+        CacheManager cacheManager = new TwoLevelCacheManager(
+                remoteCacheManager,
+                new NearCacheProps(),
+                new CacheInvalidationBus(mock(StringRedisTemplate.class)),
+                new SimpleMeterRegistry()
+        );
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), cacheManager, redisConnectionFactory,
+                new CacheLoadProps(), new SimpleMeterRegistry()
+        );
+
+        faqDocCacheService.readFaqDocuments(List.of(1L, 2L));
+        remoteCacheManager.getCache("faqDocs").clear();
+        Map<Long, FaqPreviewDto> result = faqDocCacheService.readFaqDocuments(List.of(1L, 2L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verifyNoInteractions(faqDocRepository, redisConnectionFactory);
+    }
+
+    @Test
+    @DisplayName("Bulk read - entries close to expiry are reloaded ahead of time")
+    void readFaqDocuments_ShouldRefreshEntriesCloseToExpiry() {
+
+        CacheLoadProps cacheLoadProps = new CacheLoadProps();
+        cacheLoadProps.setEarlyRefreshBeta(1e12);
+        RedisCacheConfiguration config = new RedisConfig(null).cacheConfiguration();
+        CacheManager cacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class)).cacheDefaults(config).build();
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), cacheManager, redisConnectionFactory,
+                cacheLoadProps, new SimpleMeterRegistry()
+        );
+        byte[] cached = ByteUtils.getBytes(config.getValueSerializationPair().write(preview(1L)));
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        when(redisConnection.stringCommands()).thenReturn(stringCommands);
+        when(redisConnection.keyCommands()).thenReturn(keyCommands);
+        when(redisConnection.closePipeline()).thenReturn(
+                Arrays.asList(Arrays.asList((byte[]) null), -2L),
+                List.of(),
+                Arrays.asList(Arrays.asList(cached), 1L),
+                List.of()
+        );
+        when(faqDocRepository.findAllById(List.of(1L))).thenReturn(List.of(faqDoc(1L)));
+
+        faqDocCacheService.readFaqDocuments(List.of(1L));
+        Map<Long, FaqPreviewDto> result = faqDocCacheService.readFaqDocuments(List.of(1L));
+
+        assertThat(result).containsOnlyKeys(1L);
+        verify(faqDocRepository, times(2)).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Read - missing documents are reported as not found")
+    void readFaqDocument_ShouldThrow_WhenDocumentIsMissing() {
+
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), new ConcurrentMapCacheManager("faqDocs"), redisConnectionFactory,
+                new CacheLoadProps(), new SimpleMeterRegistry()
+        );
+        when(faqDocRepository.findAllById(List.of(7L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> faqDocCacheService.readFaqDocument(7L)).isInstanceOf(FaqDocException.class);
+    }
+
+    @Test
+    @DisplayName("Find - ids missing from Mongo are remembered briefly instead of queried on every read")
+    void findFaqDocument_ShouldCacheMissingIds() {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), new ConcurrentMapCacheManager("faqDocs"), redisConnectionFactory,
+                new CacheLoadProps(), meterRegistry
+        );
+        when(faqDocRepository.findAllById(List.of(7L))).thenReturn(List.of());
+
+        assertThat(faqDocCacheService.findFaqDocument(7L)).isEmpty();
+        assertThat(faqDocCacheService.findFaqDocument(7L)).isEmpty();
+        assertThat(faqDocCacheService.readFaqDocuments(List.of(7L))).isEmpty();
+
+        verify(faqDocRepository, times(1)).findAllById(List.of(7L));
+        assertThat(meterRegistry.get("cache.negative.hits").counter().count()).isEqualTo(2);
+
+        when(faqDocRepository.findAllById(List.of(7L))).thenReturn(List.of(faqDoc(7L)));
+        faqDocCacheService.evictFaqDocument(7L);
+
+        assertThat(faqDocCacheService.findFaqDocument(7L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Bulk put - writes both tiers and tells other nodes to drop the keys in one message")
+    void cacheFaqDocuments_ShouldFillBothTiersAndPublishOnce() {
+
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("faqDocs");
+        CacheManager cacheManager = new TwoLevelCacheManager(
+                remoteCacheManager,
+                new NearCacheProps(),
+                new CacheInvalidationBus(stringRedisTemplate),
+                new SimpleMeterRegistry()
+        );
+        FaqDocCacheService faqDocCacheService = new FaqDocCacheServiceImpl(
+                faqDocRepository, new FaqDocMapperImpl(), cacheManager, redisConnectionFactory,
+                new CacheLoadProps(), new SimpleMeterRegistry()
+        );
+
+        faqDocCacheService.cacheFaqDocuments(List.of(faqDoc(1L), faqDoc(2L)));
+
+        assertThat(remoteCacheManager.getCache("faqDocs").get("1", FaqPreviewDto.class)).isNotNull();
+        assertThat(remoteCacheManager.getCache("faqDocs").get("2", FaqPreviewDto.class)).isNotNull();
+        remoteCacheManager.getCache("faqDocs").clear();
+        assertThat(faqDocCacheService.readFaqDocuments(List.of(1L, 2L))).containsOnlyKeys(1L, 2L);
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(CacheInvalidationBus.CHANNEL), any(String.class));
+        verifyNoInteractions(faqDocRepository, redisConnectionFactory);
+    }
+
+    private static byte[] cacheKey(String expected) {
+        return argThat(key -> new String(key, StandardCharsets.UTF_8).equals(expected));
+    }
+
+    private static FaqPreviewDto preview(Long id) {
+        return FaqPreviewDto.builder().id(id).question("question " + id).keywords(List.of("java")).active(true).build();
+    }
+
+    private static FaqDoc faqDoc(Long id) {
+        return FaqDoc.builder().id(id).question("question " + id).keywords(List.of("java")).build();
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.knowledgebase.demo.service.cache;
+
+import io.knowledgebase.demo.config.props.SearchResultCacheProps;
+import io.knowledgebase.demo.dto.faq.FaqPreviewDto;
+import io.knowledgebase.demo.service.cache.impl.SearchResultCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheServiceTest {
+
+    private static final List<FaqPreviewDto> RESULT = List.of(
+            FaqPreviewDto.builder().id(1L).question("How do I reset my password?").keywords(List.of("password")).build()
+    );
+
+    private SearchResultCacheProps props;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        props = new SearchResultCacheProps();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Get - returns cached results and reports the hit ratio")
+    void get_ShouldReturnCachedResult() {
+
+        SearchResultCacheService cache = new SearchResultCacheServiceImpl(props, meterRegistry);
+        SearchResultCacheService.Key key = key("pass");
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, cache.generation(), RESULT);
+
+        assertThat(cache.get(key)).isSameAs(RESULT);
+        assertThat(cache.get(key)).isSameAs(RESULT);
+        assertThat(meterRegistry.get("search.result.cache.requests").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("search.result.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("search.result.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Invalidate - entries of older generations are dropped and late writers are ignored")
+    void invalidate_ShouldDropOlderGenerations() {
+
+        SearchResultCacheService cache = new SearchResultCacheServiceImpl(props, meterRegistry);
+        long generation = cache.generation();
+        cache.put(key("pass"), generation, RESULT);
+
+        cache.invalidate();
+        cache.put(key("vpn"), generation, RESULT);
+
+        assertThat(cache.get(key("pass"))).isNull();
+        assertThat(cache.get(key("vpn"))).isNull();
+        assertThat(meterRegistry.get("search.result.cache.weight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Put - evicts least recently used results to stay within the size bound")
+    void put_ShouldEvictLeastRecentlyUsed_WhenOverSizeBound() {
+
+        props.setMaxSize(DataSize.ofBytes(1_000));
+        SearchResultCacheService cache = new SearchResultCacheServiceImpl(props, meterRegistry);
+        long generation = cache.generation();
+
+        cache.put(key("a"), generation, RESULT);
+        cache.put(key("b"), generation, RESULT);
+        cache.get(key("a"));
+        cache.put(key("c"), generation, RESULT);
+
+        assertThat(cache.get(key("a"))).isSameAs(RESULT);
+        assertThat(cache.get(key("b"))).isNull();
+        assertThat(cache.get(key("c"))).isSameAs(RESULT);
+        assertThat(meterRegistry.get("search.result.cache.evictions").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("search.result.cache.weight").gauge().value()).isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Get - expired and disabled caches always miss")
+    void get_ShouldMiss_WhenExpiredOrDisabled() {
+
+        props.setExpireAfterWrite(Duration.ZERO);
+        SearchResultCacheService expiring = new SearchResultCacheServiceImpl(props, meterRegistry);
+        expiring.put(key("pass"), expiring.generation(), RESULT);
+
+        props.setExpireAfterWrite(Duration.ofMinutes(5));
+        props.setEnabled(false);
+        SearchResultCacheService disabled = new SearchResultCacheServiceImpl(props, new SimpleMeterRegistry());
+        disabled.put(key("pass"), disabled.generation(), RESULT);
+
+        assertThat(expiring.get(key("pass"))).isNull();
+        assertThat(disabled.get(key("pass"))).isNull();
+    }
+
+    private static SearchResultCacheService.Key key(String term) {
+        return new SearchResultCacheService.Key(List.of(term), 50, 0);
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.knowledgebase.demo.service.cache.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EarlyRefreshTest {
+
+    @Test
+    @DisplayName("Should refresh - probability grows as the remaining TTL approaches the load time")
+    void shouldRefresh_ShouldFavourEntriesCloseToExpiry() {
+
+        EarlyRefresh earlyRefresh = new EarlyRefresh(true, 1.0);
+        earlyRefresh.recordLoad(TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThat(earlyRefresh.shouldRefresh(5, 0.5)).isTrue();
+        assertThat(earlyRefresh.shouldRefresh(60_000, 0.5)).isFalse();
+        assertThat(earlyRefresh.shouldRefresh(20, 0.5)).isFalse();
+        assertThat(earlyRefresh.shouldRefresh(20, 0.1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refresh - disabled, persistent or missing keys are never refreshed early")
+    void shouldRefresh_ShouldIgnoreKeysWithoutExpiry() {
+
+        EarlyRefresh enabled = new EarlyRefresh(true, 1.0);
+        enabled.recordLoad(TimeUnit.MILLISECONDS.toNanos(10));
+        EarlyRefresh disabled = new EarlyRefresh(false, 1.0);
+        disabled.recordLoad(TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThat(enabled.shouldRefresh(-1, 0.01)).isFalse();
+        assertThat(enabled.shouldRefresh(-2, 0.01)).isFalse();
+        assertThat(disabled.shouldRefresh(1, 0.01)).isFalse();
+        assertThat(new EarlyRefresh(true, 1.0).shouldRefresh(1, 0.01)).isFalse();
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.knowledgebase.demo.service.cache.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeCacheTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    @DisplayName("Contains - absent ids are remembered until their TTL elapses")
+    void contains_ShouldExpireAfterTtl() {
+
+        NegativeCache<Long> cache = new NegativeCache<>(10, 100, ticker::get);
+        cache.add(1L);
+
+        ticker.set(99);
+        assertThat(cache.contains(1L)).isTrue();
+        ticker.set(100);
+        assertThat(cache.contains(1L)).isFalse();
+        assertThat(cache.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Add - a full cache drops expired ids first and otherwise rejects new ones")
+    void add_ShouldStayWithinMaximumSize() {
+
+        NegativeCache<Long> cache = new NegativeCache<>(2, 100, ticker::get);
+        cache.add(1L);
+        ticker.set(50);
+        cache.add(2L);
+        cache.add(3L);
+
+        assertThat(cache.contains(3L)).isFalse();
+
+        ticker.set(120);
+        cache.add(3L);
+
+        assertThat(cache.contains(2L)).isTrue();
+        assertThat(cache.contains(3L)).isTrue();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+}
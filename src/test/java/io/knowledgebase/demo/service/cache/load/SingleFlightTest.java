@@ -0,0 +1,113 @@
+package io.knowledgebase.demo.service.cache.load;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("faqDocs", meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Load - concurrent misses for the same key share one in-flight load")
+    void load_ShouldCoalesceConcurrentMisses() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<Map<Long, String>> first = executor.submit(() -> singleFlight.load(List.of(1L), List.of(), ids -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Map.of(1L, "preview 1");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Map<Long, String>> second = executor.submit(() -> singleFlight.load(List.of(1L, 2L), List.of(), ids -> {
+            loads.incrementAndGet();
+            assertThat(ids).containsExactly(2L);
+            return Map.of(2L, "preview 2");
+        }));
+        while (meterRegistry.get("cache.loads").tag("result", "shared").counter().count() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L);
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L, 2L);
+        assertThat(loads).hasValue(2);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Load - optional keys already in flight are skipped instead of awaited")
+    void load_ShouldNotWaitForOptionalKeys() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Map<Long, String>> refresh = executor.submit(() -> singleFlight.load(List.of(), List.of(1L), ids -> {
+            loading.countDown();
+            await(release);
+            return Map.of(1L, "preview 1");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Map<Long, String> result = singleFlight.load(List.of(), List.of(1L), ids -> {
+            throw new AssertionError("optional key must not be loaded twice");
+        });
+        release.countDown();
+
+        assertThat(result).isEmpty();
+        assertThat(refresh.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L);
+    }
+
+    @Test
+    @DisplayName("Load - a failed load is released so the next caller retries it")
+    void load_ShouldReleaseKeys_WhenLoaderFails() {
+
+        assertThatThrownBy(() -> singleFlight.load(List.of(1L), List.of(), ids -> {
+            throw new IllegalStateException("mongo is down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(singleFlight.load(List.of(1L), List.of(), ids -> Map.of(1L, "preview 1"))).containsOnlyKeys(1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
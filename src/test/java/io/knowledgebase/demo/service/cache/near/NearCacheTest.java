@@ -0,0 +1,81 @@
+package io.knowledgebase.demo.service.cache.near;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    @Test
+    @DisplayName("Put - the cache never grows beyond its maximum size")
+    void put_ShouldStayWithinMaximumSize() {
+
+        NearCache<Integer, String> cache = new NearCache<>(100, TTL, ticker::get, evictions::incrementAndGet);
+
+        for (int i = 0; i < 2_000; ++i) {
+            cache.put(i, "value " + i);
+        }
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(evictions.get()).isEqualTo(1_900);
+    }
+
+    @Test
+    @DisplayName("Admission - frequently read entries survive a scan of one-hit wonders")
+    void put_ShouldKeepFrequentEntries_WhenScanned() {
+
+        NearCache<Integer, String> cache = new NearCache<>(100, TTL, ticker::get, evictions::incrementAndGet);
+        for (int hot = 0; hot < 50; ++hot) {
+            cache.put(hot, "hot " + hot);
+        }
+        for (int round = 0; round < 5; ++round) {
+            for (int hot = 0; hot < 50; ++hot) {
+                cache.get(hot);
+            }
+        }
+
+        for (int cold = 1_000; cold < 11_000; ++cold) {
+            cache.put(cold, "cold " + cold);
+        }
+
+        int retained = 0;
+        for (int hot = 0; hot < 50; ++hot) {
+            if (cache.get(hot) != null) {
+                ++retained;
+            }
+        }
+        assertThat(retained).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Get - entries expire after write and can be invalidated explicitly")
+    void get_ShouldMiss_WhenExpiredOrInvalidated() {
+
+        NearCache<String, String> cache = new NearCache<>(10, TTL, ticker::get, evictions::incrementAndGet);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        cache.invalidate("b");
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+
+        ticker.addAndGet(TTL);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+}
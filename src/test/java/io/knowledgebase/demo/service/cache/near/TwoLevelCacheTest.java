@@ -0,0 +1,142 @@
+package io.knowledgebase.demo.service.cache.near;
+
+import io.knowledgebase.demo.config.props.NearCacheProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remoteCacheManager = new ConcurrentMapCacheManager("faqDocs");
+        cacheInvalidationBus = new CacheInvalidationBus(stringRedisTemplate);
+        cache = (TwoLevelCache) new TwoLevelCacheManager(
+                remoteCacheManager, new NearCacheProps(), cacheInvalidationBus, meterRegistry
+        ).getCache("faqDocs");
+    }
+
+    @Test
+    @DisplayName("Get - remote hits are promoted to the near cache and counted per tier")
+    void get_ShouldPromoteRemoteHits() {
+
+        remote().put("1", "preview 1");
+
+        assertThat(cache.get("1", String.class)).isEqualTo("preview 1");
+        remote().evict("1");
+        assertThat(cache.get("1", String.class)).isEqualTo("preview 1");
+        assertThat(cache.get("2")).isNull();
+
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(2);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+        assertThat(count("l2", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get with loader - loads once through the remote tier and serves later reads locally")
+    void getWithLoader_ShouldLoadThroughRemote() {
+
+        assertThat(cache.get("1", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("1", () -> "reloaded")).isEqualTo("loaded");
+
+        assertThat(remote().get("1", String.class)).isEqualTo("loaded");
+        assertThat(count("l2", "miss")).isEqualTo(1);
+        assertThat(count("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Put and evict - write through both tiers and notify other nodes")
+    void putAndEvict_ShouldPublishInvalidation() {
+
+        cache.put("1", "preview 1");
+        assertThat(remote().get("1", String.class)).isEqualTo("preview 1");
+
+        cache.evict("1");
+        assertThat(cache.get("1")).isNull();
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate, times(2)).convertAndSend(eq(CacheInvalidationBus.CHANNEL), payload.capture());
+        assertThat(payload.getValue()).endsWith("\nfaqDocs\n1");
+    }
+
+    @Test
+    @DisplayName("Invalidation - messages from other nodes evict local entries, own messages are ignored")
+    void onMessage_ShouldEvictLocalEntries_FromOtherNodes() {
+
+        cache.put("1", "preview 1");
+        cache.put("2", "preview 2");
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate, times(2)).convertAndSend(eq(CacheInvalidationBus.CHANNEL), payload.capture());
+        remote().clear();
+
+        cacheInvalidationBus.onMessage(message(payload.getValue()), null);
+        assertThat(cache.get("2", String.class)).isEqualTo("preview 2");
+
+        cacheInvalidationBus.onMessage(message("other-node\nfaqDocs\n1"), null);
+        assertThat(cache.get("1")).isNull();
+        assertThat(cache.get("2", String.class)).isEqualTo("preview 2");
+
+        cacheInvalidationBus.onMessage(message("other-node\nfaqDocs"), null);
+        assertThat(cache.get("2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Invalidation - one message can evict several keys on other nodes")
+    void onMessage_ShouldEvictEveryKey_FromBatchedMessage() {
+
+        cache.putAllLocal(Map.of(1L, "preview 1", 2L, "preview 2", 3L, "preview 3"));
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(CacheInvalidationBus.CHANNEL), payload.capture());
+        assertThat(payload.getValue().split("\n")).hasSize(5);
+
+        cacheInvalidationBus.onMessage(message("other-node\nfaqDocs\n1\n3"), null);
+
+        assertThat(cache.getLocal(1L)).isNull();
+        assertThat(cache.getLocal(2L)).isEqualTo("preview 2");
+        assertThat(cache.getLocal(3L)).isNull();
+    }
+
+    private Cache remote() {
+        return remoteCacheManager.getCache("faqDocs");
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+}
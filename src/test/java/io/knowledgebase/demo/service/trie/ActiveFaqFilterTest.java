@@ -0,0 +1,50 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocId;
+import io.knowledgebase.demo.service.trie.impl.ActiveFaqFilterImpl;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveFaqFilterTest {
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Test
+    @DisplayName("Retain active - reloaded and toggled inactive ids are removed from candidates")
+    void retainActive_ShouldDropInactiveIds() {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ActiveFaqFilter activeFaqFilter = new ActiveFaqFilterImpl(faqDocRepository, meterRegistry);
+        when(faqDocRepository.streamByActive(false, FaqDocId.class)).thenReturn(Stream.of(() -> 2L, () -> 70_000L));
+        PostingList candidates = PostingList.of(1, 2, 3, 70_000);
+
+        assertThat(activeFaqFilter.retainActive(candidates)).isSameAs(candidates);
+
+        activeFaqFilter.reload();
+        activeFaqFilter.update(3L, false);
+        activeFaqFilter.update(2L, true);
+
+        assertThat(activeFaqFilter.retainActive(candidates).toArray()).containsExactly(1L, 2L);
+        assertThat(candidates.cardinality()).isEqualTo(4);
+        assertThat(meterRegistry.get("trie.inactive.documents").gauge().value()).isEqualTo(2);
+
+        activeFaqFilter.remove(3L);
+        activeFaqFilter.remove(70_000L);
+
+        assertThat(activeFaqFilter.retainActive(candidates)).isSameAs(candidates);
+    }
+
+}
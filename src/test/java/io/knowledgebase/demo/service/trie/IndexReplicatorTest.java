@@ -0,0 +1,263 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.config.props.IndexReplicationProps;
+import io.knowledgebase.demo.config.props.SearchResultCacheProps;
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocId;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.cache.impl.SearchResultCacheServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.ActiveFaqFilterImpl;
+import io.knowledgebase.demo.service.trie.impl.IndexReplicatorImpl;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.replication.InMemoryIndexChangeBus;
+import io.knowledgebase.demo.service.trie.replication.IndexChangeBus;
+import io.knowledgebase.demo.service.trie.replication.IndexChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexReplicatorTest {
+
+    private static final UUID REMOTE = UUID.randomUUID();
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Test
+    @DisplayName("Publish - index changes made on one replica are applied on every other replica")
+    void publish_ShouldReplicateToOtherNodes() {
+
+        InMemoryIndexChangeBus bus = new InMemoryIndexChangeBus();
+        Replica origin = new Replica(bus, new IndexReplicationProps());
+        Replica follower = new Replica(bus, new IndexReplicationProps());
+
+        origin.publish(IndexChangeEvent.Type.INDEX, 7L, false, "java", "spring");
+        origin.publish(IndexChangeEvent.Type.INDEX, 8L, true, "java");
+        origin.publish(IndexChangeEvent.Type.UNINDEX, 7L, false, "java", "spring");
+        origin.publish(IndexChangeEvent.Type.INDEX, 7L, false, "java");
+
+        assertThat(follower.trie.searchNormalized("java").toArray()).containsExactly(7L, 8L);
+        assertThat(follower.trie.searchNormalized("spring").isEmpty()).isTrue();
+        assertThat(follower.filter.retainActive(follower.trie.searchNormalized("java")).toArray())
+                .containsExactly(8L);
+        assertThat(events(follower, "applied")).isEqualTo(4);
+        assertThat(events(origin, "own")).isEqualTo(4);
+        assertThat(bus.lastSequence()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("On event - out-of-order events are buffered and applied in sequence order")
+    void onEvent_ShouldReorderBySequence() {
+
+        ScriptedBus bus = new ScriptedBus();
+        Replica replica = new Replica(bus, new IndexReplicationProps());
+
+        bus.deliver(event(1, IndexChangeEvent.Type.INDEX, 5L, "java"));
+        bus.deliver(event(3, IndexChangeEvent.Type.INDEX, 5L, "kotlin"));
+        bus.deliver(event(2, IndexChangeEvent.Type.UNINDEX, 5L, "java"));
+
+        assertThat(replica.trie.searchNormalized("java").isEmpty()).isTrue();
+        assertThat(replica.trie.searchNormalized("kotlin").toArray()).containsExactly(5L);
+        assertThat(replica.replicator.catchUpIfStalled()).isFalse();
+
+        bus.deliver(event(2, IndexChangeEvent.Type.UNINDEX, 5L, "java"));
+        assertThat(events(replica, "duplicate")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("On event - a change older than the version already applied for the FAQ is dropped")
+    void onEvent_ShouldDropStaleVersions() {
+
+        ScriptedBus bus = new ScriptedBus();
+        Replica replica = new Replica(bus, new IndexReplicationProps());
+
+        bus.deliver(versioned(1, IndexChangeEvent.Type.UNINDEX, 5L, 10, "java"));
+        bus.deliver(versioned(2, IndexChangeEvent.Type.INDEX, 5L, 20, "kotlin"));
+        bus.deliver(versioned(3, IndexChangeEvent.Type.UNINDEX, 5L, 10, "kotlin"));
+        bus.deliver(versioned(4, IndexChangeEvent.Type.INDEX, 5L, 10, "java"));
+        bus.deliver(versioned(5, IndexChangeEvent.Type.INDEX, 6L, 10, "java"));
+
+        assertThat(replica.trie.searchNormalized("kotlin").toArray()).containsExactly(5L);
+        assertThat(replica.trie.searchNormalized("java").toArray()).containsExactly(6L);
+        assertThat(events(replica, "stale")).isEqualTo(2);
+        assertThat(events(replica, "applied")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Catch up - a stalled gap still held by the change stream is replayed without reloading the trie")
+    void catchUpIfStalled_ShouldReplayGapFromStream() {
+
+        IndexReplicationProps props = new IndexReplicationProps();
+        props.setGapTimeout(Duration.ZERO);
+        ScriptedBus bus = new ScriptedBus();
+        Replica replica = new Replica(bus, props);
+        bus.stream.put(2L, event(2, IndexChangeEvent.Type.UNINDEX, 5L, "java"));
+
+        bus.deliver(event(1, IndexChangeEvent.Type.INDEX, 5L, "java"));
+        bus.deliver(event(3, IndexChangeEvent.Type.INDEX, 5L, "kotlin"));
+        assertThat(replica.trie.searchNormalized("java").toArray()).containsExactly(5L);
+
+        assertThat(replica.replicator.catchUpIfStalled()).isTrue();
+
+        assertThat(replica.trie.searchNormalized("java").isEmpty()).isTrue();
+        assertThat(replica.trie.searchNormalized("kotlin").toArray()).containsExactly(5L);
+        assertThat(replica.replicator.catchUpIfStalled()).isFalse();
+        assertThat(replica.meterRegistry.get("trie.replication.replays").counter().count()).isEqualTo(1);
+        assertThat(replica.meterRegistry.get("trie.replication.catchups").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Catch up - a sequence gap that outlives the timeout reloads the trie and resumes after it")
+    void catchUpIfStalled_ShouldReloadOnGap() {
+
+        IndexReplicationProps props = new IndexReplicationProps();
+        props.setGapTimeout(Duration.ZERO);
+        ScriptedBus bus = new ScriptedBus();
+        Replica replica = new Replica(bus, props);
+        FaqDocKeywords reloaded = new FaqDocKeywords() {
+            @Override
+            public Long getId() {
+                return 9L;
+            }
+
+            @Override
+            public List<String> getKeywords() {
+                return List.of("docker");
+            }
+        };
+        when(faqDocRepository.streamAllBy(FaqDocKeywords.class)).thenReturn(Stream.of(reloaded));
+        when(faqDocRepository.streamByActive(false, FaqDocId.class)).thenReturn(Stream.empty());
+
+        bus.deliver(event(1, IndexChangeEvent.Type.INDEX, 5L, "java"));
+        bus.deliver(event(3, IndexChangeEvent.Type.INDEX, 6L, "kotlin"));
+        assertThat(replica.trie.searchNormalized("kotlin").isEmpty()).isTrue();
+
+        bus.sequence = 3;
+        assertThat(replica.replicator.catchUpIfStalled()).isTrue();
+
+        assertThat(replica.trie.searchNormalized("docker").toArray()).containsExactly(9L);
+        assertThat(replica.trie.searchNormalized("java").isEmpty()).isTrue();
+        assertThat(replica.replicator.catchUpIfStalled()).isFalse();
+
+        bus.deliver(event(4, IndexChangeEvent.Type.INDEX, 6L, "kotlin"));
+        assertThat(replica.trie.searchNormalized("kotlin").toArray()).containsExactly(6L);
+        assertThat(replica.meterRegistry.get("trie.replication.catchups").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Resume - events received while suspended are replayed past the load watermark, own ones included")
+    void resume_ShouldReplayBufferedEvents() {
+
+        InMemoryIndexChangeBus bus = new InMemoryIndexChangeBus();
+        Replica replica = new Replica(bus, new IndexReplicationProps());
+        replica.publish(IndexChangeEvent.Type.INDEX, 1L, true, "java");
+
+        long sequence = replica.replicator.suspend();
+        replica.trie.removeAll(List.of(1L));
+        replica.publish(IndexChangeEvent.Type.INDEX, 2L, true, "java");
+        replica.trie.removeAll(List.of(2L));
+        replica.replicator.resume(sequence);
+
+        assertThat(sequence).isEqualTo(1);
+        assertThat(replica.trie.searchNormalized("java").toArray()).containsExactly(2L);
+    }
+
+    private double events(Replica replica, String result) {
+        return replica.meterRegistry.get("trie.replication.events").tag("result", result).counter().count();
+    }
+
+    private static IndexChangeEvent event(long sequence, IndexChangeEvent.Type type, long faqId, String... keywords) {
+        return versioned(sequence, type, faqId, sequence, keywords);
+    }
+
+    private static IndexChangeEvent versioned(long sequence, IndexChangeEvent.Type type, long faqId, long version,
+                                              String... keywords) {
+        return new IndexChangeEvent(sequence, REMOTE, type, faqId, version, true, List.of(keywords));
+    }
+
+    private final class Replica {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final TrieService trie = new RadixTrieServiceImpl(faqDocRepository, new KeywordNormalizer(),
+                meterRegistry);
+        private final ActiveFaqFilter filter = new ActiveFaqFilterImpl(faqDocRepository, meterRegistry);
+        private final IndexReplicator replicator;
+
+        private Replica(IndexChangeBus bus, IndexReplicationProps props) {
+            this.replicator = new IndexReplicatorImpl(bus, trie, filter,
+                    new SearchResultCacheServiceImpl(new SearchResultCacheProps(), meterRegistry), props,
+                    meterRegistry);
+        }
+
+        private void publish(IndexChangeEvent.Type type, long faqId, boolean active, String... keywords) {
+            for (String keyword : keywords) {
+                if (type == IndexChangeEvent.Type.INDEX) {
+                    trie.insertNormalized(keyword, faqId);
+                } else {
+                    trie.removeNormalized(keyword, faqId);
+                }
+            }
+            replicator.publish(IndexChangeEvent.of(type, faqId, LocalDateTime.now(), active, List.of(keywords)));
+        }
+
+    }
+
+    private static final class ScriptedBus implements IndexChangeBus {
+
+        private final List<Consumer<IndexChangeEvent>> listeners = new ArrayList<>();
+        private final Map<Long, IndexChangeEvent> stream = new HashMap<>();
+        private long sequence;
+
+        @Override
+        public IndexChangeEvent publish(IndexChangeEvent event) {
+            return event.withSequence(++sequence);
+        }
+
+        @Override
+        public long lastSequence() {
+            return sequence;
+        }
+
+        @Override
+        public boolean replay(long fromSequence, long toSequence, Consumer<IndexChangeEvent> consumer) {
+            for (long next = fromSequence; next <= toSequence; ++next) {
+                if (!stream.containsKey(next)) {
+                    return false;
+                }
+            }
+            for (long next = fromSequence; next <= toSequence; ++next) {
+                consumer.accept(stream.get(next));
+            }
+            return true;
+        }
+
+        @Override
+        public void subscribe(Consumer<IndexChangeEvent> listener) {
+            listeners.add(listener);
+        }
+
+        private void deliver(IndexChangeEvent event) {
+            listeners.forEach(listener -> listener.accept(event));
+        }
+
+    }
+
+}
@@ -0,0 +1,287 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class RadixTrieServiceTest {
+
+    private static final String ALPHABET = "abcй";
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TrieService radixTrie;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        radixTrie = new RadixTrieServiceImpl(faqDocRepository, new KeywordNormalizer(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Search - prefix query returns ids of all keywords below the prefix")
+    void search_ShouldReturnPrefixMatches() {
+
+        radixTrie.insert("java", 1L);
+        radixTrie.insert("javascript", 2L);
+        radixTrie.insert("jar", 3L);
+        radixTrie.insert("kotlin", 4L);
+
+        assertThat(radixTrie.search("ja").toArray()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(radixTrie.search("jav").toArray()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(radixTrie.search("javas").toArray()).containsExactly(2L);
+        assertThat(radixTrie.search("python").isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Search - wildcard keyword matches longer queries")
+    void search_ShouldMatchWildcardKeyword() {
+
+        radixTrie.insert("spring*", 1L);
+        radixTrie.insert("springboot", 2L);
+
+        assertThat(radixTrie.search("springdata").toArray()).containsExactly(1L);
+        assertThat(radixTrie.search("spring").toArray()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Remove - removed ids disappear and the touched path is reclaimed without a full cleanup")
+    void remove_ShouldDropIdAndReclaimPath() {
+
+        radixTrie.insert("docker", 1L);
+        radixTrie.insert("dock", 2L);
+        radixTrie.insert("docs", 3L);
+
+        radixTrie.remove("docker", 1L);
+        radixTrie.remove("docs", 3L);
+
+        assertThat(radixTrie.search("docker").isEmpty()).isTrue();
+        assertThat(radixTrie.search("doc").toArray()).containsExactly(2L);
+        assertThat(meterRegistry.get("trie.reclaimed.nodes").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("trie.remove").timer().count()).isEqualTo(2);
+
+        long version = radixTrie.snapshot().version();
+        radixTrie.cleanupOrphanedNodes();
+
+        assertThat(radixTrie.snapshot().version()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Remove - dropping one keyword keeps ids reachable through other keywords")
+    void remove_ShouldKeepIdsOfRemainingKeywords() {
+
+        radixTrie.insert("ab", 1L);
+        radixTrie.insert("abc", 1L);
+
+        radixTrie.remove("ab", 1L);
+
+        assertThat(radixTrie.search("a").toArray()).containsExactly(1L);
+        assertThat(radixTrie.search("abc").toArray()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Snapshot - readers keep a consistent generation while writers publish new ones")
+    void snapshot_ShouldBeIsolatedFromLaterWrites() {
+
+        radixTrie.insert("redis", 1L);
+        TrieSnapshot before = radixTrie.snapshot();
+
+        radixTrie.insert("redis", 2L);
+        radixTrie.remove("redis", 1L);
+        radixTrie.cleanupOrphanedNodes();
+        TrieSnapshot after = radixTrie.snapshot();
+
+        assertThat(before.search("red").toArray()).containsExactly(1L);
+        assertThat(after.search("red").toArray()).containsExactly(2L);
+        assertThat(after.version()).isGreaterThan(before.version());
+    }
+
+    @Test
+    @DisplayName("Snapshot - no-op writes do not publish a new generation")
+    void snapshot_ShouldKeepVersion_WhenWriteChangesNothing() {
+
+        radixTrie.insert("mongo", 1L);
+        long version = radixTrie.snapshot().version();
+
+        radixTrie.remove("mongo", 2L);
+        radixTrie.remove("postgres", 1L);
+
+        assertThat(radixTrie.snapshot().version()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Search - cached prefix unions follow later inserts and removes")
+    void search_ShouldKeepMaterializedUnionsCurrent() {
+
+        Set<Long> expected = new TreeSet<>();
+        for (long id = 0; id < 100; ++id) {
+            radixTrie.insert("kw" + (char) ('a' + id / 10) + (char) ('a' + id % 10), id);
+            expected.add(id);
+        }
+        TrieSnapshot before = radixTrie.snapshot();
+        assertThat(radixTrie.search("k").cardinality()).isEqualTo(100);
+
+        radixTrie.insert("kwah", 500L);
+        radixTrie.insert("kx", 501L);
+        radixTrie.remove("kwad", 3L);
+        expected.addAll(List.of(500L, 501L));
+        expected.remove(3L);
+
+        assertThat(radixTrie.search("k").toArray())
+                .containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(radixTrie.search("kwah").toArray()).containsExactly(7L, 500L);
+        assertThat(before.search("k").cardinality()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Remove - cached prefix unions keep an id until its last keyword below the prefix is removed")
+    void remove_ShouldKeepIdInMaterializedUnion_WhileAnotherKeywordHoldsIt() {
+
+        for (long id = 0; id < 100; ++id) {
+            radixTrie.insert("kw" + (char) ('a' + id / 10) + (char) ('a' + id % 10), id);
+        }
+        radixTrie.insert("kwjj", 3L);
+        assertThat(radixTrie.search("k").contains(3L)).isTrue();
+
+        radixTrie.remove("kwad", 3L);
+        assertThat(radixTrie.search("k").contains(3L)).isTrue();
+        assertThat(radixTrie.search("kwa").contains(3L)).isFalse();
+
+        radixTrie.remove("kwjj", 3L);
+        assertThat(radixTrie.search("k").contains(3L)).isFalse();
+        assertThat(radixTrie.search("k").cardinality()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("Remove all - drops the ids from their keywords and keeps cached prefix unions current")
+    void removeAll_ShouldKeepMaterializedUnionsCurrent() {
+
+        for (long id = 0; id < 100; ++id) {
+            radixTrie.insert("kw" + (char) ('a' + id / 10) + (char) ('a' + id % 10), id);
+        }
+        radixTrie.insert("kwjj", 3L);
+        assertThat(radixTrie.search("k").cardinality()).isEqualTo(100);
+
+        radixTrie.removeAll(List.of(3L, 42L, 500L));
+
+        assertThat(radixTrie.search("k").cardinality()).isEqualTo(98);
+        assertThat(radixTrie.search("k").contains(3L)).isFalse();
+        assertThat(radixTrie.search("kwad").isEmpty()).isTrue();
+        assertThat(radixTrie.search("kwjj").toArray()).containsExactly(99L);
+        assertThat(radixTrie.keywordsOf(PostingList.of(3L, 42L))).isEmpty();
+        assertThat(radixTrie.keywordsOf(PostingList.of(7L, 99L)))
+                .containsOnlyKeys("kwah", "kwjj");
+    }
+
+    @Test
+    @DisplayName("Insert all - ids are grouped per keyword and published as one generation")
+    void insertAllNormalized_ShouldInsertEveryKeywordInOneWrite() {
+
+        radixTrie.insert("java", 1L);
+        long version = radixTrie.snapshot().version();
+
+        radixTrie.insertAllNormalized(Map.of(
+                2L, List.of("java", "spring"),
+                3L, List.of("java", "--")
+        ));
+
+        assertThat(radixTrie.snapshot().version()).isEqualTo(version + 1);
+        assertThat(radixTrie.search("java").toArray()).containsExactly(1L, 2L, 3L);
+        assertThat(radixTrie.search("spring").toArray()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Random operations - radix engine answers like a brute-force reference model")
+    void randomOperations_ShouldMatchReferenceModel() {
+
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 300; ++i) {
+            words.add(randomWord(random));
+        }
+        Map<String, Set<Long>> model = new TreeMap<>();
+
+        for (int step = 0; step < 5_000; ++step) {
+            String word = words.get(random.nextInt(words.size()));
+            long faqId = random.nextInt(50);
+            int operation = random.nextInt(10);
+            if (operation < 6) {
+                radixTrie.insert(word, faqId);
+                model.computeIfAbsent(word, k -> new TreeSet<>()).add(faqId);
+            } else if (operation < 8) {
+                radixTrie.remove(word, faqId);
+                if (model.containsKey(word)) {
+                    model.get(word).remove(faqId);
+                    model.values().removeIf(Set::isEmpty);
+                }
+            } else if (operation < 9) {
+                radixTrie.removeAll(List.of(faqId));
+                model.values().forEach(ids -> ids.remove(faqId));
+                model.values().removeIf(Set::isEmpty);
+            } else {
+                radixTrie.cleanupOrphanedNodes();
+                model.values().removeIf(Set::isEmpty);
+            }
+            String query = randomWord(random);
+            assertThat(radixTrie.search(query).toArray())
+                    .as("query '%s' at step %d", query, step)
+                    .containsExactly(expectedIds(model, query));
+        }
+    }
+
+    private static long[] expectedIds(Map<String, Set<Long>> model, String query) {
+        int matched = 0;
+        while (matched < query.length() && hasPrefix(model, query.substring(0, matched + 1))) {
+            ++matched;
+        }
+        Set<Long> ids = new TreeSet<>();
+        if (matched == query.length()) {
+            model.forEach((keyword, keywordIds) -> {
+                if (keyword.startsWith(query)) {
+                    ids.addAll(keywordIds);
+                }
+            });
+        } else {
+            ids.addAll(model.getOrDefault(query.substring(0, matched) + "*", Set.of()));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static boolean hasPrefix(Map<String, Set<Long>> model, String prefix) {
+        return model.keySet().stream().anyMatch(keyword -> keyword.startsWith(prefix));
+    }
+
+    private static String randomWord(Random random) {
+        int length = 1 + random.nextInt(6);
+        StringBuilder word = new StringBuilder(length + 1);
+        for (int i = 0; i < length; ++i) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        if (random.nextInt(5) == 0) {
+            word.append('*');
+        }
+        return word.toString();
+    }
+
+}
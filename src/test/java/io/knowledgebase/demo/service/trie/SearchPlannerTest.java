@@ -0,0 +1,138 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.config.props.SearchExecutorProps;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.service.trie.impl.ActiveFaqFilterImpl;
+import io.knowledgebase.demo.service.trie.impl.CostBasedSearchPlanner;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchPlannerTest {
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Mock
+    private TrieSnapshot snapshot;
+
+    private final AtomicInteger forkedTasks = new AtomicInteger();
+    private final Executor countingExecutor = task -> {
+        forkedTasks.incrementAndGet();
+        task.run();
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private ActiveFaqFilter activeFaqFilter;
+    private SearchPlanner searchPlanner;
+
+    @BeforeEach
+    void setUp() {
+        SearchExecutorProps searchExecutorProps = new SearchExecutorProps();
+        searchExecutorProps.setParallelMinPostings(1_000);
+        searchExecutorProps.setWildcardInitialEstimate(600);
+        meterRegistry = new SimpleMeterRegistry();
+        activeFaqFilter = new ActiveFaqFilterImpl(faqDocRepository, meterRegistry);
+        searchPlanner = new CostBasedSearchPlanner(activeFaqFilter, countingExecutor, searchExecutorProps,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Lookup - small exact-term queries run on the calling thread")
+    void lookup_ShouldRunSmallQueriesSequentially() {
+
+        when(snapshot.searchNormalized("java")).thenReturn(PostingList.of(1, 2, 3));
+        when(snapshot.searchNormalized("spring")).thenReturn(PostingList.of(2, 3));
+        activeFaqFilter.update(3L, false);
+
+        List<PostingList> postings = searchPlanner.lookup(snapshot, List.of("java", "spring"));
+
+        assertThat(postings).extracting(PostingList::toArray)
+                .containsExactly(new long[]{1, 2}, new long[]{2});
+        assertThat(forkedTasks).hasValue(0);
+        assertThat(plans("lookup", "sequential")).isEqualTo(1);
+        assertThat(plans("filter", "sequential")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lookup - wildcard-heavy queries fork lookups and keep term order")
+    void lookup_ShouldForkExpensiveWildcardLookups() {
+
+        when(snapshot.searchNormalized("ja*")).thenReturn(range(0, 500));
+        when(snapshot.searchNormalized("sp*")).thenReturn(range(500, 900));
+        when(snapshot.searchNormalized("boot")).thenReturn(PostingList.of(7));
+
+        List<PostingList> postings = searchPlanner.lookup(snapshot, List.of("ja*", "sp*", "boot"));
+
+        assertThat(postings).extracting(PostingList::cardinality).containsExactly(500L, 400L, 1L);
+        assertThat(forkedTasks).hasValue(2);
+        assertThat(plans("lookup", "parallel")).isEqualTo(1);
+        assertThat(plans("filter", "sequential")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lookup - large observed postings parallelize filtering even after a sequential lookup")
+    void lookup_ShouldForkFilteringOfLargePostings() {
+
+        when(snapshot.searchNormalized("java")).thenReturn(range(0, 800));
+        when(snapshot.searchNormalized("spring")).thenReturn(range(400, 1_200));
+
+        List<PostingList> postings = searchPlanner.lookup(snapshot, List.of("java", "spring"));
+
+        assertThat(postings).extracting(PostingList::cardinality).containsExactly(800L, 800L);
+        assertThat(forkedTasks).hasValue(1);
+        assertThat(plans("lookup", "sequential")).isEqualTo(1);
+        assertThat(plans("filter", "parallel")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lookup - exact-term estimates learn from observed postings")
+    void lookup_ShouldLearnExactTermCost() {
+
+        when(snapshot.searchNormalized(anyString())).thenReturn(range(0, 2_000));
+
+        for (int i = 0; i < 10; ++i) {
+            searchPlanner.lookup(snapshot, List.of("java", "spring"));
+        }
+
+        assertThat(plans("lookup", "sequential")).isEqualTo(1);
+        assertThat(plans("lookup", "parallel")).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Lookup - failures inside forked tasks surface unwrapped")
+    void lookup_ShouldRethrowForkedFailure() {
+
+        when(snapshot.searchNormalized("ja*")).thenReturn(range(0, 10));
+        when(snapshot.searchNormalized("sp*")).thenThrow(new IllegalStateException("broken trie"));
+
+        assertThatThrownBy(() -> searchPlanner.lookup(snapshot, List.of("ja*", "sp*")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("broken trie");
+    }
+
+    private double plans(String phase, String mode) {
+        return meterRegistry.get("search.plans").tag("phase", phase).tag("mode", mode).counter().count();
+    }
+
+    private static PostingList range(long from, long to) {
+        return PostingList.of(LongStream.range(from, to).toArray());
+    }
+
+}
@@ -0,0 +1,104 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.TrieServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrieBuildTest {
+
+    private static final String ALPHABET = "abcdй";
+
+    @ParameterizedTest
+    @CsvSource({"hash, false", "hash, true", "radix, false", "radix, true"})
+    @DisplayName("Init - streamed parallel build answers like incremental inserts")
+    void init_ShouldMatchIncrementalInserts(String engine, boolean populated) {
+
+        Random random = new Random(17);
+        List<FaqDocKeywords> docs = new ArrayList<>();
+        Set<String> prefixes = new TreeSet<>();
+        for (long id = 1; id <= 5_000; ++id) {
+            List<String> keywords = new ArrayList<>();
+            int count = random.nextInt(4);
+            for (int k = 0; k < count; ++k) {
+                String keyword = randomWord(random) + (random.nextInt(20) == 0 ? "*" : "");
+                keywords.add(random.nextBoolean() ? keyword.toUpperCase() : keyword);
+                for (int length = 1; length <= keyword.length(); ++length) {
+                    prefixes.add(keyword.substring(0, length).toLowerCase());
+                }
+            }
+            docs.add(new Keywords(id, random.nextInt(50) == 0 ? null : keywords));
+        }
+
+        FaqDocRepository faqDocRepository = mock(FaqDocRepository.class);
+        when(faqDocRepository.streamAllBy(FaqDocKeywords.class)).thenReturn(docs.stream());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TrieService built = newTrie(engine, faqDocRepository, meterRegistry);
+        TrieService expected = newTrie(engine, faqDocRepository, new SimpleMeterRegistry());
+        if (populated) {
+            built.insert("preexisting", 9_999L);
+            expected.insert("preexisting", 9_999L);
+        }
+        built.init();
+
+        for (FaqDocKeywords doc : docs) {
+            if (doc.getKeywords() != null) {
+                doc.getKeywords().forEach(keyword -> expected.insert(keyword, doc.getId()));
+            }
+        }
+
+        prefixes.add("preexisting");
+        prefixes.add("ab" + "z".repeat(8));
+        for (String prefix : prefixes) {
+            assertThat(built.search(prefix)).as(prefix).isEqualTo(expected.search(prefix));
+        }
+        assertThat(meterRegistry.get("trie.build.documents").counter().count()).isEqualTo(5_000);
+        assertThat(meterRegistry.get("trie.build").timer().count()).isEqualTo(1);
+    }
+
+    private static TrieService newTrie(String engine, FaqDocRepository faqDocRepository, SimpleMeterRegistry meterRegistry) {
+        KeywordNormalizer keywordNormalizer = new KeywordNormalizer();
+        return "hash".equals(engine)
+                ? new TrieServiceImpl(faqDocRepository, keywordNormalizer, meterRegistry)
+                : new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, meterRegistry);
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; ++i) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    private record Keywords(Long id, List<String> keywords) implements FaqDocKeywords {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public List<String> getKeywords() {
+            return keywords;
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.config.props.FaqOutboxProps;
+import io.knowledgebase.demo.config.props.TrieSnapshotProps;
+import io.knowledgebase.demo.enums.OutboxOperation;
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.FaqOutboxRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.TriePersistenceServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.TrieServiceImpl;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TriePersistenceServiceTest {
+
+    @Mock
+    private FaqDocRepository faqDocRepository;
+
+    @Mock
+    private FaqOutboxRepository faqOutboxRepository;
+
+    @TempDir
+    private Path directory;
+
+    private KeywordNormalizer keywordNormalizer;
+    private TrieSnapshotProps trieSnapshotProps;
+    private FaqOutboxProps faqOutboxProps;
+    private TrieService trieService;
+    private TriePersistenceService triePersistenceService;
+
+    @BeforeEach
+    void setUp() {
+        keywordNormalizer = new KeywordNormalizer();
+        trieSnapshotProps = new TrieSnapshotProps();
+        trieSnapshotProps.setPath(directory.resolve("trie.snapshot").toString());
+        faqOutboxProps = new FaqOutboxProps();
+
+        trieService = new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry());
+        triePersistenceService = newPersistence(trieService);
+    }
+
+    @Test
+    @DisplayName("restore should report a missing snapshot without touching the repository")
+    void restore_ShouldReturnFalse_WhenSnapshotIsMissing() {
+        assertThat(triePersistenceService.restore()).isFalse();
+        verify(faqDocRepository, never()).findBySyncedAtGreaterThanEqual(any(), any());
+    }
+
+    @Test
+    @DisplayName("restore should load the snapshot into either engine and replay changed and deleted documents")
+    void restore_ShouldLoadSnapshotAndCatchUp() {
+        trieService.insertAllNormalized(Map.of(
+                1L, List.of("java", "spring"),
+                2L, List.of("docker"),
+                3L, List.of("kafka", "java")
+        ));
+        triePersistenceService.persist();
+        assertThat(Files.exists(directory.resolve("trie.snapshot"))).isTrue();
+        verifyNoInteractions(faqDocRepository);
+
+        when(faqDocRepository.findBySyncedAtGreaterThanEqual(any(LocalDateTime.class), eq(FaqDocKeywords.class)))
+                .thenReturn(List.of(new Keywords(2L, List.of("Podman")), new Keywords(4L, List.of("Redis"))));
+        when(faqOutboxRepository.findFaqIdsSince(eq(OutboxOperation.DELETE), any(LocalDateTime.class)))
+                .thenReturn(List.of(3L));
+
+        for (TrieService restored : List.of(
+                new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry()),
+                new TrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry()))) {
+
+            assertThat(newPersistence(restored).restore()).isTrue();
+
+            assertThat(restored.search("java")).isEqualTo(PostingList.of(1L));
+            assertThat(restored.search("spring")).isEqualTo(PostingList.of(1L));
+            assertThat(restored.search("docker").isEmpty()).isTrue();
+            assertThat(restored.search("podman")).isEqualTo(PostingList.of(2L));
+            assertThat(restored.search("kafka").isEmpty()).isTrue();
+            assertThat(restored.search("redis")).isEqualTo(PostingList.of(4L));
+        }
+    }
+
+    @Test
+    @DisplayName("persist should keep keywords that are prefixes of other keywords when saving the hash engine")
+    void persist_ShouldRoundTripNestedKeywords_ForHashEngine() {
+        TrieService hash = new TrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry());
+        hash.insert("java", 1L);
+        hash.insert("javascript", 1L);
+        hash.insert("javascript", 2L);
+        hash.insert("jar", 3L);
+        newPersistence(hash).persist();
+
+        TrieService restored = new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, new SimpleMeterRegistry());
+        assertThat(newPersistence(restored).restore()).isTrue();
+
+        assertThat(restored.search("java")).isEqualTo(PostingList.of(1L, 2L));
+        assertThat(restored.search("javas")).isEqualTo(PostingList.of(1L, 2L));
+        assertThat(restored.search("ja")).isEqualTo(PostingList.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("restore should fall back to a full build when the outbox no longer covers the snapshot age")
+    void restore_ShouldReturnFalse_WhenSnapshotIsOlderThanOutboxRetention() {
+        triePersistenceService.persist();
+        faqOutboxProps.setRetention(Duration.ZERO);
+
+        assertThat(triePersistenceService.restore()).isFalse();
+        verifyNoInteractions(faqOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("restore should fall back when the snapshot is unreadable")
+    void restore_ShouldReturnFalse_WhenSnapshotIsCorrupted() throws Exception {
+        Files.write(directory.resolve("trie.snapshot"), new byte[64]);
+
+        assertThat(triePersistenceService.restore()).isFalse();
+    }
+
+    private TriePersistenceService newPersistence(TrieService trie) {
+        return new TriePersistenceServiceImpl(trie, faqDocRepository, faqOutboxRepository, keywordNormalizer,
+                trieSnapshotProps, faqOutboxProps);
+    }
+
+    private record Keywords(Long id, List<String> keywords) implements FaqDocKeywords {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public List<String> getKeywords() {
+            return keywords;
+        }
+
+    }
+
+}
@@ -0,0 +1,202 @@
+package io.knowledgebase.demo.service.trie;
+
+import io.knowledgebase.demo.normalizer.KeywordNormalizer;
+import io.knowledgebase.demo.repository.FaqDocRepository;
+import io.knowledgebase.demo.repository.projection.FaqDocKeywords;
+import io.knowledgebase.demo.service.trie.impl.RadixTrieServiceImpl;
+import io.knowledgebase.demo.service.trie.impl.TrieServiceImpl;
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrieServiceTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hash", "radix"})
+    @DisplayName("Remove all - ids disappear from every keyword without knowing the keywords")
+    void removeAll_ShouldDropIdsFromEveryKeyword(String engine) {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TrieService trie = newTrie(engine, meterRegistry);
+        trie.insert("docker", 1L);
+        trie.insert("dock", 2L);
+        trie.insert("docs", 1L);
+        trie.insert("java", 1L);
+        trie.insert("java", 3L);
+        trie.insert("spring", 2L);
+
+        trie.removeAll(List.of(1L, 4L));
+
+        assertThat(trie.search("d").toArray()).containsExactly(2L);
+        assertThat(trie.search("docker").isEmpty()).isTrue();
+        assertThat(trie.search("docs").isEmpty()).isTrue();
+        assertThat(trie.search("java").toArray()).containsExactly(3L);
+        assertThat(trie.search("spring").toArray()).containsExactly(2L);
+        assertThat(meterRegistry.get("trie.reclaimed.nodes").counter().count()).isPositive();
+
+        long version = trie.snapshot().version();
+        trie.removeAll(List.of());
+
+        assertThat(trie.snapshot().version()).isEqualTo(version);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hash", "radix"})
+    @DisplayName("Search - readers racing writers always see whole posting lists")
+    void search_ShouldNotObservePartialWrites_WhenWritersRun(String engine) throws InterruptedException {
+
+        TrieService trie = newTrie(engine, new SimpleMeterRegistry());
+        trie.insert("java", 0L);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (long id = 1; id <= 2_000; ++id) {
+                trie.insert("java", id);
+                trie.remove("java", id - 1);
+            }
+        });
+
+        while (writer.isAlive()) {
+            long[] ids = trie.search("ja").toArray();
+            assertThat(ids.length).isBetween(1, 2);
+            assertThat(ids[ids.length - 1] - ids[0]).isLessThanOrEqualTo(1);
+        }
+        writer.join();
+
+        assertThat(trie.search("java").toArray()).containsExactly(2_000L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hash", "radix"})
+    @DisplayName("Keywords of - removing the returned keywords drops exactly the given ids")
+    void keywordsOf_ShouldReturnKeywordsThatRemoveRequestedIds(String engine) {
+
+        TrieService trie = newTrie(engine, new SimpleMeterRegistry());
+        trie.insert("java", 1L);
+        trie.insert("javascript", 1L);
+        trie.insert("javascript", 2L);
+        trie.insert("jar", 3L);
+        trie.insert("spring*", 1L);
+        trie.insert("spring", 4L);
+
+        Map<String, PostingList> keywords = trie.keywordsOf(PostingList.of(1L, 3L));
+        keywords.forEach((keyword, faqIds) -> faqIds.forEach(id -> trie.removeNormalized(keyword, id)));
+
+        assertThat(keywords)
+                .containsEntry("java", PostingList.of(1L))
+                .containsEntry("javascript", PostingList.of(1L))
+                .containsEntry("jar", PostingList.of(3L))
+                .containsEntry("spring*", PostingList.of(1L));
+        assertThat(trie.search("j").toArray()).containsExactly(2L);
+        assertThat(trie.search("java").toArray()).containsExactly(2L);
+        assertThat(trie.search("spring").toArray()).containsExactly(4L);
+        assertThat(trie.search("springdata").isEmpty()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hash", "radix"})
+    @DisplayName("Remove - dropping a keyword keeps the FAQ under its other keywords sharing the prefix")
+    void removeNormalized_ShouldKeepOtherKeywordsOfSameFaq(String engine) {
+
+        TrieService trie = newTrie(engine, new SimpleMeterRegistry());
+        trie.insert("java", 1L);
+        trie.insert("javascript", 1L);
+
+        trie.remove("javascript", 1L);
+
+        assertThat(trie.search("java").toArray()).containsExactly(1L);
+        assertThat(trie.search("javas").isEmpty()).isTrue();
+
+        trie.insert("javascript", 1L);
+        trie.remove("java", 1L);
+
+        assertThat(trie.search("java").toArray()).containsExactly(1L);
+        Map<String, PostingList> keywords = new HashMap<>();
+        trie.forEachNormalized(keywords::put);
+        assertThat(keywords).containsOnlyKeys("javascript");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hash", "radix"})
+    @DisplayName("Rebuild - replaces the index with the document store contents instead of merging into it")
+    void rebuild_ShouldDropStaleKeywords(String engine) {
+
+        FaqDocRepository faqDocRepository = mock(FaqDocRepository.class);
+        TrieService trie = newTrie(engine, faqDocRepository, new SimpleMeterRegistry());
+        when(faqDocRepository.streamAllBy(FaqDocKeywords.class))
+                .thenAnswer(invocation -> Stream.of(keywords(1L, "java", "docker"), keywords(2L, "spring")));
+        trie.insert("kotlin", 1L);
+        trie.insert("java", 3L);
+
+        trie.init();
+
+        assertThat(trie.search("kotlin").toArray()).containsExactly(1L);
+        assertThat(trie.search("java").toArray()).containsExactly(1L, 3L);
+
+        trie.rebuild();
+
+        assertThat(trie.search("kotlin").isEmpty()).isTrue();
+        assertThat(trie.search("java").toArray()).containsExactly(1L);
+        assertThat(trie.search("do").toArray()).containsExactly(1L);
+        assertThat(trie.search("spring").toArray()).containsExactly(2L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hash", "radix"})
+    @DisplayName("Snapshot - a captured snapshot keeps answering from its own version while writers and rebuilds run")
+    void snapshot_ShouldStayIsolated_WhenTrieChanges(String engine) {
+
+        FaqDocRepository faqDocRepository = mock(FaqDocRepository.class);
+        TrieService trie = newTrie(engine, faqDocRepository, new SimpleMeterRegistry());
+        when(faqDocRepository.streamAllBy(FaqDocKeywords.class))
+                .thenAnswer(invocation -> Stream.of(keywords(2L, "spring")));
+        trie.insert("java", 1L);
+        TrieSnapshot before = trie.snapshot();
+
+        trie.insert("javascript", 3L);
+        trie.rebuild();
+
+        TrieSnapshot after = trie.snapshot();
+        assertThat(before.search("ja").toArray()).containsExactly(1L);
+        assertThat(before.search("spring").isEmpty()).isTrue();
+        assertThat(after.search("ja").isEmpty()).isTrue();
+        assertThat(after.search("spring").toArray()).containsExactly(2L);
+        assertThat(after.version()).isGreaterThan(before.version());
+    }
+
+    private static FaqDocKeywords keywords(Long id, String... keywords) {
+        return new FaqDocKeywords() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public List<String> getKeywords() {
+                return List.of(keywords);
+            }
+        };
+    }
+
+    private static TrieService newTrie(String engine, SimpleMeterRegistry meterRegistry) {
+        return newTrie(engine, mock(FaqDocRepository.class), meterRegistry);
+    }
+
+    private static TrieService newTrie(String engine, FaqDocRepository faqDocRepository,
+                                       SimpleMeterRegistry meterRegistry) {
+        KeywordNormalizer keywordNormalizer = new KeywordNormalizer();
+        return "hash".equals(engine)
+                ? new TrieServiceImpl(faqDocRepository, keywordNormalizer, meterRegistry)
+                : new RadixTrieServiceImpl(faqDocRepository, keywordNormalizer, meterRegistry);
+    }
+
+}
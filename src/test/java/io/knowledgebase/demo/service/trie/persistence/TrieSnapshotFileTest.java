@@ -0,0 +1,83 @@
+package io.knowledgebase.demo.service.trie.persistence;
+
+import io.knowledgebase.demo.service.trie.posting.PostingList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrieSnapshotFileTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("write and read should round-trip entries and watermark")
+    void writeAndRead_ShouldRoundTripEntriesAndWatermark() throws IOException {
+        Path path = directory.resolve("nested/trie.snapshot");
+        PostingList dense = new PostingList();
+        for (long id = 0; id < 10_000; ++id) {
+            dense.add(id * 3);
+        }
+        List<TrieSnapshotFile.Entry> entries = List.of(
+                new TrieSnapshotFile.Entry("java", PostingList.of(1L, 2L)),
+                new TrieSnapshotFile.Entry("отпуск", PostingList.of(Long.MAX_VALUE)),
+                new TrieSnapshotFile.Entry("x".repeat(1000), dense)
+        );
+
+        int written = TrieSnapshotFile.write(path, WATERMARK, entries.iterator());
+
+        Map<String, PostingList> read = new LinkedHashMap<>();
+        int count = TrieSnapshotFile.read(path, read::put);
+
+        assertThat(written).isEqualTo(3);
+        assertThat(count).isEqualTo(3);
+        assertThat(TrieSnapshotFile.readWatermark(path)).isEqualTo(WATERMARK);
+        assertThat(read).containsExactly(
+                Map.entry("java", PostingList.of(1L, 2L)),
+                Map.entry("отпуск", PostingList.of(Long.MAX_VALUE)),
+                Map.entry("x".repeat(1000), dense)
+        );
+        assertThat(Files.exists(path.resolveSibling("trie.snapshot.tmp"))).isFalse();
+        // The dense list is stored as one 8 KB bitmap rather than 10 000 eight-byte ids
+        assertThat(Files.size(path)).isLessThan(12_000);
+    }
+
+    @Test
+    @DisplayName("read should reject a snapshot with a corrupted payload")
+    void read_ShouldRejectCorruptedPayload() throws IOException {
+        Path path = directory.resolve("trie.snapshot");
+        TrieSnapshotFile.write(path, WATERMARK, List.of(new TrieSnapshotFile.Entry("java", PostingList.of(1L))).iterator());
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 14] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> TrieSnapshotFile.read(path, (keyword, faqIds) -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    @DisplayName("readWatermark should reject a truncated file")
+    void readWatermark_ShouldRejectTruncatedFile() throws IOException {
+        Path path = directory.resolve("trie.snapshot");
+        Files.write(path, new byte[8]);
+
+        assertThatThrownBy(() -> TrieSnapshotFile.readWatermark(path))
+                .isInstanceOf(IOException.class);
+    }
+
+}
@@ -0,0 +1,214 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostingListTest {
+
+    @Test
+    @DisplayName("Add and remove - behaves like a sorted set across container conversions")
+    void addAndRemove_ShouldMatchTreeSet() {
+
+        Random random = new Random(7);
+        PostingList postingList = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+
+        for (int i = 0; i < 40_000; ++i) {
+            long id = random.nextInt(150_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(postingList.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(postingList.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        assertThat(postingList.cardinality()).isEqualTo(expected.size());
+        assertThat(postingList.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(postingList.contains(expected.first())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Remove - dense container shrinks back and compares equal to sparse one")
+    void remove_ShouldConvertBitmapBackToArray() {
+
+        PostingList dense = new PostingList();
+        for (long id = 0; id < 5_000; ++id) {
+            dense.add(id);
+        }
+        for (long id = 10; id < 5_000; ++id) {
+            dense.remove(id);
+        }
+
+        assertThat(dense).isEqualTo(PostingList.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertThat(dense.hashCode()).isEqualTo(PostingList.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).hashCode());
+    }
+
+    @Test
+    @DisplayName("Union and intersection - combine lists across containers")
+    void unionAndIntersection_ShouldCombineLists() {
+
+        PostingList left = new PostingList();
+        PostingList right = PostingList.of(3, 70_000, 1L << 40);
+        for (long id = 0; id < 6_000; id += 2) {
+            left.add(id);
+        }
+
+        PostingList union = PostingList.union(List.of(left, right));
+        PostingList intersection = left.and(right);
+
+        assertThat(union.cardinality()).isEqualTo(3_000 + 3);
+        assertThat(union.contains(1L << 40)).isTrue();
+        assertThat(intersection.isEmpty()).isTrue();
+        assertThat(left.and(PostingList.of(2, 3, 4)).toArray()).containsExactly(2L, 4L);
+        assertThat(left.cardinality()).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Intersects - agrees with a non-empty intersection across array and bitmap containers")
+    void intersects_ShouldMatchIntersection() {
+
+        PostingList evens = new PostingList();
+        PostingList odds = new PostingList();
+        for (long id = 0; id < 10_000; id += 2) {
+            evens.add(id);
+            odds.add(id + 1);
+        }
+
+        assertThat(evens.intersects(odds)).isFalse();
+        assertThat(evens.intersects(PostingList.of(1, 3, 9_999))).isFalse();
+        assertThat(PostingList.of(1, 3, 9_999).intersects(odds)).isTrue();
+        assertThat(PostingList.of(5, 8).intersects(PostingList.of(8, 70_000))).isTrue();
+        assertThat(PostingList.of(5).intersects(PostingList.of(5 + (1L << 16)))).isFalse();
+        assertThat(evens.intersects(new PostingList())).isFalse();
+        odds.add(4_000);
+        assertThat(evens.intersects(odds)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Union - folds many lists in place like a set union and leaves the inputs untouched")
+    void or_ShouldMatchTreeSetUnion_WithoutMutatingArgument() {
+
+        Random random = new Random(13);
+        PostingList result = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int list = 0; list < 200; ++list) {
+            PostingList other = new PostingList();
+            int count = list % 10 == 0 ? 6_000 : random.nextInt(50);
+            for (int i = 0; i < count; ++i) {
+                long id = random.nextInt(list % 3 == 0 ? 300_000 : 70_000);
+                other.add(id);
+                expected.add(id);
+            }
+            long[] before = other.toArray();
+
+            assertThat(result.or(other)).isSameAs(result);
+
+            assertThat(other.toArray()).containsExactly(before);
+        }
+
+        assertThat(result.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(result.cardinality()).isEqualTo(expected.size());
+    }
+
+    @Test
+    @DisplayName("Union - containers adopted from the argument are copied, not shared")
+    void or_ShouldNotShareAdoptedContainers() {
+
+        PostingList source = PostingList.of(1, 70_000);
+        PostingList target = PostingList.of(2);
+
+        target.or(source);
+        target.add(70_001);
+        target.add(3);
+
+        assertThat(source.toArray()).containsExactly(1L, 70_000L);
+        assertThat(target.toArray()).containsExactly(1L, 2L, 3L, 70_000L, 70_001L);
+    }
+
+    @Test
+    @DisplayName("With all and without - build new lists and leave the source list unchanged")
+    void withAllAndWithout_ShouldNotMutateSource() {
+
+        PostingList source = new PostingList();
+        for (long id = 0; id < 10_000; id += 2) {
+            source.add(id);
+        }
+        source.add(200_000);
+        long[] before = source.toArray();
+
+        PostingList added = source.withAll(PostingList.of(1, 70_000));
+        PostingList removed = source.without(200_000);
+
+        assertThat(source.toArray()).containsExactly(before);
+        assertThat(added.cardinality()).isEqualTo(before.length + 2);
+        assertThat(added.contains(1)).isTrue();
+        assertThat(added.contains(70_000)).isTrue();
+        assertThat(removed.contains(200_000)).isFalse();
+        assertThat(removed.cardinality()).isEqualTo(before.length - 1);
+        assertThat(source.without(3)).isSameAs(source);
+    }
+
+    @Test
+    @DisplayName("Difference - drops excluded ids across array and bitmap containers without mutating inputs")
+    void andNot_ShouldMatchTreeSetDifference() {
+
+        Random random = new Random(11);
+        PostingList left = new PostingList();
+        PostingList right = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        TreeSet<Long> excluded = new TreeSet<>();
+        for (int i = 0; i < 30_000; ++i) {
+            long id = random.nextInt(200_000);
+            left.add(id);
+            expected.add(id);
+        }
+        for (long id = 0; id < 70_000; id += random.nextBoolean() ? 1 : 7) {
+            right.add(id);
+            excluded.add(id);
+        }
+        expected.removeAll(excluded);
+        long leftCardinality = left.cardinality();
+
+        PostingList difference = left.andNot(right);
+
+        assertThat(difference.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(left.cardinality()).isEqualTo(leftCardinality);
+        assertThat(left.andNot(new PostingList())).isEqualTo(left);
+        assertThat(PostingList.of(1, 2, 3).andNot(PostingList.of(1, 2, 3)).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Write and read - containers round-trip as they are, and malformed input is rejected")
+    void writeToAndReadFrom_ShouldRoundTripContainers() throws IOException {
+
+        PostingList postingList = PostingList.of(3, 70_000, Long.MAX_VALUE);
+        for (long id = 1 << 20; id < (1 << 20) + 10_000; ++id) {
+            postingList.add(id);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        postingList.writeTo(new DataOutputStream(bytes));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+        assertThat(PostingList.readFrom(buffer)).isEqualTo(postingList);
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(bytes.size()).isLessThan(10_000 * Long.BYTES / 4);
+
+        byte[] corrupted = bytes.toByteArray();
+        corrupted[Integer.BYTES + Long.BYTES] = 7;
+        assertThatThrownBy(() -> PostingList.readFrom(ByteBuffer.wrap(corrupted)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("container type");
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.knowledgebase.demo.service.trie.posting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreAccumulatorTest {
+
+    @Test
+    @DisplayName("Top-K - ranks like a full sort of a boxed score map")
+    void topK_ShouldMatchSortedBoxedScores() {
+
+        Random random = new Random(11);
+        ScoreAccumulator accumulator = new ScoreAccumulator();
+
+        for (int round = 0; round < 3; ++round) {
+            Map<Long, Integer> expected = new HashMap<>();
+            for (int term = 0; term < 5; ++term) {
+                PostingList postings = new PostingList();
+                for (int i = 0; i < 3_000; ++i) {
+                    postings.add(random.nextInt(20_000) + ((long) random.nextInt(3) << 33));
+                }
+                accumulator.addAll(postings);
+                postings.forEach(id -> expected.merge(id, 1, Integer::sum));
+            }
+
+            long[] sorted = expected.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                    .mapToLong(Map.Entry::getKey)
+                    .limit(100)
+                    .toArray();
+
+            assertThat(accumulator.size()).isEqualTo(expected.size());
+            assertThat(accumulator.topK(100)).containsExactly(sorted);
+            assertThat(accumulator.score(sorted[0])).isEqualTo(expected.get(sorted[0]));
+
+            accumulator.clear();
+            assertThat(accumulator.size()).isZero();
+            assertThat(accumulator.score(sorted[0])).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Clear - an accumulator grown by a large query shrinks back before it is reused")
+    void clear_ShouldShrink_AfterLargeQuery() {
+
+        ScoreAccumulator accumulator = new ScoreAccumulator();
+        int initialCapacity = accumulator.capacity();
+        for (long id = 0; id < 100_000; ++id) {
+            accumulator.increment(id);
+        }
+        assertThat(accumulator.capacity()).isGreaterThan(1 << 15);
+
+        accumulator.clear();
+        accumulator.addAll(PostingList.of(3, 7));
+
+        assertThat(accumulator.capacity()).isEqualTo(initialCapacity);
+        assertThat(accumulator.topK(10)).containsExactly(3L, 7L);
+    }
+
+    @Test
+    @DisplayName("Top-K - asking for more than the number of hits returns every hit")
+    void topK_ShouldReturnAllHits_WhenKExceedsSize() {
+
+        ScoreAccumulator accumulator = new ScoreAccumulator();
+        accumulator.addAll(PostingList.of(5, 9, 1));
+        accumulator.addAll(PostingList.of(9));
+
+        assertThat(accumulator.topK(10)).containsExactly(9L, 1L, 5L);
+        assertThat(accumulator.topK(0)).isEmpty();
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.knowledgebase.demo.service.trie.replication;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexChangeEventCodecTest {
+
+    @Test
+    @DisplayName("Encode - events round-trip with every field and keep the sequence right after the format byte")
+    void encode_ShouldRoundTrip() {
+
+        IndexChangeEvent event = new IndexChangeEvent(42, UUID.randomUUID(), IndexChangeEvent.Type.UNINDEX,
+                7L, 1_700_000_000_123L, false, List.of("java", "отпуск", "spr*"));
+
+        byte[] payload = IndexChangeEventCodec.encode(event);
+
+        assertThat(IndexChangeEventCodec.decode(payload)).isEqualTo(event);
+        assertThat(payload).hasSize(3 + 8 * 5 + 2 + (2 + 4) + (2 + 12) + (2 + 4));
+        assertThat(ByteBuffer.wrap(payload, 1, Long.BYTES).getLong()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Decode - truncated or unknown payloads are rejected")
+    void decode_ShouldRejectMalformedPayloads() {
+
+        byte[] payload = IndexChangeEventCodec.encode(new IndexChangeEvent(1, UUID.randomUUID(),
+                IndexChangeEvent.Type.INDEX, 1L, 1L, true, List.of("java")));
+        byte[] unknownVersion = payload.clone();
+        unknownVersion[0] = 9;
+
+        assertThatThrownBy(() -> IndexChangeEventCodec.decode(Arrays.copyOf(payload, payload.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("truncated");
+        assertThatThrownBy(() -> IndexChangeEventCodec.decode(unknownVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+}